@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.index.URIRelativeLocationConverter;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.indexer.FileEncodingRegistry;
+import org.eclipse.cdt.internal.core.indexer.ILanguageMapper;
+import org.eclipse.cdt.internal.core.indexer.IStandaloneScannerInfoProvider;
+import org.eclipse.cdt.internal.core.indexer.StandaloneFastIndexer;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMWriter;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures indexing a synthetic translation unit into an empty index stored in a temporary
+ * database. This covers the {@link PDOMWriter} and the underlying database, in addition to
+ * parsing and name resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 5)
+@Measurement(iterations= 10)
+@Fork(1)
+public class IndexerBenchmark {
+	@Param({ SyntheticCorpus.CLASSES, SyntheticCorpus.TEMPLATES })
+	public String corpus;
+
+	@Param({ "500" })
+	public int size;
+
+	private File fDirectory;
+	private File fSourceFile;
+	private File fIndexFile;
+	private StandaloneFastIndexer fIndexer;
+
+	@Setup
+	public void setup() throws IOException {
+		fDirectory= File.createTempFile("cdt-benchmark", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		fDirectory.delete();
+		fDirectory.mkdirs();
+		fSourceFile= new File(fDirectory, "benchmark.cpp"); //$NON-NLS-1$
+		Writer writer= new OutputStreamWriter(new FileOutputStream(fSourceFile), "UTF-8"); //$NON-NLS-1$
+		try {
+			writer.write(SyntheticCorpus.create(corpus, size));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createIndexer() throws IOException, CoreException {
+		fIndexFile= File.createTempFile("cdt-benchmark", ".pdom", fDirectory); //$NON-NLS-1$ //$NON-NLS-2$
+		Map<String, IPDOMLinkageFactory> linkageFactories= new HashMap<>();
+		linkageFactories.put(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory());
+		ILanguageMapper languageMapper= new ILanguageMapper() {
+			@Override
+			public ILanguage getLanguage(String file) {
+				return GPPLanguage.getDefault();
+			}
+		};
+		fIndexer= new StandaloneFastIndexer(fIndexFile, new URIRelativeLocationConverter(fDirectory.toURI()),
+				linkageFactories, new FileEncodingRegistry("UTF-8"), languageMapper, new NullLogService()); //$NON-NLS-1$
+		fIndexer.setScannerInfoProvider(new IStandaloneScannerInfoProvider() {
+			@Override
+			public IScannerInfo getScannerInformation(String path) {
+				return new ScannerInfo();
+			}
+
+			@Override
+			public IScannerInfo getDefaultScannerInformation(int linkageID) {
+				return new ScannerInfo();
+			}
+		});
+		fIndexer.setIndexAllFiles(true);
+	}
+
+	@TearDown(Level.Invocation)
+	public void deleteIndex() throws CoreException {
+		((PDOM) fIndexer.getIndex().getWritableFragment()).close();
+		fIndexFile.delete();
+	}
+
+	@TearDown
+	public void tearDown() {
+		fSourceFile.delete();
+		fDirectory.delete();
+	}
+
+	@Benchmark
+	public StandaloneFastIndexer index() throws IOException {
+		List<String> files= Collections.singletonList(fSourceFile.getAbsolutePath());
+		fIndexer.rebuild(files, new NullProgressMonitor());
+		return fIndexer;
+	}
+}
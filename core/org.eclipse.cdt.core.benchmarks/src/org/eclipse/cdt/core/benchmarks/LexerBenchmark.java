@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the tokenization of the synthetic corpora by the {@link Lexer}, without macro expansion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 5)
+@Measurement(iterations= 10)
+@Fork(1)
+public class LexerBenchmark {
+	@Param({ SyntheticCorpus.CLASSES, SyntheticCorpus.TEMPLATES, SyntheticCorpus.MACROS })
+	public String corpus;
+
+	@Param({ "1000" })
+	public int size;
+
+	private char[] fCode;
+	private LexerOptions fOptions;
+
+	@Setup
+	public void setup() {
+		fCode= SyntheticCorpus.create(corpus, size).toCharArray();
+		fOptions= new LexerOptions();
+	}
+
+	@Benchmark
+	public int tokenize() throws OffsetLimitReachedException {
+		Lexer lexer= new Lexer(fCode, fOptions, ILexerLog.NULL, null);
+		int count= 0;
+		while (lexer.nextToken().getType() != IToken.tEND_OF_INPUT) {
+			count++;
+		}
+		return count;
+	}
+}
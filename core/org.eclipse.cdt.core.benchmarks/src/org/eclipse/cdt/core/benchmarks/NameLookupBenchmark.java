@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures resolving all names of a freshly parsed AST, which is dominated by the name lookup in
+ * {@link CPPSemantics}. The AST is parsed outside of the measurement, because resolved bindings
+ * are cached in the names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 5)
+@Measurement(iterations= 10)
+@Fork(1)
+public class NameLookupBenchmark {
+	private static class ResolvingVisitor extends ASTVisitor {
+		int fResolved;
+		int fProblems;
+
+		ResolvingVisitor() {
+			shouldVisitNames= true;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			if (name.resolveBinding() instanceof IProblemBinding) {
+				fProblems++;
+			} else {
+				fResolved++;
+			}
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	@Param({ SyntheticCorpus.CLASSES, SyntheticCorpus.TEMPLATES })
+	public String corpus;
+
+	@Param({ "500" })
+	public int size;
+
+	private char[] fCode;
+	private IASTTranslationUnit fAST;
+
+	@Setup
+	public void setup() {
+		fCode= SyntheticCorpus.create(corpus, size).toCharArray();
+	}
+
+	@Setup(Level.Invocation)
+	public void parse() {
+		fAST= ParserSupport.parse(fCode);
+	}
+
+	@Benchmark
+	public int resolveNames() {
+		ResolvingVisitor visitor= new ResolvingVisitor();
+		fAST.accept(visitor);
+		return visitor.fResolved;
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IParserLogService;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+
+/**
+ * Creates preprocessors and parsers the same way the C++ language does, without the need
+ * for a running workbench.
+ */
+final class ParserSupport {
+	private static final String FILE_NAME= "benchmark.cpp"; //$NON-NLS-1$
+	private static final IParserLogService NULL_LOG= new NullLogService();
+
+	private ParserSupport() {
+	}
+
+	static CPreprocessor createPreprocessor(char[] code) {
+		IScannerInfo scannerInfo= new ScannerInfo();
+		return new CPreprocessor(FileContent.create(FILE_NAME, code), scannerInfo, ParserLanguage.CPP,
+				NULL_LOG, GPPScannerExtensionConfiguration.getInstance(scannerInfo),
+				IncludeFileContentProvider.getEmptyFilesProvider());
+	}
+
+	static GNUCPPSourceParser createParser(char[] code) {
+		IScanner scanner= createPreprocessor(code);
+		return new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+	}
+
+	static IASTTranslationUnit parse(char[] code) {
+		return createParser(code).parse();
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures running the {@link CPreprocessor} over the synthetic corpora, including macro expansion
+ * and the bookkeeping in the location map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 5)
+@Measurement(iterations= 10)
+@Fork(1)
+public class PreprocessorBenchmark {
+	@Param({ SyntheticCorpus.MACROS, SyntheticCorpus.TEMPLATES })
+	public String corpus;
+
+	@Param({ "1000" })
+	public int size;
+
+	private char[] fCode;
+
+	@Setup
+	public void setup() {
+		fCode= SyntheticCorpus.create(corpus, size).toCharArray();
+	}
+
+	@Benchmark
+	public int preprocess() {
+		CPreprocessor preprocessor= ParserSupport.createPreprocessor(fCode);
+		int count= 0;
+		try {
+			for (;;) {
+				preprocessor.nextToken();
+				count++;
+			}
+		} catch (EndOfFileException e) {
+		}
+		return count;
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+/**
+ * Generates the synthetic C++ sources used by the benchmarks. The sources are generated rather
+ * than checked in so that their size can be scaled with a parameter.
+ */
+public final class SyntheticCorpus {
+	/** Plain class hierarchies with overloaded members, namespaces and function bodies. */
+	public static final String CLASSES= "classes"; //$NON-NLS-1$
+	/** Expression templates in the style of Eigen and Boost, heavy on template-ids and casts. */
+	public static final String TEMPLATES= "templates"; //$NON-NLS-1$
+	/** Function-style and object-style macros, nested expansions and X-macros. */
+	public static final String MACROS= "macros"; //$NON-NLS-1$
+
+	private SyntheticCorpus() {
+	}
+
+	/**
+	 * Returns the source of the given corpus.
+	 * @param kind one of {@link #CLASSES}, {@link #TEMPLATES} or {@link #MACROS}.
+	 * @param size number of repetitions of the basic building block of the corpus.
+	 */
+	public static String create(String kind, int size) {
+		if (CLASSES.equals(kind))
+			return classes(size);
+		if (TEMPLATES.equals(kind))
+			return templates(size);
+		if (MACROS.equals(kind))
+			return macros(size);
+		throw new IllegalArgumentException(kind);
+	}
+
+	private static String classes(int size) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("namespace bench {\n");
+		buf.append("struct Base0 { virtual ~Base0() {} virtual int get() const { return 0; } };\n");
+		for (int i = 1; i <= size; i++) {
+			buf.append("class Base").append(i).append(" : public Base").append(i - 1).append(" {\n");
+			buf.append("public:\n");
+			buf.append("  Base").append(i).append("() : fValue(").append(i).append(") {}\n");
+			buf.append("  int get() const { return fValue + Base").append(i - 1).append("::get(); }\n");
+			buf.append("  void set(int v) { fValue= v; }\n");
+			buf.append("  void set(double v) { fValue= (int) v; }\n");
+			buf.append("  static Base").append(i).append("* create() { return new Base").append(i).append("(); }\n");
+			buf.append("private:\n");
+			buf.append("  int fValue;\n");
+			buf.append("};\n");
+			buf.append("inline int use").append(i).append("Helper(int x) { return x * ").append(i).append("; }\n");
+			buf.append("int use").append(i).append("(Base").append(i).append("& b, int n) {\n");
+			buf.append("  int sum= 0;\n");
+			buf.append("  for (int j= 0; j < n; ++j) {\n");
+			buf.append("    b.set(j);\n");
+			buf.append("    b.set(j * 0.5);\n");
+			buf.append("    sum += b.get() + use").append(i).append("Helper(j);\n");
+			buf.append("  }\n");
+			buf.append("  return sum;\n");
+			buf.append("}\n");
+		}
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static String templates(int size) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("template<typename T> struct traits { static const int Rows = 3; static const int Cols = 3; };\n");
+		buf.append("template<bool B, typename T = void> struct enable_if { typedef T type; };\n");
+		buf.append("template<typename T> struct enable_if<false, T> {};\n");
+		buf.append("template<typename Op, typename L, typename R> class CwiseBinaryOp;\n");
+		buf.append("template<typename T> struct sum_op { T operator()(T a, T b) const { return a + b; } };\n");
+		buf.append("template<typename T> struct product_op { T operator()(T a, T b) const { return a * b; } };\n");
+		buf.append("template<typename Derived> class MatrixBase {\n");
+		buf.append("public:\n");
+		buf.append("  enum { IsVector = traits<Derived>::Rows == 1 || (int) traits<Derived>::Cols == 1 };\n");
+		buf.append("  const Derived& derived() const { return *static_cast<const Derived*>(this); }\n");
+		buf.append("  template<typename Other>\n");
+		buf.append("  CwiseBinaryOp<sum_op<int>, const Derived, const Other> operator+(const MatrixBase<Other>& other) const {\n");
+		buf.append("    return CwiseBinaryOp<sum_op<int>, const Derived, const Other>((const Derived&) (*this), (const Other&) other);\n");
+		buf.append("  }\n");
+		buf.append("  template<int N> typename enable_if<(N > 0), int>::type coeff(int a, int b) const {\n");
+		buf.append("    if (a < b && b > (int) a)\n");
+		buf.append("      return (int) (a);\n");
+		buf.append("    return (int) (a < (int) b > (b));\n");
+		buf.append("  }\n");
+		buf.append("};\n");
+		buf.append("template<typename Op, typename L, typename R>\n");
+		buf.append("class CwiseBinaryOp : public MatrixBase<CwiseBinaryOp<Op, L, R> > {\n");
+		buf.append("public:\n");
+		buf.append("  CwiseBinaryOp(const L& l, const R& r) : fLhs(l), fRhs(r) {}\n");
+		buf.append("  const L& fLhs;\n");
+		buf.append("  const R& fRhs;\n");
+		buf.append("};\n");
+		buf.append("template<typename Op, typename L, typename R> struct traits<CwiseBinaryOp<Op, L, R> > : traits<L> {};\n");
+		for (int i = 0; i < size; i++) {
+			buf.append("class Matrix").append(i).append(" : public MatrixBase<Matrix").append(i).append("> {};\n");
+			buf.append("template<> struct traits<Matrix").append(i).append("> { static const int Rows = ")
+					.append(i % 4 + 1).append("; static const int Cols = 3; };\n");
+			buf.append("inline int compute").append(i).append("(const Matrix").append(i).append("& m, int a, int b) {\n");
+			buf.append("  int r= m.coeff<").append(i % 3 + 1).append(">(a, b) + (int) (a < b) + (int) (b > a);\n");
+			buf.append("  r += m.template coeff<1>((int) a, (int) (b));\n");
+			buf.append("  (m + m + m);\n");
+			buf.append("  return r + (int) MatrixBase<Matrix").append(i).append(">::IsVector;\n");
+			buf.append("}\n");
+		}
+		return buf.toString();
+	}
+
+	private static String macros(int size) {
+		StringBuilder buf= new StringBuilder();
+		buf.append("#define CAT_(a, b) a ## b\n");
+		buf.append("#define CAT(a, b) CAT_(a, b)\n");
+		buf.append("#define STR_(x) #x\n");
+		buf.append("#define STR(x) STR_(x)\n");
+		buf.append("#define MAX(a, b) ((a) > (b) ? (a) : (b))\n");
+		buf.append("#define MIN(a, b) ((a) < (b) ? (a) : (b))\n");
+		buf.append("#define CLAMP(x, lo, hi) MIN(MAX(x, lo), hi)\n");
+		buf.append("#define DECLARE_GETTER(type, name) type CAT(get_, name)() const { return CAT(m_, name); }\n");
+		buf.append("#define DECLARE_FIELD(type, name) type CAT(m_, name); DECLARE_GETTER(type, name)\n");
+		buf.append("#define COLORS(X) X(red, 1) X(green, 2) X(blue, 3) X(alpha, 4)\n");
+		buf.append("#define AS_ENUM(name, value) CAT(color_, name) = value,\n");
+		buf.append("#define AS_STRING(name, value) STR(name),\n");
+		for (int i = 0; i < size; i++) {
+			buf.append("#define VALUE").append(i).append(" CLAMP(").append(i).append(", 0, 100)\n");
+			buf.append("#if defined(VALUE").append(i).append(") && (").append(i).append(" % 2 == 0)\n");
+			buf.append("struct CAT(Record, ").append(i).append(") {\n");
+			buf.append("  DECLARE_FIELD(int, count)\n");
+			buf.append("  DECLARE_FIELD(long, total)\n");
+			buf.append("  enum CAT(Colors, ").append(i).append(") { COLORS(AS_ENUM) };\n");
+			buf.append("  int value() const { return VALUE").append(i).append(" + MAX(m_count, VALUE")
+					.append(i).append("); }\n");
+			buf.append("};\n");
+			buf.append("#else\n");
+			buf.append("static const char* CAT(names, ").append(i).append(")[] = { COLORS(AS_STRING) 0 };\n");
+			buf.append("#endif\n");
+		}
+		return buf.toString();
+	}
+}
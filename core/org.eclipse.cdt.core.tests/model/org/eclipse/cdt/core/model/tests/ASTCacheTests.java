@@ -140,6 +140,7 @@ public class ASTCacheTests extends BaseTestCase {
 	public void testASTCache() throws Exception {
 		checkActiveElement();
 		checkSingleThreadAccess();
+		checkRetainedAST();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
 	}
@@ -194,6 +195,42 @@ public class ASTCacheTests extends BaseTestCase {
 		assertEquals(3, counter[0]);
 	}
 
+	private void checkRetainedAST() throws Exception {
+		final ASTCache cache= new ASTCache();
+		final IASTTranslationUnit[] cached= {null};
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNotNull(ast);
+				cached[0]= ast;
+				return Status.OK_STATUS;
+			}
+		});
+
+		// Switching back to the translation unit restores its AST.
+		cache.setActiveElement(fTU2);
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertSame(cached[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+
+		cache.setActiveElement(fTU2);
+		cache.disposeInactiveASTs();
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+	}
+
 	private void checkAccessWithSequentialReconciler() throws Exception {
 		final ASTCache cache= new ASTCache();
 		final MockReconciler reconciler1= new MockReconciler(fTU1, cache);
@@ -36,6 +36,7 @@ import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.TestPluginLauncher;
 import org.eclipse.cdt.internal.core.model.CModelManager;
+import org.eclipse.cdt.internal.core.model.CShiftData;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -51,6 +52,7 @@ public class ElementDeltaTests extends TestCase implements IElementChangedListen
 	private Vector addedElements;
 	private Vector removedElements;
 	private Vector changedElements;
+	private CShiftData shiftData;
 	
 	public static void main(String[] args) {
 		TestPluginLauncher.run(TestPluginLauncher.getLocationFromProperties(), WorkingCopyTests.class, args);
@@ -59,6 +61,7 @@ public class ElementDeltaTests extends TestCase implements IElementChangedListen
 	public static Test suite() {
 		TestSuite suite= new TestSuite(ElementDeltaTests.class.getName());
 		suite.addTest(new ElementDeltaTests("testElementDeltas"));
+		suite.addTest(new ElementDeltaTests("testShiftData"));
 		return suite;
 	}		
 	
@@ -202,6 +205,54 @@ public class ElementDeltaTests extends TestCase implements IElementChangedListen
 		assertFalse(wc.exists());		
 	}
 	
+	public void testShiftData() throws Exception {
+		ITranslationUnit tu = (ITranslationUnit) CoreModel.getDefault().create(headerFile);
+		IWorkingCopy wc = tu.getWorkingCopy();
+		IBuffer wcBuf = wc.getBuffer();
+		wcBuf.setContents ("int x;\nvoid f() {\n}\nint y;\n");
+		wc.reconcile();
+
+		// insert a statement into the body of f
+		shiftData = null;
+		wcBuf.setContents ("int x;\nvoid f() {\n\tx++;\n}\nint y;\n");
+		wc.reconcile();
+		assertNotNull(shiftData);
+		assertEquals(6, shiftData.getSize());
+		assertEquals(1, shiftData.getLines());
+		// x ends at 6, f spans 7..19 and y starts at 20 in the old content
+		assertEquals(7, shiftData.getOffset());
+		assertEquals(19, shiftData.getLastOffset());
+		assertEquals(25, shiftData.getNewLastOffset());
+
+		// insert a line ahead of all elements
+		shiftData = null;
+		wcBuf.setContents ("\nint x;\nvoid f() {\n\tx++;\n}\nint y;\n");
+		wc.reconcile();
+		assertNotNull(shiftData);
+		assertEquals(1, shiftData.getSize());
+		assertEquals(1, shiftData.getLines());
+		assertEquals(0, shiftData.getOffset());
+		assertEquals(0, shiftData.getLastOffset());
+		assertEquals(1, shiftData.getNewLastOffset());
+
+		// append a variable, no element follows the edit
+		shiftData = null;
+		wcBuf.setContents ("\nint x;\nvoid f() {\n\tx++;\n}\nint y;\nint z;\n");
+		wc.reconcile();
+		assertNotNull(shiftData);
+		assertEquals(33, shiftData.getOffset());
+		assertEquals(Integer.MAX_VALUE, shiftData.getLastOffset());
+		assertEquals(Integer.MAX_VALUE, shiftData.getNewLastOffset());
+
+		// swap the variables, no single edit moves them
+		shiftData = null;
+		wcBuf.setContents ("int y;\nvoid f() {\n\tx++;\n}\nint x;\nint z;\n");
+		wc.reconcile();
+		assertNull(shiftData);
+
+		wc.destroy();
+	}
+	
 	public void assertAddedElement(int elementType, String elementName){
 		if(!isElementInList(elementType, elementName, addedElements))
 			fail("Element NOT found in Added list");
@@ -241,6 +292,10 @@ public class ElementDeltaTests extends TestCase implements IElementChangedListen
 	
 	@Override
 	public void elementChanged(ElementChangedEvent event){
+		if (event.getType() == ElementChangedEvent.POST_SHIFT) {
+			shiftData = (CShiftData) event.getDelta();
+			return;
+		}
 		try {
 			addedElements.clear();
 			removedElements.clear();
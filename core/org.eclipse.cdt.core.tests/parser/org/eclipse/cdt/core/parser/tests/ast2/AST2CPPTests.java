@@ -138,8 +138,10 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
 import org.eclipse.cdt.core.dom.ast.cpp.SemanticQueries;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNameIndex;
 import org.eclipse.cdt.internal.core.dom.parser.SizeofCalculator;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTNameBase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClassType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunctionType;
@@ -150,6 +152,9 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.OverloadableOperator;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConversionCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.LookupCache;
 import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
 import org.eclipse.cdt.internal.core.parser.ParserException;
 
@@ -10992,18 +10997,30 @@ public class AST2CPPTests extends AST2TestBase {
 		assertConstantValue(5, waldo);
 	}
 	
-	//	constexpr int naive_fibonacci(int x) {
+	//	constexpr long long naive_fibonacci(int x) {
 	//		return x == 0 ? 0
 	//			 : x == 1 ? 1
 	//			 : naive_fibonacci(x - 2) + naive_fibonacci(x - 1);
 	//	}
 	//
-	//	constexpr int waldo = naive_fibonacci(50);
+	//	constexpr long long waldo = naive_fibonacci(50);
 	public void testConstexprEvaluationLimit_429891() throws Exception {
 		// Here we're just checking that the computation of the initial
-		// value finishes (with a null result) in a reasonable time.
-		// If we tried to run the computation of naive_fibonacci(50)
-		// to its end, the IDE would appear to hang.
+		// value finishes in a reasonable time. Without memoization of
+		// constexpr function calls, running the computation of
+		// naive_fibonacci(50) to its end would make the IDE appear to hang.
+		BindingAssertionHelper helper = getAssertionHelper();
+		IVariable waldo = helper.assertNonProblem("waldo");
+		assertEquals(12586269025L, waldo.getInitialValue().numericalValue().longValue());
+	}
+
+	//	constexpr int endless(int x) {
+	//		return x == 0 ? 0 : endless(x + 1);
+	//	}
+	//
+	//	constexpr int waldo = endless(1);
+	public void testConstexprEvaluationBudget() throws Exception {
+		// The evaluation runs out of steps and finishes with a null result.
 		BindingAssertionHelper helper = getAssertionHelper();
 		IVariable waldo = helper.assertNonProblem("waldo");
 		assertNull(waldo.getInitialValue().numericalValue());
@@ -11076,4 +11093,103 @@ public class AST2CPPTests extends AST2TestBase {
 	public void testASTCopyForNoexceptDefault_bug456207() throws Exception {
 		parseAndCheckBindings();
 	}
+
+	//	struct A { operator int(); };
+	//	struct B : A {};
+	//	struct C : B {};
+	//	void f(int);
+	//	void test(C c) {
+	//	  f(c);
+	//	  f(c);
+	//	}
+	public void testLookupCacheForConversionOperators() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		ICPPFunction f = helper.assertNonProblem("f(c);", 1);
+		assertSame(f, helper.assertNonProblem("f(c);", 1));
+		LookupCache cache = ((CPPASTTranslationUnit) helper.getTranslationUnit()).getLookupCache();
+		assertTrue(cache.getHitCount() > 0);
+		assertTrue(cache.hasInheritanceClosure((ICPPClassType) helper.assertNonProblem("C c", 1)));
+	}
+
+	//	typedef long size_type;
+	//	struct A {};
+	//	struct B : A {};
+	//	void f(const A*, long);
+	//	void f(int, int);
+	//	void test(B* b, size_type n, long m) {
+	//	  f(b, n);
+	//	  f(b, m);
+	//	}
+	public void testConversionCache() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		ICPPFunction f1 = helper.assertNonProblem("f(b, n)", 1);
+		ICPPFunction f2 = helper.assertNonProblem("f(b, m)", 1);
+		assertSame(f1, f2);
+		ConversionCache cache = ((CPPASTTranslationUnit) helper.getTranslationUnit()).getConversionCache();
+		assertTrue(cache.getHitCount() > 0);
+		IType sizeType = helper.assertNonProblem("size_type n", 9);
+		ICPPVariable m = helper.assertNonProblem("m) {", 1);
+		assertSame(cache.intern(m.getType()), cache.intern(sizeType));
+	}
+
+	//	typedef int T;
+	//	struct A {};
+	//	struct B {};
+	//	void (*f1)(int, A&);
+	//	void (*f2)(T, A&);
+	//	void (*f3)(int, B&);
+	//	int A::* pa;
+	//	int B::* pb;
+	public void testConversionCacheStructuralHash() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		IType f1 = ((ICPPVariable) helper.assertNonProblem("f1", 2)).getType();
+		IType f2 = ((ICPPVariable) helper.assertNonProblem("f2", 2)).getType();
+		IType f3 = ((ICPPVariable) helper.assertNonProblem("f3", 2)).getType();
+		assertEquals(ConversionCache.structuralHash(f1), ConversionCache.structuralHash(f2));
+		assertFalse(ConversionCache.structuralHash(f1) == ConversionCache.structuralHash(f3));
+		IType pa = ((ICPPVariable) helper.assertNonProblem("pa", 2)).getType();
+		IType pb = ((ICPPVariable) helper.assertNonProblem("pb", 2)).getType();
+		assertFalse(ConversionCache.structuralHash(pa) == ConversionCache.structuralHash(pb));
+		ConversionCache cache = ((CPPASTTranslationUnit) helper.getTranslationUnit()).getConversionCache();
+		assertSame(cache.intern(f1), cache.intern(f2));
+		assertNotSame(cache.intern(f1), cache.intern(f3));
+	}
+
+	//	constexpr int fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+	//	constexpr int x = fib(30);
+	//	constexpr int y = fib(29);
+	public void testConstexprCache() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		ICPPVariable x = helper.assertNonProblem("x =", 1);
+		assertEquals(832040, x.getInitialValue().numericalValue().longValue());
+		ConstexprCache cache = ((CPPASTTranslationUnit) helper.getTranslationUnit()).getConstexprCache();
+		int hits = cache.getHitCount();
+		assertTrue(hits > 0);
+		ICPPVariable y = helper.assertNonProblem("y =", 1);
+		assertEquals(514229, y.getInitialValue().numericalValue().longValue());
+		assertEquals(hits + 1, cache.getHitCount());
+	}
+
+	//	void f(int a);
+	//	void f(int b) {
+	//	  b++;
+	//	}
+	//	struct S { int m; };
+	//	void g(S s) {
+	//	  s.m = 1;
+	//	}
+	public void testNameIndex() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		IASTTranslationUnit tu = helper.getTranslationUnit();
+		ASTNameIndex nameIndex = ((CPPASTTranslationUnit) tu).getNameIndex();
+		assertNotNull(nameIndex);
+		assertEquals(2, nameIndex.getNames("m".toCharArray()).size());
+		ICPPField m = helper.assertNonProblem("m;", 1);
+		assertEquals(1, tu.getReferences(m).length);
+		assertEquals(1, tu.getDeclarationsInAST(m).length);
+		// The names of the parameter differ between the declarations.
+		ICPPParameter b = helper.assertNonProblem("b++", 1);
+		assertEquals(1, tu.getReferences(b).length);
+		assertEquals(2, tu.getDeclarationsInAST(b).length);
+	}
 }
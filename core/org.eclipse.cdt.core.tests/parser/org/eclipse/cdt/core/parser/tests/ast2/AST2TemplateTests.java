@@ -95,12 +95,18 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateTemplateParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateTypeParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.ParserMode;
 import org.eclipse.cdt.core.parser.util.ObjectMap;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.Value;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTNameBase;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPReferenceType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPDeferredClassInstance;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalUnknownScope;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
@@ -8762,4 +8768,37 @@ public class AST2TemplateTests extends AST2TestBase {
 	public void testClassSpecializationInEnumerator_457511() throws Exception {
 		parseAndCheckBindings();
 	}
+
+	//	template<typename T> struct traits { static const int Rows = 3; };
+	//	template<bool B, typename T = void> struct enable_if { typedef T type; };
+	//	template<typename Op, typename L, typename R> class CwiseBinaryOp {};
+	//	template<typename T> struct sum_op {};
+	//	template<typename Derived> class MatrixBase {
+	//	public:
+	//	    enum { IsVector = traits<Derived>::Rows == 1 || (int)traits<Derived>::Rows < 2 };
+	//	    template<typename Other>
+	//	    CwiseBinaryOp<sum_op<int>, const Derived, const Other> operator+(const MatrixBase<Other>& other) const {
+	//	        return CwiseBinaryOp<sum_op<int>, const Derived, const Other>((const Derived&)(*this), (const Other&) other);
+	//	    }
+	//	    template<int N> typename enable_if<(N > 0), int>::type coeff(int a, int b) const {
+	//	        if (a < b && b > (int) a)
+	//	            return (int)(a);
+	//	        return (int)(a < (int) b > (b));
+	//	    }
+	//	};
+	public void testMemoizedSpeculativeParses() throws Exception {
+		final String code= getAboveComment();
+		IScanner scanner= createScanner(FileContent.create(TEST_CODE, code.toCharArray()), CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(true));
+		GNUCPPSourceParser parser= new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		ASTTranslationUnit tu= (ASTTranslationUnit) parser.parse();
+		assertFalse(parser.encounteredError());
+		assertTrue(parser.getMemoHitCount() > 0);
+		assertEquals(parser.getMemoHitCount(), tu.getMemoHitCount());
+		assertEquals(parser.getBacktrackCount(), tu.getBacktrackCount());
+
+		// The memoization must not change the resulting AST.
+		parseAndCheckBindings(code);
+	}
 }
@@ -68,6 +68,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
 import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.parser.ParserException;
 
 /**
@@ -673,5 +674,22 @@ public class DOMLocationTests extends AST2TestBase {
 		
 		assertEquals("test", templateIdName.getRawSignature()); //$NON-NLS-1$
 	}
-	
+
+	public void testCompactLocations() throws Exception {
+		String code = "#define ONE 1\nint x = ONE;\nint y;"; //$NON-NLS-1$
+		for (ParserLanguage p : ParserLanguage.values()) {
+			IASTTranslationUnit tu = parse(code, p);
+			IASTDeclaration[] declarations = tu.getDeclarations();
+			IASTFileLocation loc1 = declarations[0].getFileLocation();
+			assertSame(loc1, declarations[0].getFileLocation());
+
+			((ASTTranslationUnit) tu).setCompactLocations(true);
+			IASTFileLocation loc2 = declarations[0].getFileLocation();
+			assertNotSame(loc2, declarations[0].getFileLocation());
+			assertEquals(loc1.getNodeOffset(), loc2.getNodeOffset());
+			assertEquals(loc1.getNodeLength(), loc2.getNodeLength());
+			assertEquals(3, declarations[0].getNodeLocations().length);
+			assertEquals("int y;", declarations[1].getRawSignature()); //$NON-NLS-1$
+		}
+	}
 }
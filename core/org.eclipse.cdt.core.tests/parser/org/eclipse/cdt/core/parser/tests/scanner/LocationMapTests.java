@@ -490,6 +490,25 @@ public class LocationMapTests extends BaseTestCase {
 		checkMacroUndef(prep[1], macro1, "0123456", "n2", "3456", FN, 0, 7, 1, 3, 4);
 	}
 
+	public void testLightweightMode() {
+		IMacroBinding macro1= new TestMacro("n1", "exp1", null);
+		IMacroBinding macro2= new TestMacro("n2", "exp2", null);
+		fLocationMap.setLightweightMode(true);
+		init(DIGITS);
+		fLocationMap.encounterPoundIfdef(0, 1, 3, 4, true, macro1);
+		fLocationMap.encounterPoundDefine(4, 5, 6, 7, 8, true, macro1);
+		fLocationMap.encounterPoundElse(8, 9, false);
+		fLocationMap.encounterPoundDefine(9, 10, 11, 12, 13, false, macro2);
+		fLocationMap.encounterPoundEndIf(13, 14);
+		fLocationMap.encounterPoundPragma(14, 15, 16, 16);
+		IASTPreprocessorStatement[] prep= fLocationMap.getAllPreprocessorStatements();
+		assertEquals(1, prep.length);
+		checkMacroDefinition((IASTPreprocessorMacroDefinition) prep[0], macro1, "4567", "n1", "5", "exp1", null, FN, 4, 4, 1, 5, 1);
+		IASTName[] refs= fLocationMap.getMacroReferences();
+		assertEquals(1, refs.length);
+		assertSame(macro1, refs[0].getBinding());
+	}
+
 	public void testMacroExpansion() {
 		IMacroBinding macro1= new TestMacro("n1", "exp1", null);
 		IMacroBinding macro2= new TestMacro("n2", "exp2", null);
@@ -95,11 +95,31 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return IIndexFragmentInclude.EMPTY_FRAGMENT_INCLUDES_ARRAY;
 	}
 
+	@Override
+	public IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file, int depth) {
+		return IIndexFragmentInclude.EMPTY_FRAGMENT_INCLUDES_ARRAY;
+	}
+
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding,	int flags) {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public IIndexFragmentBinding[] findCallers(IBinding callee, boolean polymorphicOnly) {
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findCallees(IBinding caller) {
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findSubtypes(IBinding type) {
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findMacroContainers(Pattern pattern, IndexFilter filter, IProgressMonitor monitor) {
 		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
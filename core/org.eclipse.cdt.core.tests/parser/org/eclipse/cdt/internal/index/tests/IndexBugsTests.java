@@ -1805,6 +1805,63 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	//	int Aa;
+	//	enum E { BB };
+	//	namespace ns {
+	//		int Aa;
+	//	}
+	//	struct S {
+	//		int Aa;
+	//		int BB();
+	//	};
+	public void testFindBindingsByNameInAllScopes() throws Exception {
+		String code= getContentsForTest(1)[0];
+		IFile file= TestSourceReader.createFile(fCProject.getProject(), "test.cpp", code);
+		waitUntilFileIsIndexed(file, 4000);
+		fIndex.acquireReadLock();
+		try {
+			// "Aa" and "BB" have the same hash code.
+			IIndexBinding[] bindings = fIndex.findBindings("Aa".toCharArray(), false, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(3, bindings.length);
+			for (IIndexBinding binding : bindings) {
+				assertEquals("Aa", binding.getName());
+			}
+			bindings = fIndex.findBindings("BB".toCharArray(), false, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(2, bindings.length);
+			bindings = fIndex.findBindings("BB".toCharArray(), true, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(1, bindings.length);
+			assertTrue(bindings[0] instanceof IEnumerator);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	//	enum E { MANAGER_A };
+	//	namespace ns {
+	//		int FooManager;
+	//		struct Bar {
+	//			int managerX;
+	//			void manage();
+	//		};
+	//	}
+	public void testFindBindingsByPatternWithLiteral() throws Exception {
+		String code= getContentsForTest(1)[0];
+		IFile file= TestSourceReader.createFile(fCProject.getProject(), "test.cpp", code);
+		waitUntilFileIsIndexed(file, 4000);
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] bindings = fIndex.findBindings(Pattern.compile(".*Manager.*"), false, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(1, bindings.length);
+			assertEquals("FooManager", bindings[0].getName());
+			bindings = fIndex.findBindings(Pattern.compile(".*manager.*", Pattern.CASE_INSENSITIVE), false, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(3, bindings.length);
+			bindings = fIndex.findBindings(Pattern.compile(".*nag.*", Pattern.CASE_INSENSITIVE), false, IndexFilter.ALL_DECLARED, npm());
+			assertEquals(4, bindings.length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	// #include "B.cpp"
 
 	// static int STATIC;
@@ -2539,6 +2596,56 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	public void testSkipFunctionBodiesOfLargeFiles() throws Exception {
+		StringBuilder buf= new StringBuilder("void g();\nvoid f() { g(); }\n");
+		while (buf.length() < 3 * 1024 * 1024 / 2) {
+			buf.append("// padding to exceed the size limit\n");
+		}
+		// by default, files above the function bodies limit are indexed without function bodies
+		Properties defaults = IndexerPreferences.getDefaultIndexerProperties();
+		int functionBodiesLimit= Integer.parseInt(
+				defaults.getProperty(IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB));
+		assertTrue(functionBodiesLimit > 0);
+		assertTrue(functionBodiesLimit < Integer.parseInt(
+				defaults.getProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB)));
+
+		final IProject project= fCProject.getProject();
+		final IIndexManager indexManager = CCorePlugin.getIndexManager();
+		IndexerPreferences.set(project, IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB, "1");
+		try {
+			TestSourceReader.createFile(project, "large.cpp", buf.toString());
+			indexManager.reindex(fCProject);
+			waitForIndexer();
+			fIndex.acquireReadLock();
+			try {
+				IIndexBinding[] bindings= fIndex.findBindings("g".toCharArray(), IndexFilter.ALL, npm());
+				assertEquals(1, bindings.length);
+				// the call in the body of f is not indexed
+				assertEquals(0, fIndex.findReferences(bindings[0]).length);
+				assertEquals(1, fIndex.findBindings("f".toCharArray(), IndexFilter.ALL, npm()).length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+
+			// the file size limit is still respected
+			IndexerPreferences.set(project, IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, "1");
+			indexManager.reindex(fCProject);
+			waitForIndexer();
+			fIndex.acquireReadLock();
+			try {
+				assertEquals(0, fIndex.findBindings("f".toCharArray(), IndexFilter.ALL, npm()).length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			// Restore default indexer preferences.
+			IndexerPreferences.set(project, IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB,
+					defaults.getProperty(IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB));
+			IndexerPreferences.set(project, IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB,
+					defaults.getProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB));
+		}
+	}
+
 	// extern int h1;
 
 	// extern int h2;
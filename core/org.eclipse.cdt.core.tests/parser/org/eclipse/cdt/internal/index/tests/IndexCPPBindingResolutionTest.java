@@ -359,6 +359,48 @@ public abstract class IndexCPPBindingResolutionTest extends IndexBindingResoluti
 		assertInstance(f1.getParameterTypes()[0], ICPPBasicType.class);
 	}
 
+	//	struct S {};
+	//	const S* const* f(const S* const*& a, const int* const*& b, const S* const*& c,
+	//			const int* const*& d, const S* const*& e, const int* const*& g);
+
+	//	void test() {
+	//		f;
+	//	}
+	public void testFunctionTypeWithRepeatedParameterTypes() {
+		ICPPFunction f= getBindingFromASTName("f;", 1, ICPPFunction.class);
+		ICPPFunctionType type= f.getType();
+		assertEquals("const S * const * (const S * const * &, const int * const * &, const S * const * &, "
+				+ "const int * const * &, const S * const * &, const int * const * &)",
+				ASTTypeUtil.getType(type));
+		IType[] parameterTypes= type.getParameterTypes();
+		assertTrue(parameterTypes[0].isSameType(parameterTypes[4]));
+		assertTrue(parameterTypes[1].isSameType(parameterTypes[5]));
+	}
+
+	//	struct A {
+	//		union {
+	//			int u1;
+	//			struct {
+	//				float u2;
+	//			};
+	//		};
+	//		int m1;
+	//		void f(int);
+	//		void f(char);
+	//	};
+
+	//	void test(A& a) {
+	//		a.u1; a.u2; a.m1; A::m1; a.f(1);
+	//	}
+	public void testMemberLookupViaMemberIndex() {
+		getBindingFromASTName("u1;", 2, ICPPField.class);
+		getBindingFromASTName("u2;", 2, ICPPField.class);
+		ICPPField m1= getBindingFromASTName("m1;", 2, ICPPField.class);
+		assertEquals(m1, getBindingFromASTName("m1; a.f", 2, ICPPField.class));
+		ICPPMethod f= getBindingFromASTName("f(1)", 1, ICPPMethod.class);
+		assertEquals("int", ASTTypeUtil.getType(f.getParameters()[0].getType()));
+	}
+
 	//  class Base {public: int field; void foo() {}};
 	//	class C : public Base {
 	//		public:
@@ -1859,4 +1901,20 @@ public abstract class IndexCPPBindingResolutionTest extends IndexBindingResoluti
 	public void testNameLookupFromArrayModifier_435075() {
 		checkBindings();
 	}
+
+	//	struct A { A(); void m(); };
+	//	struct B { B(); void m(); };
+
+	//	void A::m() { A x; }
+	//	A::A() {}
+	//	B::B() {}
+	//	void B::m() { B x; }
+	public void testConstructorAndInjectedClassNameFromIndex() {
+		// Resolve the injected class name before the constructor for A and the other way
+		// round for B, the results of the lookups in the class scopes must not be mixed up.
+		getBindingFromASTName("A x", 1, ICPPClassType.class);
+		getBindingFromASTName("A() {}", 1, ICPPConstructor.class);
+		getBindingFromASTName("B() {}", 1, ICPPConstructor.class);
+		getBindingFromASTName("B x", 1, ICPPClassType.class);
+	}
 }
@@ -64,6 +64,7 @@ import org.eclipse.cdt.core.parser.util.ObjectMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPTemplateTypeArgument;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInstanceCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
@@ -2615,4 +2616,25 @@ public class IndexCPPTemplateResolutionTest extends IndexBindingResolutionTestBa
 		IVariable var2 = getBindingFromASTName("var2", 4);
 		assertSameType(var1.getType(), var2.getType());
 	}
+
+	//	template <typename T>
+	//	struct A {
+	//		T t;
+	//	};
+	//	A<int> a1;
+	//	A<char> a2;
+	//	A<double> a3;
+
+	//	A<char> b;
+	public void testInstanceFromIndexOfInstances() throws Exception {
+		IVariable b = getBindingFromASTName("b", 1);
+		ICPPClassType inst = assertInstance(b.getType(), ICPPClassType.class, ICPPTemplateInstance.class, IIndexBinding.class);
+		IIndexBinding[] a2 = getIndex().findBindings("a2".toCharArray(), IndexFilter.ALL, npm());
+		assertEquals(1, a2.length);
+		assertSameType(inst, ((IVariable) a2[0]).getType());
+		assertSameType(new CPPBasicType(Kind.eChar, 0), inst.getFields()[0].getType());
+
+		ICPPClassTemplate template = (ICPPClassTemplate) ((ICPPTemplateInstance) inst).getTemplateDefinition();
+		assertEquals(3, ((ICPPInstanceCache) template).getAllInstances().length);
+	}
 }
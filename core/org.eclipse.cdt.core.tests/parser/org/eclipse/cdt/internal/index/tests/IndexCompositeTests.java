@@ -475,6 +475,45 @@ public class IndexCompositeTests extends BaseTestCase {
 		}
 	}
 	
+	// class A {};
+	// void f(A a);
+
+	// class B {};
+	// void f(B b);
+	public void testReuseOfCompositeBindings() throws Exception {
+		CharSequence[] contents = getContentsForTest(2);
+		List<ICProject> projects = new ArrayList<ICProject>();
+
+		try {
+			ProjectBuilder pb = new ProjectBuilder("projB_" + getName(), true);
+			pb.addFile("h1.h", contents[0]);
+			ICProject cprojB = pb.create();
+			projects.add(cprojB);
+
+			pb = new ProjectBuilder("projA_" + getName(), true);
+			pb.addFile("h2.h", contents[1]).addDependency(cprojB.getProject());
+			ICProject cprojA = pb.create();
+			projects.add(cprojA);
+
+			setIndex(cprojA, REFS);
+			IBinding[] bindings = index.findBindings("f".toCharArray(), IndexFilter.ALL_DECLARED, npm());
+			assertEquals(2, bindings.length);
+			IBinding[] bindings2 = index.findBindings("f".toCharArray(), IndexFilter.ALL_DECLARED, npm());
+			assertNotSame(bindings, bindings2);
+			assertEquals(2, bindings2.length);
+			for (int i = 0; i < bindings.length; i++) {
+				assertSame(bindings[i], bindings2[i]);
+			}
+			IBinding[] classes = index.findBindingsForPrefix("A".toCharArray(), true, FILTER, npm());
+			assertEquals(1, classes.length);
+			assertSame(classes[0], index.findBindings("A".toCharArray(), FILTER, npm())[0]);
+		} finally {
+			for (ICProject project : projects) {
+				project.getProject().delete(true, true, new NullProgressMonitor());
+			}
+		}
+	}
+
 	/**
 	 * Asserts binding counts, and returns the index tested against
 	 * @param global the number of bindings expected to be found at global scope
@@ -33,6 +33,9 @@ import org.eclipse.cdt.core.model.IPathEntry;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -324,6 +327,69 @@ public class IndexIncludeTest extends IndexTestBase {
 		}		
 	}
 	
+	// int a_transitive;
+
+	// #include "a_transitive.h"
+
+	// #include "b_transitive.h"
+
+	// #include "c_transitive.h"
+
+	// #include "a_transitive.h"
+	public void testTransitiveIncludedBy() throws Exception {
+		waitForIndexer();
+		CharSequence[] sources= getContentsForTest(5);
+		IFile a= TestSourceReader.createFile(fProject.getProject(), "a_transitive.h", sources[0].toString());
+		TestSourceReader.createFile(fProject.getProject(), "b_transitive.h", sources[1].toString());
+		TestSourceReader.createFile(fProject.getProject(), "c_transitive.h", sources[2].toString());
+		TestSourceReader.createFile(fProject.getProject(), "s1_transitive.cpp", sources[3].toString());
+		IFile s2= TestSourceReader.createFile(fProject.getProject(), "s2_transitive.cpp", sources[4].toString());
+		waitForIndexer();
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexFile ifile= getIndexFile(a);
+			assertEquals(2, fIndex.findIncludedBy(ifile, IIndex.DEPTH_ZERO).length);
+			assertEquals(3, fIndex.findIncludedBy(ifile, 1).length);
+			IIndexInclude[] includes= fIndex.findIncludedBy(ifile, IIndex.DEPTH_INFINITE);
+			assertEquals(4, includes.length);
+			assertEquals("s1_transitive.cpp", includes[3].getIncludedByLocation().getURI().getPath().replaceAll(".*/", ""));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// While the index is written to, the includes are looked up without the include graph.
+		IIndexFragmentFile fragmentFile;
+		fIndex.acquireReadLock();
+		try {
+			fragmentFile= (IIndexFragmentFile) getIndexFile(a);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+		PDOM pdom= (PDOM) CCoreInternals.getPDOMManager().getPDOM(fProject);
+		pdom.acquireWriteLock(npm());
+		try {
+			assertNull(pdom.getIncludeGraph());
+			assertEquals(2, pdom.findIncludedBy(fragmentFile, IIndex.DEPTH_ZERO).length);
+			assertEquals(3, pdom.findIncludedBy(fragmentFile, 1).length);
+			IIndexInclude[] includes= pdom.findIncludedBy(fragmentFile, IIndex.DEPTH_INFINITE);
+			assertEquals(4, includes.length);
+			assertEquals("s1_transitive.cpp", includes[3].getIncludedByLocation().getURI().getPath().replaceAll(".*/", ""));
+		} finally {
+			pdom.releaseWriteLock(0, false);
+		}
+
+		s2= TestSourceReader.createFile(fProject.getProject(), "s2_transitive.cpp", "");
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, s2, INDEXER_TIMEOUT_MILLISEC);
+		fIndex.acquireReadLock();
+		try {
+			IIndexFile ifile= getIndexFile(a);
+			assertEquals(3, fIndex.findIncludedBy(ifile, IIndex.DEPTH_INFINITE).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	// #include "resolved20070426.h"
 	public void testFixedContext() throws Exception {
 		TestScannerProvider.sIncludes= new String[] { fProject.getProject().getLocation().toOSString() };
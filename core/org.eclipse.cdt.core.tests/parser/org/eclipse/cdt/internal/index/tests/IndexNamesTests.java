@@ -11,6 +11,7 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import junit.framework.TestSuite;
@@ -30,6 +31,8 @@ import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.IndexCallGraph;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -483,4 +486,162 @@ public class IndexNamesTests extends BaseTestCase {
 
 		checkReadWriteFlags(file, ILinkage.CPP_LINKAGE_ID, 2);
 	}
+
+	private IIndexBinding findBinding(String qname) throws CoreException {
+		IIndexBinding[] bindings= fIndex.findBindings(getPattern(qname), true, IndexFilter.ALL, npm());
+		assertLength(1, bindings);
+		return bindings[0];
+	}
+
+	private void assertBindings(String expected, IIndexBinding[] bindings) {
+		String[] names= new String[bindings.length];
+		for (int i = 0; i < bindings.length; i++) {
+			names[i]= bindings[i].getName();
+		}
+		Arrays.sort(names);
+		assertEquals(expected, Arrays.toString(names));
+	}
+
+	//	int var;
+	//	enum E { e1 };
+	//	void leaf() {}
+	//	void middle() {
+	//		leaf();
+	//		leaf();
+	//		var= e1;
+	//	}
+	//	void top() {
+	//		middle();
+	//		top();
+	//	}
+	//	void unrelated() {
+	//		int local= 0;
+	//	}
+	public void testCallGraph() throws Exception {
+		waitForIndexer();
+		String content= getComment();
+		IFile file= createFile(getProject().getProject(), "testCallGraph.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IndexCallGraph callGraph= new IndexCallGraph(fIndex);
+			IIndexBinding leaf= findBinding("leaf");
+			IIndexBinding middle= findBinding("middle");
+			IIndexBinding top= findBinding("top");
+			IIndexBinding unrelated= findBinding("unrelated");
+
+			assertBindings("[e1, leaf, var]", callGraph.getCallees(middle));
+			assertBindings("[middle, top]", callGraph.getCallees(top));
+			assertBindings("[]", callGraph.getCallees(unrelated));
+			assertBindings("[middle]", callGraph.getCallers(leaf, false));
+			assertBindings("[]", callGraph.getCallers(leaf, true));
+			assertBindings("[top]", callGraph.getCallers(top, false));
+
+			assertBindings("[middle, top]", callGraph.getReachable(top, false, 1, npm()));
+			assertBindings("[e1, leaf, middle, top, var]",
+					callGraph.getReachable(top, false, IndexCallGraph.UNLIMITED_DEPTH, npm()));
+			assertBindings("[middle, top]", callGraph.getReachable(leaf, true, 2, npm()));
+			assertTrue(callGraph.isReachable(top, leaf, 2, npm()));
+			assertFalse(callGraph.isReachable(top, leaf, 1, npm()));
+			assertFalse(callGraph.isReachable(leaf, top, IndexCallGraph.UNLIMITED_DEPTH, npm()));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	//	void leaf() {}
+	//	void caller() {
+	//		leaf();
+	//	}
+
+	//	void leaf() {}
+	//	void other() {}
+	//	void caller() {
+	//		other();
+	//	}
+	public void testCallGraphUpdate() throws Exception {
+		waitForIndexer();
+		CharSequence[] contents= TestSourceReader.getContentsForTest(
+				CTestPlugin.getDefault().getBundle(), "parser", getClass(), getName(), 2);
+		IFile file= createFile(getProject().getProject(), "testCallGraphUpdate.cpp", contents[0].toString());
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IndexCallGraph callGraph= new IndexCallGraph(fIndex);
+			assertBindings("[leaf]", callGraph.getCallees(findBinding("caller")));
+			assertBindings("[caller]", callGraph.getCallers(findBinding("leaf"), false));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		file= createFile(getProject().getProject(), "testCallGraphUpdate.cpp", contents[1].toString());
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IndexCallGraph callGraph= new IndexCallGraph(fIndex);
+			assertBindings("[other]", callGraph.getCallees(findBinding("caller")));
+			assertBindings("[]", callGraph.getCallers(findBinding("leaf"), false));
+			assertBindings("[caller]", callGraph.getCallers(findBinding("other"), false));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	//	void cfunc() {}
+	//	void ccaller() {
+	//		cfunc();
+	//	}
+
+	//	extern "C" void cfunc();
+	//	void cppcaller() {
+	//		cfunc();
+	//	}
+	public void testCallGraphAcrossLanguages() throws Exception {
+		waitForIndexer();
+		CharSequence[] contents= TestSourceReader.getContentsForTest(
+				CTestPlugin.getDefault().getBundle(), "parser", getClass(), getName(), 2);
+		IFile cfile= createFile(getProject().getProject(), "testCallGraphAcrossLanguages.c", contents[0].toString());
+		IFile cppfile= createFile(getProject().getProject(), "testCallGraphAcrossLanguages.cpp", contents[1].toString());
+		waitUntilFileIsIndexed(cfile, 4000);
+		waitUntilFileIsIndexed(cppfile, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IndexCallGraph callGraph= new IndexCallGraph(fIndex);
+			IIndexBinding[] cfunc= fIndex.findBindings(getPattern("cfunc"), true,
+					IndexFilter.getFilter(ILinkage.C_LINKAGE_ID), npm());
+			assertLength(1, cfunc);
+			assertBindings("[ccaller, cppcaller]", callGraph.getCallers(cfunc[0], false));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	//	class A {};
+	//	class B : public A {};
+	//	class C : public B, virtual A {};
+	//	template<typename T> class D : public T {};
+	//	void f() {
+	//		A a;
+	//		B b;
+	//	}
+	public void testSubtypes() throws Exception {
+		waitForIndexer();
+		String content= getComment();
+		IFile file= createFile(getProject().getProject(), "testSubtypes.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			CIndex index= (CIndex) fIndex;
+			assertBindings("[B, C]", index.findSubtypes(findBinding("A")));
+			assertBindings("[C]", index.findSubtypes(findBinding("B")));
+			assertBindings("[]", index.findSubtypes(findBinding("C")));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
 }
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import junit.framework.Test;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Key;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
+
+public class PDOMResultCacheTests extends BaseTestCase {
+	public static Test suite() {
+		return suite(PDOMResultCacheTests.class);
+	}
+
+	public void testKinds() throws Exception {
+		assertEquals(Kind.MEMBERS, PDOMResultCache.kindOf(new Key(8, Kind.MEMBERS)));
+		assertEquals(Kind.NAMES, PDOMResultCache.kindOf("name"));
+		assertEquals(Kind.OTHER, PDOMResultCache.kindOf(new Object()));
+		assertFalse(new Key(8, Kind.MEMBERS).equals(new Key(8, Kind.BASES)));
+	}
+
+	public void testPutAndGet() throws Exception {
+		PDOMResultCache cache= new PDOMResultCache();
+		Key key= new Key(8, Kind.BASES);
+		assertNull(cache.get(key));
+		assertEquals("a", cache.put(key, "a", true));
+		assertEquals("a", cache.put(key, "b", false));
+		assertEquals("a", cache.get(key));
+		assertEquals("b", cache.put(key, "b", true));
+		assertEquals("b", cache.get(key));
+		assertEquals(2, cache.getHits(Kind.BASES));
+		assertEquals(1, cache.getMisses(Kind.BASES));
+		assertEquals(0, cache.getMisses(Kind.MEMBERS));
+
+		cache.put(key, null, true);
+		assertNull(cache.get(key));
+	}
+
+	public void testClearByKind() throws Exception {
+		PDOMResultCache cache= new PDOMResultCache();
+		Key members= new Key(8, Kind.MEMBERS);
+		Key instances= new Key(8, Kind.INSTANCES);
+		cache.put(members, "m", true);
+		cache.put(instances, "i", true);
+		cache.put("name", "n", true);
+
+		cache.clear(Kind.NAMES);
+		cache.clear(Kind.INSTANCES);
+		assertEquals("m", cache.get(members));
+		assertNull(cache.get(instances));
+		assertNull(cache.get("name"));
+
+		cache.clear();
+		assertNull(cache.get(members));
+	}
+
+	public void testBoundedKindsAreEvicted() throws Exception {
+		final int capacity= 1024;
+		PDOMResultCache cache= new PDOMResultCache(capacity);
+		for (int i = 0; i < 10 * capacity; i++) {
+			cache.put(new Key(i * 8, Kind.MEMBERS), Integer.valueOf(i), true);
+			cache.put(new Key(i * 8, Kind.INSTANCES), Integer.valueOf(i), true);
+		}
+		assertTrue(cache.getEvictions(Kind.MEMBERS) >= 9 * capacity);
+		assertEquals(0, cache.getEvictions(Kind.INSTANCES));
+		for (int i = 0; i < 10 * capacity; i++) {
+			assertEquals(Integer.valueOf(i), cache.get(new Key(i * 8, Kind.INSTANCES)));
+		}
+	}
+
+	public void testFrequentlyUsedEntriesSurviveScan() throws Exception {
+		final int capacity= 1024;
+		PDOMResultCache cache= new PDOMResultCache(capacity);
+		Key hot= new Key(4, Kind.NAMES);
+		cache.put(hot, "hot", true);
+		assertEquals("hot", cache.get(hot));
+
+		// Entries requested a single time are evicted before the ones requested repeatedly.
+		for (int i = 1; i <= 10 * capacity; i++) {
+			Key key= new Key(i * 8, Kind.NAMES);
+			cache.put(key, Integer.valueOf(i), true);
+		}
+		assertEquals("hot", cache.get(hot));
+	}
+}
@@ -40,6 +40,8 @@ public class PDOMTests extends TestSuite {
 		suite.addTest(OverloadsWithinCommonHeaderTests.suite());
 		suite.addTest(BTreeTests.suite());
 		suite.addTest(PDOMStringSetTests.suite());
+		suite.addTest(PDOMResultCacheTests.suite());
+		suite.addTest(PDOMTrigramIndexTests.suite());
 		suite.addTest(PDOMTagIndexTests.suite());
 		suite.addTest(FilesOnReindexTests.suite());
 		suite.addTest(GeneratePDOMApplicationTest.suite());
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.util.regex.Pattern;
+
+import junit.framework.Test;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMTrigramIndex;
+
+public class PDOMTrigramIndexTests extends BaseTestCase {
+	public static Test suite() {
+		return suite(PDOMTrigramIndexTests.class);
+	}
+
+	private static int[] trigrams(String name) {
+		return PDOMTrigramIndex.getTrigrams(name.toCharArray());
+	}
+
+	private static int[] requiredTrigrams(String regex) {
+		return PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile(regex));
+	}
+
+	public void testTrigramsOfName() throws Exception {
+		assertEquals(0, trigrams("ab").length);
+		assertEquals(1, trigrams("abc").length);
+		assertEquals(2, trigrams("aaaa_").length);
+		assertEquals(trigrams("Manager")[0], trigrams("MANAGER")[0]);
+	}
+
+	public void testRequiredTrigrams() throws Exception {
+		assertEquals(5, requiredTrigrams(".*Manager.*").length);
+		assertEquals(5, requiredTrigrams("Manager").length);
+		assertEquals(2, requiredTrigrams("abc.*abcd").length);
+		assertEquals(2, requiredTrigrams("ab?cdef").length);
+		assertEquals(1, requiredTrigrams("op\\+abc").length);
+		assertEquals(1, requiredTrigrams("abc+").length);
+	}
+
+	public void testPatternsWithoutRequiredTrigrams() throws Exception {
+		assertNull(requiredTrigrams(".*ab.*"));
+		assertNull(requiredTrigrams("a.c.e"));
+		assertNull(requiredTrigrams("abc|def"));
+		assertNull(requiredTrigrams("(abc)?"));
+		assertNull(requiredTrigrams("[a-z]bcd"));
+		assertNull(requiredTrigrams("\\wabc"));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("abc", Pattern.LITERAL)));
+	}
+}
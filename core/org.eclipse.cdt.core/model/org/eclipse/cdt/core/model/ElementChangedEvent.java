@@ -93,6 +93,11 @@ public class ElementChangedEvent extends EventObject {
 	 *    Note: usually, CShifData object is sent with 
 	 *    this event as ICElementDelta
 	 *    
+	 *    A working copy reconcile sends this event before the
+	 *    POST_RECONCILE delta, when the positions of the elements
+	 *    present before and after the reconcile are explained by a
+	 *    single edit. The elements already have their new offsets.
+	 *    
 	 * @see CShiftData
 	 */
 	public static final int     POST_SHIFT = 5;
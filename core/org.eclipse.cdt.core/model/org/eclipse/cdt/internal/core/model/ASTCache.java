@@ -11,6 +11,10 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -28,7 +32,14 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of a single translation unit at a time, the active element.
+ * <p>
+ * The ASTs of a few translation units that have been active recently are retained, such that
+ * switching back and forth between editors, e.g. between a source file and its header, does
+ * not require parsing the files again. A retained AST is reused only if its source matches
+ * the current contents of the translation unit and the index has not been modified since it
+ * was created. Retained ASTs are softly referenced and may be reclaimed by the garbage
+ * collector.
  *
  * @since 4.0
  */
@@ -45,6 +56,19 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	/**
+	 * Cached ASTs are switched to compact locations when the length of the translation unit
+	 * node exceeds this. The length is measured in sequence numbers, it covers the code of
+	 * the included headers and of the macro expansions.
+	 * @see ASTTranslationUnit#setCompactLocations(boolean)
+	 */
+	private static final int COMPACT_LOCATIONS_THRESHOLD = 1000000;
+
+	/**
+	 * Maximum number of ASTs retained for translation units other than the active one.
+	 */
+	private static final int MAX_INACTIVE_ASTS = 4;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -61,9 +85,31 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * AST of a translation unit that is no longer the active element.
+	 */
+	private static class InactiveAST {
+		final SoftReference<IASTTranslationUnit> fAST;
+		final long fLastWriteOnIndex;
+
+		InactiveAST(IASTTranslationUnit ast, long lastWriteOnIndex) {
+			fAST= new SoftReference<>(ast);
+			fLastWriteOnIndex= lastWriteOnIndex;
+		}
+	}
+
 	private final int fParseMode;
 	private final Object fCacheMutex= new Object();
 
+	/** ASTs of recently active translation units, in access order */
+	private final Map<ITranslationUnit, InactiveAST> fInactiveASTs=
+			new LinkedHashMap<ITranslationUnit, InactiveAST>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ITranslationUnit, InactiveAST> eldest) {
+					return size() > MAX_INACTIVE_ASTS;
+				}
+			};
+
 	/** The active translation unit for which to cache the AST */
 	private ITranslationUnit fActiveTU;
 	/** The cached AST if any */
@@ -292,6 +338,10 @@ public class ASTCache {
 		if (fAST != null)
 			disposeAST();
 
+		if (ast instanceof ASTTranslationUnit
+				&& ((ASTTranslationUnit) ast).getLength() > COMPACT_LOCATIONS_THRESHOLD) {
+			((ASTTranslationUnit) ast).setCompactLocations(true);
+		}
 		fAST= ast;
 		fLastWriteOnIndex= fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
 
@@ -361,13 +411,59 @@ public class ASTCache {
 		if (tUnit == fActiveTU) {
 			return;
 		}
+		InactiveAST inactive= null;
 		synchronized (fCacheMutex) {
+			if (fActiveTU != null && fAST != null && !fIsReconciling && MAX_INACTIVE_ASTS > 0) {
+				fInactiveASTs.put(fActiveTU, new InactiveAST(fAST, fLastWriteOnIndex));
+				fAST= null;
+			}
 			fIsReconciling= false;
 			fActiveTU= tUnit;
 			cache(null, tUnit);
+			if (tUnit != null)
+				inactive= fInactiveASTs.remove(tUnit);
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
+
+		if (inactive != null)
+			restoreAST(inactive, tUnit);
+	}
+
+	/**
+	 * Makes a retained AST the AST of the active element, provided it is still up to date.
+	 */
+	private void restoreAST(InactiveAST inactive, ITranslationUnit tUnit) {
+		IASTTranslationUnit ast= inactive.fAST.get();
+		if (ast == null)
+			return;
+		// Compare the source of the AST with the contents of the translation unit outside of
+		// the mutex, the contents may have to be read from a buffer.
+		char[] contents= tUnit.getContents();
+		if (contents == null || !ast.getRawSignature().equals(new String(contents))) {
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "discarding out-dated AST for: " + toString(tUnit)); //$NON-NLS-1$
+			return;
+		}
+		synchronized (fCacheMutex) {
+			if (tUnit.equals(fActiveTU) && fAST == null && !fIsReconciling) {
+				if (DEBUG)
+					System.out.println(DEBUG_PREFIX + getThreadName() + "restoring AST: " + toString(ast) + " for: " + toString(tUnit)); //$NON-NLS-1$ //$NON-NLS-2$
+				// The index write access is checked when the AST is requested.
+				fAST= ast;
+				fLastWriteOnIndex= inactive.fLastWriteOnIndex;
+				fCacheMutex.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Disposes the ASTs retained for translation units other than the active one.
+	 */
+	public void disposeInactiveASTs() {
+		synchronized (fCacheMutex) {
+			fInactiveASTs.clear();
+		}
 	}
 
 	/**
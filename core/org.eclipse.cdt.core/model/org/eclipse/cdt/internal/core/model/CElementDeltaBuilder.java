@@ -73,6 +73,17 @@ public class CElementDeltaBuilder {
 	 * List of removed elements
 	 */
 	ArrayList<ICElement> removed;
+
+	/**
+	 * Range of edit offsets that explain the movement of the elements present
+	 * in both versions, and the size and number of lines of the edit
+	 */
+	int shiftMinOffset;
+	int shiftMaxOffset = Integer.MAX_VALUE;
+	int shiftSize;
+	int shiftLines;
+	boolean hasShift;
+	boolean shiftConsistent = true;
 	
 	/**
 	 * Doubly linked list item
@@ -207,6 +218,43 @@ private void findContentChange(CElementInfo oldInfo, CElementInfo newInfo, ICEle
 		if(!oldSourceInfo.hasSameContentsAs(newSourceInfo)){
 			this.delta.changed(newElement, ICElementDelta.F_CONTENT);
 		}
+		
+		this.findShift(oldSourceInfo, newSourceInfo);
+	}
+}
+/**
+ * Narrows the offset of the edit that moved the element from its old to its new
+ * position. Elements ending before the edit keep their position, elements
+ * containing it change their length and elements following it are moved.
+ */
+private void findShift(SourceManipulationInfo oldInfo, SourceManipulationInfo newInfo) {
+	int oldStart = oldInfo.getStartPos();
+	int oldEnd = oldStart + oldInfo.getLength();
+	int startDiff = newInfo.getStartPos() - oldStart;
+	int endDiff = newInfo.getStartPos() + newInfo.getLength() - oldEnd;
+	int startLineDiff = newInfo.getStartLine() - oldInfo.getStartLine();
+	int endLineDiff = newInfo.getEndLine() - oldInfo.getEndLine();
+	
+	if (startDiff == 0 && endDiff == 0 && startLineDiff == 0 && endLineDiff == 0) {
+		this.shiftMinOffset = Math.max(this.shiftMinOffset, oldEnd);
+	} else if (startDiff == 0 && startLineDiff == 0) {
+		this.shiftMinOffset = Math.max(this.shiftMinOffset, oldStart);
+		this.shiftMaxOffset = Math.min(this.shiftMaxOffset, oldEnd);
+		this.addShift(endDiff, endLineDiff);
+	} else if (startDiff == endDiff && startLineDiff == endLineDiff) {
+		this.shiftMaxOffset = Math.min(this.shiftMaxOffset, oldStart);
+		this.addShift(startDiff, startLineDiff);
+	} else {
+		this.shiftConsistent = false;
+	}
+}
+private void addShift(int size, int lines) {
+	if (!this.hasShift) {
+		this.hasShift = true;
+		this.shiftSize = size;
+		this.shiftLines = lines;
+	} else if (this.shiftSize != size || this.shiftLines != lines) {
+		this.shiftConsistent = false;
 	}
 }
 /**
@@ -392,6 +440,19 @@ private void trimDelta(CElementDelta delta) {
 	}
 }
 
+/**
+ * Returns the single edit that moved the elements present in both versions of the
+ * C element from their old to their new positions, or <code>null</code> if the
+ * positions cannot be explained by a single edit. The range of offsets consistent with
+ * the positions is reported in the coordinates of the old content. Valid after
+ * buildDeltas() has been called.
+ */
+public CShiftData getShiftData() {
+	if (!this.shiftConsistent || this.shiftMinOffset > this.shiftMaxOffset)
+		return null;
+	return new CShiftData(this.cElement, this.shiftMinOffset, this.shiftMaxOffset, this.shiftSize, this.shiftLines);
+}
+
 /**
  * Get the change delta built by the builder.
  * @return the change delta built by the builder.
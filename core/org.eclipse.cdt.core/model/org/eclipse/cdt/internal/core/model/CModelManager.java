@@ -1132,7 +1132,8 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 			System.out.println(deltaToNotify == null ? "<NONE>" : deltaToNotify.toString()); //$NON-NLS-1$
 		}
 		if (deltaToNotify != null) {
-			this.flush();
+			// Don't flush, the shift is not part of the registered deltas, which may still have
+			// to be fired by another thread.
 			notifyListeners(deltaToNotify, ElementChangedEvent.POST_SHIFT, listeners, listenerMask, listenerCount);
 		}
 	}
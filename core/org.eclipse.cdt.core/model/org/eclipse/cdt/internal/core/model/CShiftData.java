@@ -17,6 +17,11 @@ import org.eclipse.core.resources.IResourceDelta;
 /**
  * In this case, no delta for specific element passed
  * Instead we'll notify Outline about offsets change.
+ * <p>
+ * The edit starts between the offset and the last offset, both in the coordinates
+ * of the old content. Elements ending at or before the offset keep their positions,
+ * elements containing the range change their length by the size, and elements
+ * starting at or after the last offset are moved by the size and the number of lines.
  *
  * @author Oleg Krasilnikov
  */
@@ -24,12 +29,18 @@ public class CShiftData implements ICElementDelta {
 
 	private final ICElement element;
 	private final int offset;
+	private final int lastOffset;
 	private final int size;
 	private final int lines;
 
 	public CShiftData(ICElement element, int offset, int size, int lines) {
+		this(element, offset, offset, size, lines);
+	}
+
+	public CShiftData(ICElement element, int offset, int lastOffset, int size, int lines) {
 		this.element = element;
 		this.offset = offset;
+		this.lastOffset = lastOffset;
 		this.size  = size;
 		this.lines = lines;
 	}
@@ -38,6 +49,24 @@ public class CShiftData implements ICElementDelta {
 		return offset;
 	}
 
+	/**
+	 * Returns the last offset the edit may start at, <code>Integer.MAX_VALUE</code> if
+	 * no element follows the edit.
+	 */
+	public int getLastOffset() {
+		return lastOffset;
+	}
+
+	/**
+	 * Returns the offset in the new content up to which the edit may extend,
+	 * <code>Integer.MAX_VALUE</code> if no element follows the edit.
+	 */
+	public int getNewLastOffset() {
+		if (lastOffset == Integer.MAX_VALUE)
+			return Integer.MAX_VALUE;
+		return Math.max(offset, lastOffset + size);
+	}
+
 	public int getSize() {
 		return size;
 	}
@@ -128,6 +157,6 @@ public class CShiftData implements ICElementDelta {
 
 	@Override
 	public String toString() {
-		return ("CShiftData: offset=" + offset + ", size=" + size + ", lines=" + lines);   //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+		return ("CShiftData: offset=" + offset + ", lastOffset=" + lastOffset + ", size=" + size + ", lines=" + lines);   //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
 	}
 }
@@ -13,6 +13,7 @@ package org.eclipse.cdt.internal.core.model;
 
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.model.CModelException;
+import org.eclipse.cdt.core.model.ElementChangedEvent;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICModelStatus;
 import org.eclipse.cdt.core.model.ICModelStatusConstants;
@@ -66,6 +67,11 @@ public class ReconcileWorkingCopyOperation extends CModelOperation {
 				// register the deltas
 				if (deltaBuilder.delta != null) {
 					if (!wasConsistent || forceProblemDetection || deltaBuilder.delta.getAffectedChildren().length > 0) {
+						// report how the unchanged elements moved ahead of the structural changes
+						CShiftData shift = deltaBuilder.getShiftData();
+						if (shift != null) {
+							CModelManager.getDefault().fire(shift, ElementChangedEvent.POST_SHIFT);
+						}
 						addReconcileDelta(workingCopy, deltaBuilder.delta);
 					}
 				}
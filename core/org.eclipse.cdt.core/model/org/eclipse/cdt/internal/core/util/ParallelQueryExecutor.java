@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Runs independent read-only queries, e.g. the ones for the fragments of an index or for
+ * the files containing search matches, on small pools of daemon threads. The number of
+ * threads is bounded by the number of processors, idle threads are terminated.
+ * <p>
+ * Short queries against the index and reads of files use separate pools, such that a search
+ * reading thousands of files does not delay the queries of the index issued meanwhile.
+ */
+public final class ParallelQueryExecutor {
+	private static final int MAX_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+	private static final long KEEP_ALIVE_SECONDS = 10;
+
+	private static ThreadPoolExecutor sExecutor;
+	private static ThreadPoolExecutor sFileExecutor;
+
+	private ParallelQueryExecutor() {
+	}
+
+	/**
+	 * Returns whether the queries are run in parallel at all.
+	 */
+	public static boolean isParallel() {
+		return MAX_THREADS > 1;
+	}
+
+	/**
+	 * Returns the shared executor for queries of the index.
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if (sExecutor == null) {
+			sExecutor= createExecutor("CDT Query "); //$NON-NLS-1$
+		}
+		return sExecutor;
+	}
+
+	/**
+	 * Returns the shared executor for reading files.
+	 */
+	public static synchronized ExecutorService getFileExecutor() {
+		if (sFileExecutor == null) {
+			sFileExecutor= createExecutor("CDT File Reader "); //$NON-NLS-1$
+		}
+		return sFileExecutor;
+	}
+
+	private static ThreadPoolExecutor createExecutor(final String threadName) {
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			private int fCount;
+
+			@Override
+			public synchronized Thread newThread(Runnable r) {
+				Thread thread= new Thread(r, threadName + ++fCount);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Runs the given queries of the index and returns their results in the order of the
+	 * queries. The first exception thrown by a query is rethrown after all of them have
+	 * completed.
+	 */
+	public static <T> List<T> invokeAll(List<? extends Callable<T>> queries) throws CoreException {
+		return invokeAll(getExecutor(), queries);
+	}
+
+	/**
+	 * Runs the given reads of files, like {@link #invokeAll(List)} but on the executor
+	 * for reading files.
+	 */
+	public static <T> List<T> invokeAllFileReads(List<? extends Callable<T>> reads) throws CoreException {
+		return invokeAll(getFileExecutor(), reads);
+	}
+
+	private static <T> List<T> invokeAll(ExecutorService executor, List<? extends Callable<T>> queries)
+			throws CoreException {
+		List<T> result= new ArrayList<>(queries.size());
+		if (queries.size() == 1 || !isParallel()) {
+			for (Callable<T> query : queries) {
+				result.add(call(query));
+			}
+			return result;
+		}
+
+		List<Future<T>> futures;
+		try {
+			futures= executor.invokeAll(queries);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		for (Future<T> future : futures) {
+			try {
+				result.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				rethrow(e.getCause());
+			}
+		}
+		return result;
+	}
+
+	private static <T> T call(Callable<T> query) throws CoreException {
+		try {
+			return query.call();
+		} catch (Exception e) {
+			rethrow(e);
+			return null;
+		}
+	}
+
+	private static void rethrow(Throwable e) throws CoreException {
+		if (e instanceof CoreException)
+			throw (CoreException) e;
+		if (e instanceof RuntimeException)
+			throw (RuntimeException) e;
+		if (e instanceof Error)
+			throw (Error) e;
+		throw new CoreException(new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, e.getMessage(), e));
+	}
+}
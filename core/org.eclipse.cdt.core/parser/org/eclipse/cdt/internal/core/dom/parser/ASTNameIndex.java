@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+
+/**
+ * The names of a frozen AST grouped by their lookup keys. Within a group the names are in
+ * the order in which a visitor visiting names encounters them. Searches for the declarations
+ * or references of a binding visit the names with the name of the binding, only, rather than
+ * all the names of the AST.
+ */
+public final class ASTNameIndex {
+	private final CharArrayObjectMap<List<IASTName>> fNames;
+
+	private ASTNameIndex(CharArrayObjectMap<List<IASTName>> names) {
+		fNames= names;
+	}
+
+	/**
+	 * Collects the names of the given translation unit.
+	 */
+	static ASTNameIndex create(IASTTranslationUnit tu) {
+		final CharArrayObjectMap<List<IASTName>> names= new CharArrayObjectMap<>(1024);
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitNames= true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				char[] key= name.getLookupKey();
+				List<IASTName> list= names.get(key);
+				if (list == null) {
+					list= new ArrayList<>(4);
+					names.put(key, list);
+				}
+				list.add(name);
+				return PROCESS_CONTINUE;
+			}
+		});
+		return new ASTNameIndex(names);
+	}
+
+	/**
+	 * Returns the names with the given lookup key, the list must not be modified.
+	 */
+	public List<IASTName> getNames(char[] lookupKey) {
+		List<IASTName> list= fNames.get(lookupKey);
+		return list != null ? list : Collections.<IASTName>emptyList();
+	}
+
+	/**
+	 * Lets the given visitor visit the translation unit and the names with the given lookup key,
+	 * in the order in which it would encounter them when visiting the translation unit. The visitor
+	 * must visit names only, and must not depend on visiting other names than the ones with
+	 * the given key.
+	 */
+	public void accept(IASTTranslationUnit tu, ASTVisitor visitor, char[] lookupKey) {
+		if (visitor.shouldVisitTranslationUnit)
+			visitor.visit(tu);
+		for (IASTName name : getNames(lookupKey)) {
+			visitor.visit(name);
+		}
+	}
+}
@@ -133,20 +133,41 @@ public abstract class ASTNode implements IASTNode {
 
     @Override
 	public IASTNodeLocation[] getNodeLocations() {
-        if (locations == null) {
-	        if (length != 0) {
-	        	final IASTTranslationUnit tu= getTranslationUnit();
-	        	if (tu != null) {
-	        		ILocationResolver l= (ILocationResolver) tu.getAdapter(ILocationResolver.class);
-	        		if (l != null) {
-	        			locations= l.getLocations(getOffset(), length);
-	        		}
-	        	}
-	        }
-	        if (locations == null)
-	        	locations= IASTNodeLocation.EMPTY_ARRAY;
+        if (locations != null)
+        	return locations;
+
+        IASTNodeLocation[] result= null;
+        if (length != 0) {
+        	final IASTTranslationUnit tu= getTranslationUnit();
+        	if (tu != null) {
+        		ILocationResolver l= (ILocationResolver) tu.getAdapter(ILocationResolver.class);
+        		if (l != null) {
+        			result= l.getLocations(getOffset(), length);
+        		}
+        		if (result != null && !cachesLocations(tu))
+        			return result;
+        	}
         }
-        return locations;
+        if (result == null)
+        	result= IASTNodeLocation.EMPTY_ARRAY;
+        locations= result;
+        return result;
+    }
+
+    /**
+     * Returns whether nodes of the given AST shall keep their locations once they have been computed.
+     */
+    private static boolean cachesLocations(IASTTranslationUnit ast) {
+    	return !(ast instanceof ASTTranslationUnit) || !((ASTTranslationUnit) ast).hasCompactLocations();
+    }
+
+    /**
+     * Releases the locations computed for this node, locations of copied nodes are retained.
+     */
+    void releaseLocations() {
+    	fileLocation= null;
+    	if (locations != null && (locations.length == 0 || !(locations[0] instanceof ASTCopyLocation)))
+    		locations= null;
     }
 
     public IASTImageLocation getImageLocation() {
@@ -205,16 +226,20 @@ public abstract class ASTNode implements IASTNode {
         	return null;
         }
         IASTTranslationUnit ast = getTranslationUnit();
-        if (ast != null) {
-        	ILocationResolver lr= (ILocationResolver) ast.getAdapter(ILocationResolver.class);
-        	if (lr != null) {
-        		fileLocation= lr.getMappedFileLocation(offset, length);
-        	} else {
-        		// Support for old location map
-        		fileLocation= ast.flattenLocationsToFile(getNodeLocations());
-        	}
+        if (ast == null)
+        	return null;
+
+        IASTFileLocation result;
+        ILocationResolver lr= (ILocationResolver) ast.getAdapter(ILocationResolver.class);
+        if (lr != null) {
+        	result= lr.getMappedFileLocation(offset, length);
+        } else {
+        	// Support for old location map
+        	result= ast.flattenLocationsToFile(getNodeLocations());
         }
-        return fileLocation;
+        if (cachesLocations(ast))
+        	fileLocation= result;
+        return result;
     }
 
     @Override
@@ -81,10 +81,14 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 	private ISignificantMacros fSignificantMacros= ISignificantMacros.NONE;
 	private boolean fPragmaOnceSemantics;
 	private SizeofCalculator fSizeofCalculator;
+	private volatile ASTNameIndex fNameIndex;
 	/** The semaphore controlling exclusive access to the AST. */
 	private final Semaphore fSemaphore= new Semaphore(1);
 	private boolean fBasedOnIncompleteIndex;
 	private boolean fNodesOmitted;
+	private boolean fCompactLocations;
+	private int fBacktrackCount;
+	private int fMemoHitCount;
 
 	@Override
 	public final IASTTranslationUnit getTranslationUnit() {
@@ -442,6 +446,8 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		target.fForContentAssist = fForContentAssist;
 		target.fOriginatingTranslationUnit = fOriginatingTranslationUnit;
 		target.fNodesOmitted = fNodesOmitted;
+		target.fBacktrackCount = fBacktrackCount;
+		target.fMemoHitCount = fMemoHitCount;
 		
 		for (IASTDeclaration declaration : getDeclarations()) {
 			copy.addDeclaration(declaration == null ? null : declaration.copy(style));
@@ -512,6 +518,75 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		return fSizeofCalculator;
 	}
 
+	/**
+	 * Returns the names of this AST grouped by their lookup keys, or <code>null</code> if
+	 * the AST is not frozen. The index is created on first use.
+	 */
+	public ASTNameIndex getNameIndex() {
+		if (!isFrozen())
+			return null;
+		ASTNameIndex nameIndex= fNameIndex;
+		if (nameIndex == null) {
+			nameIndex= ASTNameIndex.create(this);
+			fNameIndex= nameIndex;
+		}
+		return nameIndex;
+	}
+
+	/**
+	 * Returns whether the nodes of this AST compute their locations on demand rather than
+	 * keeping them, see {@link #setCompactLocations(boolean)}.
+	 */
+	public final boolean hasCompactLocations() {
+		return fCompactLocations;
+	}
+
+	/**
+	 * In compact mode the nodes of this AST do not keep the file and node locations they compute,
+	 * every request is answered from the shared location map instead. This trades a binary search per
+	 * request for not storing location objects per node, which matters for large ASTs that are kept
+	 * for a long time. Locations that have already been computed are released when switching to
+	 * compact mode.
+	 */
+	public final void setCompactLocations(boolean compact) {
+		if (compact == fCompactLocations)
+			return;
+		fCompactLocations= compact;
+		if (compact) {
+			accept(new ASTGenericVisitor(true) {
+				@Override
+				protected int genericVisit(IASTNode node) {
+					((ASTNode) node).releaseLocations();
+					return PROCESS_CONTINUE;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records the statistics of the parser that created this AST.
+	 */
+	public final void setParserStatistics(int backtrackCount, int memoHitCount) {
+		assertNotFrozen();
+		fBacktrackCount= backtrackCount;
+		fMemoHitCount= memoHitCount;
+	}
+
+	/**
+	 * Returns the number of backtracks of the parser that created this AST.
+	 */
+	public final int getBacktrackCount() {
+		return fBacktrackCount;
+	}
+
+	/**
+	 * Returns the number of speculative sub-parses the parser that created this AST skipped,
+	 * because they were already known to fail.
+	 */
+	public final int getMemoHitCount() {
+		return fMemoHitCount;
+	}
+
 	@Override
 	public boolean hasNodesOmitted() {
 		return fNodesOmitted;
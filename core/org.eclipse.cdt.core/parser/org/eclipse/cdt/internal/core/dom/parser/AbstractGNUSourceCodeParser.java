@@ -17,7 +17,9 @@
 package org.eclipse.cdt.internal.core.dom.parser;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ast.ASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
@@ -175,6 +177,14 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 	protected static final int DEFAULT_DESIGNATOR_LIST_SIZE = 4;
     protected static int parseCount = 0;
 
+	/**
+	 * Speculative sub-parses whose failures are memoized per start token, see
+	 * {@link #isKnownToFail(IToken, int)}.
+	 */
+	protected static final int MEMO_TYPEID= 0x1;
+	protected static final int MEMO_EXPRESSION_STATEMENT= 0x2;
+	protected static final int MEMO_CONDITION_DECLARATION= 0x4;
+
 	protected final AbstractParserLogService log;
     protected final IScanner scanner;
     protected final ParserMode mode;
@@ -205,8 +215,16 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
     protected boolean isCancelled = false;
 	protected boolean parsePassed = true;
     protected int backtrackCount = 0;
+    protected int memoHitCount = 0;
     protected BacktrackException backtrack = new BacktrackException();
 
+    /**
+     * Maps the first token of a speculative sub-parse to the set of rules that are known to fail
+     * when started at that token. Tokens are used as keys rather than offsets, because all tokens
+     * of a macro expansion share the same offset.
+     */
+    private final Map<IToken, Integer> fFailedSpeculations= new HashMap<>();
+
     protected ASTCompletionNode completionNode;
 
     private final INodeFactory nodeFactory;
@@ -586,6 +604,67 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
         return backtrackCount;
     }
 
+    /**
+     * Returns the number of speculative sub-parses that were skipped, because they were already
+     * known to fail.
+     */
+    public final int getMemoHitCount() {
+    	return memoHitCount;
+    }
+
+    /**
+     * Returns whether failures of speculative sub-parses may be memoized in the current state
+     * of the parser. Subclasses must return {@code false} while the outcome of a sub-parse depends
+     * on state that can change between two attempts to parse the same tokens.
+     */
+    protected boolean canMemoizeSpeculation() {
+    	return mode != ParserMode.COMPLETION_PARSE;
+    }
+
+    /**
+     * Checks whether parsing the given rule starting with the given token has failed before.
+     * @param start the first token of the sub-parse.
+     * @param rule one of the {@code MEMO_...} constants.
+     */
+    protected final boolean isKnownToFail(IToken start, int rule) {
+    	if (!canMemoizeSpeculation())
+    		return false;
+    	Integer failed= fFailedSpeculations.get(start);
+    	if (failed != null && (failed.intValue() & rule) != 0) {
+    		++memoHitCount;
+    		return true;
+    	}
+    	return false;
+    }
+
+    /**
+     * Records that parsing the given rule starting with the given token failed.
+     * @param start the first token of the sub-parse.
+     * @param rule one of the {@code MEMO_...} constants.
+     */
+    protected final void rememberFailure(IToken start, int rule) {
+    	if (!canMemoizeSpeculation())
+    		return;
+    	Integer failed= fFailedSpeculations.get(start);
+    	fFailedSpeculations.put(start, failed == null ? rule : failed.intValue() | rule);
+    }
+
+    /**
+     * Attempts to parse a type-id, returns {@code null} if that is not possible. In case of a
+     * failure the input is not restored, the caller is expected to backup to a previous mark.
+     */
+    protected final IASTTypeId speculativeTypeId() throws EndOfFileException {
+    	final IToken start= LA();
+    	if (isKnownToFail(start, MEMO_TYPEID))
+    		return null;
+    	try {
+    		return typeId(DeclarationOptions.TYPEID);
+    	} catch (BacktrackException e) {
+    		rememberFailure(start, MEMO_TYPEID);
+    		return null;
+    	}
+    }
+
     protected IASTProblem createProblem(BacktrackException bt) {
         IASTProblem result= bt.getProblem();
         if (result == null) {
@@ -658,11 +737,17 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
                 + (++parseCount) + ": " //$NON-NLS-1$
                 + (System.currentTimeMillis() - startTime) + "ms" //$NON-NLS-1$
                 + (parsePassed ? "" : " - parse failure")); //$NON-NLS-1$ //$NON-NLS-2$
+        log.traceLog("Backtracks: " + backtrackCount //$NON-NLS-1$
+                + ", memoized speculations: " + memoHitCount); //$NON-NLS-1$
+        fFailedSpeculations.clear();
         startTime = System.currentTimeMillis();
         resolveAmbiguities();
         log.traceLog("Ambiguity resolution : " //$NON-NLS-1$
                 + (System.currentTimeMillis() - startTime) + "ms"); //$NON-NLS-1$
         IASTTranslationUnit result = getTranslationUnit();
+        if (result instanceof ASTTranslationUnit) {
+        	((ASTTranslationUnit) result).setParserStatistics(backtrackCount, memoHitCount);
+        }
         nullifyTranslationUnit();
         result.freeze(); // make the AST immutable
         return result;
@@ -1216,10 +1301,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 			consume();
 			IASTTypeId typeId= null;
 			if (canBeCast) {
-				try {
-					typeId= typeId(DeclarationOptions.TYPEID);
-				} catch (BacktrackException e) {
-				}
+				typeId= speculativeTypeId();
 			}
 			if (typeId != null && LT(1) == IToken.tRPAREN) {
 				consume();
@@ -1352,6 +1434,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 			final int offset = next.getOffset();
 			declarationMark= next;
 			next= null; // don't hold on to the token while parsing namespaces, class bodies, etc.
+			fFailedSpeculations.clear(); // nor to the tokens of previous declarations
 			try {
 				IASTDeclaration declaration= declaration(options);
 				if (((ASTNode) declaration).getLength() == 0 && LTcatchEOF(1) != IToken.tEOC) {
@@ -1860,18 +1943,22 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
         IASTExpressionStatement expressionStatement = null;
         IToken afterExpression = null;
         boolean foundSemicolon= false;
-        try {
-            IASTExpression expression = expression();
-            expressionStatement = nodeFactory.newExpressionStatement(expression);
-            addAttributeSpecifiers(attributeSpecifiers, expressionStatement);
-            setRange(expressionStatement, expression);
-            afterExpression= LA();
-
-            IToken semi= consumeOrEOC(IToken.tSEMI);
-            foundSemicolon= true;
-            adjustEndOffset(expressionStatement, semi.getEndOffset());
-            afterExpression= LA();
-        } catch (BacktrackException b) {
+        if (!isKnownToFail(mark, MEMO_EXPRESSION_STATEMENT)) {
+        	try {
+        		IASTExpression expression = expression();
+        		expressionStatement = nodeFactory.newExpressionStatement(expression);
+        		addAttributeSpecifiers(attributeSpecifiers, expressionStatement);
+        		setRange(expressionStatement, expression);
+        		afterExpression= LA();
+
+        		IToken semi= consumeOrEOC(IToken.tSEMI);
+        		foundSemicolon= true;
+        		adjustEndOffset(expressionStatement, semi.getEndOffset());
+        		afterExpression= LA();
+        	} catch (BacktrackException b) {
+        		if (expressionStatement == null)
+        			rememberFailure(mark, MEMO_EXPRESSION_STATEMENT);
+        	}
         }
 
         backup(mark);
@@ -40,7 +40,7 @@ public interface ITypeMarshalBuffer {
 	final static byte ALIAS_TEMPLATE                = 0x0F;
 	final static byte TYPE_TRANSFORMATION           = 0x10;
 	final static byte UNKNOWN_MEMBER_TYPE           = 0x11;
-	// Can add more types up to 0x1C, after that it will collide with TypeMarshalBuffer.UNSTORABLE_TYPE. 
+	// Can add more types up to 0x1B, after that it will collide with TypeMarshalBuffer.SHARED_TYPE. 
 
 	final static byte
 		EVAL_BINARY         = 0x01,
@@ -59,7 +59,7 @@ public interface ITypeMarshalBuffer {
 		EVAL_TYPE_ID        = 0x0E,
 		EVAL_UNARY          = 0x0F,
 		EVAL_UNARY_TYPE_ID  = 0x10;
-	// Can add more evaluations up to 0x1C, after that it will collide with TypeMarshalBuffer.UNSTORABLE_TYPE.
+	// Can add more evaluations up to 0x1B, after that it will collide with TypeMarshalBuffer.SHARED_TYPE.
 
 	static final short KIND_MASK = 0x001F;
 
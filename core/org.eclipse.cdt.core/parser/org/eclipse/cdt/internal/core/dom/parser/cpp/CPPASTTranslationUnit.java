@@ -34,6 +34,9 @@ import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConversionCache;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.LookupCache;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 
@@ -44,6 +47,9 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
     private CPPNamespaceScope fScope;
     private ICPPNamespace fBinding;
 	private final CPPScopeMapper fScopeMapper= new CPPScopeMapper(this);
+	private final LookupCache fLookupCache= new LookupCache();
+	private final ConversionCache fConversionCache= new ConversionCache();
+	private final ConstexprCache fConstexprCache= new ConstexprCache();
 	
 	public CPPASTTranslationUnit() {
 	}
@@ -159,8 +165,30 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	public void skippedFile(int offset, InternalFileContent fileContent) {
 		super.skippedFile(offset, fileContent);
 		fScopeMapper.registerAdditionalDirectives(offset, fileContent.getUsingDirectives());
+		fLookupCache.fileSetChanged();
 	}	
 
+	/**
+	 * Returns the cache for results of name lookup in this translation unit.
+	 */
+	public LookupCache getLookupCache() {
+		return fLookupCache;
+	}
+
+	/**
+	 * Returns the cache for implicit conversion sequences computed in this translation unit.
+	 */
+	public ConversionCache getConversionCache() {
+		return fConversionCache;
+	}
+
+	/**
+	 * Returns the cache for results of constexpr function calls evaluated in this translation unit.
+	 */
+	public ConstexprCache getConstexprCache() {
+		return fConstexprCache;
+	}
+
 	@Override
 	public IScope mapToASTScope(IScope scope) {
 		if (scope instanceof IIndexScope) {
@@ -43,6 +43,7 @@ import org.eclipse.cdt.core.parser.util.ObjectSet;
 import org.eclipse.cdt.internal.core.dom.parser.ProblemBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.LookupCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.LookupData;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
 import org.eclipse.core.runtime.CoreException;
@@ -193,9 +194,20 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 					try {
 						IndexFilter filter = IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE;
 						final char[] nchars = lookup.getLookupKey();
-						IBinding[] bindings = lookup.isPrefixLookup() ?
-								index.findBindingsForContentAssist(nchars, true, filter, null) :
-								index.findBindings(nchars, filter, null);
+						IBinding[] bindings;
+						if (lookup.isPrefixLookup()) {
+							bindings= index.findBindingsForContentAssist(nchars, true, filter, null);
+						} else if (tu instanceof CPPASTTranslationUnit) {
+							// The index does not change while the AST is in use.
+							LookupCache cache= ((CPPASTTranslationUnit) tu).getLookupCache();
+							bindings= cache.getGlobalIndexBindings(nchars);
+							if (bindings == null) {
+								bindings= index.findBindings(nchars, filter, null);
+								cache.putGlobalIndexBindings(nchars, bindings);
+							}
+						} else {
+							bindings= index.findBindings(nchars, filter, null);
+						}
 						if (fileSet != null) {
 							bindings= fileSet.filterFileLocalBindings(bindings);
 						}
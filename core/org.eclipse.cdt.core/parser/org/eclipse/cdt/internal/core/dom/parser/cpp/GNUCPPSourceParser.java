@@ -239,6 +239,12 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		return fContextSensitiveTokens.get(new String(token.getCharImage()));
     }
     
+    @Override
+    protected boolean canMemoizeSpeculation() {
+    	// Initializers within a template parameter list are parsed with an outer template-id strategy.
+    	return fTemplateParameterListStrategy == null && super.canMemoizeSpeculation();
+    }
+
     @Override
 	protected IASTName identifier() throws EndOfFileException, BacktrackException {
     	switch (LT(1)) {
@@ -694,12 +700,10 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 
     private IASTNode templateArgument(ITemplateIdStrategy strat) throws EndOfFileException, BacktrackException {
     	IToken argStart = mark();
-		ICPPASTTypeId typeId= null;
+		ICPPASTTypeId typeId= (ICPPASTTypeId) speculativeTypeId();
 		int lt1= 0;
-		try {
-			typeId= typeId(DeclarationOptions.TYPEID);
+		if (typeId != null) {
 			lt1 = LT(1);
-		} catch (BacktrackException e) {
 		}
 
 		if (typeId != null
@@ -4833,15 +4837,18 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
         IToken end= null;
 
         IToken mark = mark();
-        try {
-        	decl= simpleSingleDeclaration(DeclarationOptions.CONDITION);
-        	end= LA(1);
-        	final int la= end.getType();
-        	if (la != expectToken && la != IToken.tEOC) {
-        		end= null;
-        		decl= null;
+        if (!isKnownToFail(mark, MEMO_CONDITION_DECLARATION)) {
+        	try {
+        		decl= simpleSingleDeclaration(DeclarationOptions.CONDITION);
+        		end= LA(1);
+        		final int la= end.getType();
+        		if (la != expectToken && la != IToken.tEOC) {
+        			end= null;
+        			decl= null;
+        		}
+        	} catch (BacktrackException b) {
+        		rememberFailure(mark, MEMO_CONDITION_DECLARATION);
         	}
-        } catch (BacktrackException b) {
         }
 
         backup(mark);
@@ -124,6 +124,14 @@ public interface ICPPEvaluation extends ISerializableEvaluation {
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns {@code true} if the constexpr evaluation has used up its budget of steps.
+		 * Results computed from then on are incomplete.
+		 */
+		public boolean isBudgetExhausted() {
+			return fStepsPerformed >= MAX_CONSTEXPR_EVALUATION_STEPS;
+		}
 		
 		/**
 		 * Returns the point of instantiation.
@@ -199,6 +199,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTNameBase;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBuiltinParameter;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClassScope;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPCompositeBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPDeferredFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunctionType;
@@ -1252,15 +1253,39 @@ public class CPPSemantics {
 		return result[0];
 	}
 
+	/**
+	 * Returns whether the bindings found in a scope depend on the lookup name rather than on
+	 * the lookup key only. Class scopes return the conversion functions for a conversion name,
+	 * and the constructors rather than the injected class name for the name of a constructor.
+	 */
+	private static boolean dependsOnLookupName(LookupData data) {
+		final IASTName lookupName = data.getLookupName();
+		return lookupName instanceof ICPPASTConversionName
+				|| CPPClassScope.shallReturnConstructors(lookupName, false);
+	}
+
 	static IBinding[] getBindingsFromScope(ICPPScope scope, LookupData data) throws DOMException {
-		IBinding[] bindings= scope.getBindings(data);
+		IBinding[] bindings;
+		CPPASTTranslationUnit tu = data.getTranslationUnit();
+		if (tu != null && scope instanceof IIndexScope && !(scope instanceof ICPPClassSpecializationScope)
+				&& !data.isPrefixLookup() && !dependsOnLookupName(data)) {
+			// Bindings of index scopes are not subject to the point of declaration.
+			final LookupCache cache = tu.getLookupCache();
+			final char[] key = data.getLookupKey();
+			bindings= cache.getScopeBindings(scope, key);
+			if (bindings == null) {
+				bindings= scope.getBindings(data);
+				cache.putScopeBindings(scope, key, bindings);
+			}
+		} else {
+			bindings= scope.getBindings(data);
+		}
 
 		if (scope instanceof ICPPASTInternalScope && scope instanceof ICPPClassScope) {
 			final IASTName lookupName = data.getLookupName();
 			if (LookupData.checkWholeClassScope(lookupName)) {
 				// Bug 103857: Members declared after the point of completion cannot be
 				//     found in the partial AST, we look them up in the index
-				CPPASTTranslationUnit tu = data.getTranslationUnit();
 				if (tu != null && tu.isForContentAssist()) {
 					IIndex index = tu.getIndex();
 					IASTNode node = ((IASTInternalScope) scope).getPhysicalNode();
@@ -173,6 +173,7 @@ import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.AttributeUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNameIndex;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTInternalScope;
@@ -1661,6 +1662,7 @@ public class CPPVisitor extends ASTQueries {
 		private IBinding[] bindings;
 		private int idx = 0;
 		private int kind;
+		private char[] requiredName;
 		private IIndex index;
 
 		private static final int KIND_LABEL  = 1;
@@ -1677,6 +1679,13 @@ public class CPPVisitor extends ASTQueries {
 			binding = unwindBinding(binding);
 			this.bindings = new IBinding[] { binding };
 
+			// The names of parameters may differ between the declarations.
+			final String bname = binding.getName();
+			if (bname.length() > 0 && !bname.startsWith("operator") && //$NON-NLS-1$
+					!(binding instanceof IParameter) && !(binding instanceof ICPPTemplateParameter)) {
+				requiredName= bname.toCharArray();
+			}
+
 			if (binding instanceof ICPPUsingDeclaration) {
 				this.bindings= ((ICPPUsingDeclaration) binding).getDelegates();
 				kind= KIND_COMPOSITE;
@@ -2413,10 +2422,25 @@ public class CPPVisitor extends ASTQueries {
 
 	public static IASTName[] getReferences(IASTTranslationUnit tu, IBinding binding) {
 		CollectReferencesAction action = new CollectReferencesAction(binding);
-		tu.accept(action);
+		visitNames(tu, action, action.requiredName);
 		return action.getReferences();
 	}
 
+	/**
+	 * Lets the action visit the names of the translation unit. For a frozen translation unit
+	 * and a given name only the names with that lookup key are visited.
+	 */
+	private static void visitNames(IASTTranslationUnit tu, ASTVisitor action, char[] requiredName) {
+		if (requiredName != null && tu instanceof ASTTranslationUnit) {
+			ASTNameIndex nameIndex = ((ASTTranslationUnit) tu).getNameIndex();
+			if (nameIndex != null) {
+				nameIndex.accept(tu, action, requiredName);
+				return;
+			}
+		}
+		tu.accept(action);
+	}
+
 	public static IASTName[] getImplicitReferences(IASTTranslationUnit tu, IBinding binding) {
 		CollectReferencesAction action = new CollectReferencesAction(binding) {
 			{
@@ -2431,7 +2455,7 @@ public class CPPVisitor extends ASTQueries {
 
 	public static IASTName[] getDeclarations(IASTTranslationUnit tu, IBinding binding) {
 	    CollectDeclarationsAction action = new CollectDeclarationsAction(binding);
-	    tu.accept(action);
+	    visitNames(tu, action, action.requiredName);
 
 		IASTName[] found = action.getDeclarations();
 		if (found.length == 0 && binding instanceof ICPPSpecialization && binding instanceof ICPPInternalBinding) {
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+
+/**
+ * Per-AST cache for the results of calls to constexpr functions.
+ * <p>
+ * A result is keyed by the function and the values of the arguments passed to it. For an instance
+ * of a function template the function reflects the template arguments, such that the key covers
+ * the template parameter map, as well. Only calls with integral arguments and integral results
+ * are cached. The cache is owned by the translation unit and is not thread-safe.
+ */
+public class ConstexprCache {
+	private static final class CallKey {
+		final ICPPFunction fFunction;
+		final long[] fArguments;
+
+		CallKey(ICPPFunction function, long[] arguments) {
+			fFunction= function;
+			fArguments= arguments;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * fFunction.hashCode() + Arrays.hashCode(fArguments);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CallKey))
+				return false;
+			CallKey other= (CallKey) obj;
+			return fFunction.equals(other.fFunction) && Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	private final Map<CallKey, ICPPEvaluation> fResults= new HashMap<>();
+	private int fHits;
+	private int fMisses;
+
+	/**
+	 * Returns the cached result of calling the given function with the given argument values,
+	 * or {@code null}.
+	 */
+	ICPPEvaluation getResult(ICPPFunction function, long[] arguments) {
+		ICPPEvaluation result= fResults.get(new CallKey(function, arguments));
+		if (result == null) {
+			fMisses++;
+		} else {
+			fHits++;
+		}
+		return result;
+	}
+
+	void putResult(ICPPFunction function, long[] arguments, ICPPEvaluation result) {
+		fResults.put(new CallKey(function, arguments), result);
+	}
+
+	public int getHitCount() {
+		return fHits;
+	}
+
+	public int getMissCount() {
+		return fMisses;
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
+import org.eclipse.cdt.core.dom.ast.IArrayType;
+import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.ICompositeType;
+import org.eclipse.cdt.core.dom.ast.IEnumeration;
+import org.eclipse.cdt.core.dom.ast.IFunctionType;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IQualifierType;
+import org.eclipse.cdt.core.dom.ast.ISemanticProblem;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPBasicType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPPointerToMemberType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.Conversions.Context;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.Conversions.UDCMode;
+
+/**
+ * Per-AST cache for implicit conversion sequences.
+ * <p>
+ * Types are interned, such that structurally identical types created independently of each other
+ * share a canonical instance. The canonical instances serve as keys for the costs of implicit
+ * conversion sequences that do not involve user-defined conversions, comparing keys then
+ * requires identity checks only. The cache is owned by the translation unit and is not
+ * thread-safe. Both maps are bounded, when one of them is full the cache starts over.
+ */
+public class ConversionCache {
+	private static final int MAX_ENTRIES= 10000;
+
+	/**
+	 * Wraps a type with a hash code that is consistent with {@link IType#isSameType(IType)}.
+	 */
+	private static final class InternedType {
+		final IType fType;
+		final int fHash;
+
+		InternedType(IType type) {
+			fType= type;
+			fHash= structuralHash(type);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof InternedType))
+				return false;
+			InternedType other= (InternedType) obj;
+			return fHash == other.fHash && fType.isSameType(other.fType);
+		}
+	}
+
+	private static final class CostKey {
+		final IType fTarget;
+		final IType fSource;
+		final ValueCategory fValueCategory;
+		final UDCMode fUDCMode;
+		final Context fContext;
+
+		CostKey(IType target, IType source, ValueCategory valueCat, UDCMode udc, Context ctx) {
+			fTarget= target;
+			fSource= source;
+			fValueCategory= valueCat;
+			fUDCMode= udc;
+			fContext= ctx;
+		}
+
+		@Override
+		public int hashCode() {
+			int result= System.identityHashCode(fTarget);
+			result= 31 * result + System.identityHashCode(fSource);
+			result= 31 * result + fValueCategory.hashCode();
+			result= 31 * result + fUDCMode.hashCode();
+			return 31 * result + fContext.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CostKey))
+				return false;
+			CostKey other= (CostKey) obj;
+			// The types are interned.
+			return fTarget == other.fTarget && fSource == other.fSource
+					&& fValueCategory == other.fValueCategory && fUDCMode == other.fUDCMode
+					&& fContext == other.fContext;
+		}
+	}
+
+	private final Map<InternedType, IType> fTypes= new HashMap<>();
+	private final Map<CostKey, Cost> fCosts= new HashMap<>();
+	private int fHits;
+	private int fMisses;
+
+	/**
+	 * Returns the canonical instance for the given type. If there is none yet, the type
+	 * itself becomes the canonical instance.
+	 */
+	public IType intern(IType type) {
+		InternedType key= new InternedType(type);
+		IType result= fTypes.get(key);
+		if (result == null) {
+			if (fTypes.size() >= MAX_ENTRIES) {
+				// The cached costs refer to the canonical instances by identity, they remain
+				// correct but would not be found anymore.
+				fTypes.clear();
+				fCosts.clear();
+			}
+			fTypes.put(key, type);
+			result= type;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the cost of an implicit conversion sequence between the given types
+	 * can be cached.
+	 */
+	static boolean isCacheable(IType target, IType source, UDCMode udc) {
+		// User-defined conversions depend on the members of classes, which may not be resolved
+		// completely, yet.
+		if (udc == UDCMode.ALLOWED)
+			return false;
+		return isCacheable(target) && isCacheable(source);
+	}
+
+	private static boolean isCacheable(IType type) {
+		if (type == null || type instanceof InitializerListType || type instanceof FunctionSetType)
+			return false;
+		IType ultimate= SemanticUtil.getUltimateType(type, false);
+		if (ultimate instanceof CPPBasicType) {
+			// Properties of literals are not considered by isSameType(), however the value
+			// matters for narrowing conversions and string literals convert to 'char*'.
+			CPPBasicType basicType= (CPPBasicType) ultimate;
+			if (basicType.getAssociatedNumericalValue() != null || basicType.isFromStringLiteral())
+				return false;
+		}
+		if (ultimate instanceof ISemanticProblem || ultimate instanceof ICPPUnknownType)
+			return false;
+		return !CPPTemplates.isDependentType(type);
+	}
+
+	/**
+	 * Returns a copy of the cached cost for the conversion between the given interned types,
+	 * or {@code null}.
+	 */
+	Cost getCost(IType target, IType source, ValueCategory valueCat, UDCMode udc, Context ctx) {
+		Cost cost= fCosts.get(new CostKey(target, source, valueCat, udc, ctx));
+		if (cost == null) {
+			fMisses++;
+			return null;
+		}
+		fHits++;
+		return cost.copy();
+	}
+
+	void putCost(IType target, IType source, ValueCategory valueCat, UDCMode udc, Context ctx, Cost cost) {
+		if (fCosts.size() >= MAX_ENTRIES)
+			fCosts.clear();
+		fCosts.put(new CostKey(target, source, valueCat, udc, ctx), cost.copy());
+	}
+
+	public int getHitCount() {
+		return fHits;
+	}
+
+	public int getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * Computes a hash code for the type, such that types that are the same according
+	 * to {@link IType#isSameType(IType)} have the same hash code. Function types are hashed on
+	 * their return and parameter types, pointers to members on the class, classes and
+	 * enumerations on their names.
+	 */
+	public static int structuralHash(IType type) {
+		while (type instanceof ITypedef) {
+			type= ((ITypedef) type).getType();
+		}
+		if (type instanceof ICPPBasicType) {
+			ICPPBasicType basicType= (ICPPBasicType) type;
+			int modifiers= basicType.getModifiers();
+			if (basicType.getKind() == Kind.eInt) {
+				// Signed int and int are the same type.
+				modifiers&= ~ICPPBasicType.IS_SIGNED;
+			}
+			return 31 * basicType.getKind().ordinal() + modifiers;
+		}
+		if (type instanceof ICompositeType || type instanceof IEnumeration)
+			return Arrays.hashCode(((IBinding) type).getNameCharArray());
+		if (type instanceof IQualifierType) {
+			IQualifierType qualifierType= (IQualifierType) type;
+			return 31 * structuralHash(qualifierType.getType()) + 1
+					+ (qualifierType.isConst() ? 2 : 0) + (qualifierType.isVolatile() ? 4 : 0);
+		}
+		if (type instanceof ICPPPointerToMemberType) {
+			ICPPPointerToMemberType pointerType= (ICPPPointerToMemberType) type;
+			return 31 * (31 * structuralHash(pointerType.getType()) + 3)
+					+ structuralHash(pointerType.getMemberOfClass());
+		}
+		if (type instanceof IPointerType) {
+			IPointerType pointerType= (IPointerType) type;
+			return 31 * structuralHash(pointerType.getType()) + 5
+					+ (pointerType.isConst() ? 2 : 0) + (pointerType.isVolatile() ? 4 : 0);
+		}
+		if (type instanceof ICPPReferenceType) {
+			// References to references collapse, the kind of the reference is not hashed.
+			do {
+				type= ((ICPPReferenceType) type).getType();
+				while (type instanceof ITypedef) {
+					type= ((ITypedef) type).getType();
+				}
+			} while (type instanceof ICPPReferenceType);
+			return 31 * structuralHash(type) + 7;
+		}
+		if (type instanceof IArrayType)
+			return 31 * structuralHash(((IArrayType) type).getType()) + 11;
+		if (type instanceof IFunctionType) {
+			IFunctionType functionType= (IFunctionType) type;
+			int result= 13;
+			IType returnType= functionType.getReturnType();
+			if (returnType != null)
+				result= 31 * result + structuralHash(returnType);
+			IType[] parameterTypes= functionType.getParameterTypes();
+			// A parameter list of 'void' is the same as an empty one.
+			if (!SemanticUtil.isEmptyParameterList(parameterTypes)) {
+				for (IType parameterType : parameterTypes) {
+					result= 31 * result + (parameterType != null ? structuralHash(parameterType) : 0);
+				}
+			}
+			return result;
+		}
+		return 0;
+	}
+}
@@ -32,6 +32,7 @@ import java.util.Collections;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IArrayType;
 import org.eclipse.cdt.core.dom.ast.IBasicType;
 import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
@@ -58,6 +59,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ArithmeticConversion;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeContainer;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerToMemberType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerType;
@@ -89,6 +91,35 @@ public class Conversions {
 	 */
 	public static Cost checkImplicitConversionSequence(IType target, IType exprType,
 			ValueCategory valueCat, UDCMode udc, Context ctx, IASTNode point) throws DOMException {
+		final ConversionCache cache= getConversionCache(point);
+		if (cache == null || !ConversionCache.isCacheable(target, exprType, udc))
+			return computeImplicitConversionSequence(target, exprType, valueCat, udc, ctx, point);
+
+		target= cache.intern(target);
+		exprType= cache.intern(exprType);
+		Cost cost= cache.getCost(target, exprType, valueCat, udc, ctx);
+		if (cost == null) {
+			cost= computeImplicitConversionSequence(target, exprType, valueCat, udc, ctx, point);
+			// A failure may be caused by bindings that are still being resolved.
+			if (cost.converts()) {
+				cache.putCost(target, exprType, valueCat, udc, ctx, cost);
+			}
+		}
+		return cost;
+	}
+
+	private static ConversionCache getConversionCache(IASTNode point) {
+		if (point != null) {
+			IASTTranslationUnit tu= point.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConversionCache();
+			}
+		}
+		return null;
+	}
+
+	private static Cost computeImplicitConversionSequence(IType target, IType exprType,
+			ValueCategory valueCat, UDCMode udc, Context ctx, IASTNode point) throws DOMException {
 		final boolean isImpliedObject= ctx == Context.IMPLICIT_OBJECT;
 		if (isImpliedObject) 
 			udc= UDCMode.FORBIDDEN;
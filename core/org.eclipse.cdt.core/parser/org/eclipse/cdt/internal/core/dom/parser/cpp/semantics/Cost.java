@@ -112,6 +112,27 @@ public class Cost {
 		fReferenceBinding= ReferenceBinding.NO_REF;
 	}
 
+	/**
+	 * Returns a copy of this cost that can be modified independently of it.
+	 */
+	Cost copy() {
+		if (this == NO_CONVERSION)
+			return this;
+		Cost result= new Cost(source, target, fRank);
+		result.fSecondStandardConversionRank= fSecondStandardConversionRank;
+		result.fAmbiguousUDC= fAmbiguousUDC;
+		result.fDeferredUDC= fDeferredUDC;
+		result.fQualificationAdjustments= fQualificationAdjustments;
+		result.fInheritanceDistance= fInheritanceDistance;
+		result.fImpliedObject= fImpliedObject;
+		result.fUserDefinedConversion= fUserDefinedConversion;
+		result.fReferenceBinding= fReferenceBinding;
+		result.fCouldNarrow= fCouldNarrow;
+		result.fListInitializationTarget= fListInitializationTarget;
+		result.fSelectedFunction= fSelectedFunction;
+		return result;
+	}
+
 	public final Rank getRank() {
 		return fRank;
 	}
@@ -23,6 +23,7 @@ import java.util.Arrays;
 
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IFunctionType;
 import org.eclipse.cdt.core.dom.ast.IPointerType;
@@ -30,6 +31,7 @@ import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.IValue;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTypeSpecialization;
@@ -37,6 +39,7 @@ import org.eclipse.cdt.internal.core.dom.parser.ISerializableEvaluation;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
 import org.eclipse.cdt.internal.core.dom.parser.ProblemType;
 import org.eclipse.cdt.internal.core.dom.parser.Value;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.OverloadableOperator;
@@ -207,7 +210,7 @@ public class EvalFunctionCall extends CPPDependentEvaluation {
 	@Override
 	public ICPPEvaluation computeForFunctionCall(CPPFunctionParameterMap parameterMap,
 			ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS)
+		if (context.isBudgetExhausted())
 			return EvalFixed.INCOMPLETE;
 
 		ICPPEvaluation[] args = fArguments;
@@ -235,6 +238,7 @@ public class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!areAllConstantExpressions(fArguments, context.getPoint()))
 			return this;
 		ICPPFunction function = getOverload(context.getPoint());
+		final boolean isCallOperator = function != null;
 		if (function == null) {
 			if (fArguments[0] instanceof EvalBinding) {
 				IBinding binding = ((EvalBinding) fArguments[0]).getBinding();
@@ -247,8 +251,58 @@ public class EvalFunctionCall extends CPPDependentEvaluation {
 		ICPPEvaluation eval = CPPFunction.getReturnExpression(function);
 		if (eval == null)
 			return EvalFixed.INCOMPLETE;
+
+		// Calls with the same argument values are evaluated only once. Folding the result into
+		// a fixed value also keeps recursive calls from expanding into ever growing expressions.
+		final IASTNode point = context.getPoint();
+		// The result of a call operator depends on the object it is called for.
+		final ConstexprCache cache = isCallOperator ? null : getConstexprCache(point);
+		final long[] argValues = cache == null ? null : getArgumentValues(function, point);
+		if (argValues != null) {
+			ICPPEvaluation result = cache.getResult(function, argValues);
+			if (result != null) {
+				context.recordStep();
+				return result;
+			}
+		}
 		CPPFunctionParameterMap parameterMap = buildParameterMap(function);
-		return eval.computeForFunctionCall(parameterMap, context.recordStep());
+		ICPPEvaluation result = eval.computeForFunctionCall(parameterMap, context.recordStep());
+		if (argValues != null && result != null && !context.isBudgetExhausted()) {
+			IValue value = result.getValue(point);
+			if (value.numericalValue() != null && !context.isBudgetExhausted()) {
+				result = new EvalFixed(getTypeOrFunctionSet(point), getValueCategory(point), value);
+				cache.putResult(function, argValues, result);
+			}
+		}
+		return result;
+	}
+
+	private static ConstexprCache getConstexprCache(IASTNode point) {
+		if (point != null) {
+			IASTTranslationUnit tu = point.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the values of the arguments of the call, or {@code null} if the result of the call
+	 * cannot be cached because the function is a non-static member or an argument does not have
+	 * an integral value.
+	 */
+	private long[] getArgumentValues(ICPPFunction function, IASTNode point) {
+		if (function instanceof ICPPMethod && !function.isStatic())
+			return null;  // The result depends on the implied object.
+		long[] values = new long[fArguments.length - 1];
+		for (int i = 0; i < values.length; i++) {
+			Long value = fArguments[i + 1].getValue(point).numericalValue();
+			if (value == null)
+				return null;
+			values[i] = value.longValue();
+		}
+		return values;
 	}
 
 	private CPPFunctionParameterMap buildParameterMap(ICPPFunction function) {
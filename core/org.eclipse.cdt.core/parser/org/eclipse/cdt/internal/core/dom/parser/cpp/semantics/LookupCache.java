@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IScope;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+import org.eclipse.cdt.core.parser.util.ObjectSet;
+
+/**
+ * Per-AST cache for results of name lookup that do not depend on the point of declaration.
+ * <p>
+ * Bindings from the AST are subject to the point of declaration and are therefore never cached,
+ * only results computed from the index are. Results of a lookup in an index scope are filtered
+ * by the set of files included by the translation unit and are discarded when that set grows.
+ * The cache is owned by the translation unit and is not thread-safe, just as the scopes of
+ * the AST it belongs to.
+ */
+public class LookupCache {
+	private final Map<IScope, CharArrayObjectMap<IBinding[]>> fScopeBindings= new HashMap<>();
+	private final CharArrayObjectMap<IBinding[]> fGlobalIndexBindings= new CharArrayObjectMap<>(8);
+	private final Map<ICPPClassType, ObjectSet<ICPPClassType>> fInheritanceClosures= new HashMap<>();
+	private final Map<ICPPClassType, ICPPMethod[]> fConversionOperators= new HashMap<>();
+	private int fHits;
+	private int fMisses;
+
+	/**
+	 * Returns the cached bindings for a lookup of the given name in an index scope,
+	 * or {@code null}.
+	 */
+	public IBinding[] getScopeBindings(IScope scope, char[] name) {
+		CharArrayObjectMap<IBinding[]> map= fScopeBindings.get(scope);
+		return count(map == null ? null : map.get(name));
+	}
+
+	public void putScopeBindings(IScope scope, char[] name, IBinding[] bindings) {
+		CharArrayObjectMap<IBinding[]> map= fScopeBindings.get(scope);
+		if (map == null) {
+			map= new CharArrayObjectMap<>(2);
+			fScopeBindings.put(scope, map);
+		}
+		map.put(name, bindings);
+	}
+
+	/**
+	 * Returns the cached result of the index lookup for the given name in the global scope
+	 * of the translation unit, or {@code null}. The result is not filtered by file set.
+	 */
+	public IBinding[] getGlobalIndexBindings(char[] name) {
+		return count(fGlobalIndexBindings.get(name));
+	}
+
+	public void putGlobalIndexBindings(char[] name, IBinding[] bindings) {
+		fGlobalIndexBindings.put(name, bindings);
+	}
+
+	/**
+	 * Returns the cached inheritance closure of the given class, or {@code null}.
+	 * The returned set must not be modified.
+	 */
+	public ObjectSet<ICPPClassType> getInheritanceClosure(ICPPClassType classType) {
+		return count(fInheritanceClosures.get(classType));
+	}
+
+	/**
+	 * Returns whether the inheritance closure of the given class is cached, without counting
+	 * the request as a hit or a miss.
+	 */
+	public boolean hasInheritanceClosure(ICPPClassType classType) {
+		return fInheritanceClosures.containsKey(classType);
+	}
+
+	public void putInheritanceClosure(ICPPClassType classType, ObjectSet<ICPPClassType> closure) {
+		fInheritanceClosures.put(classType, closure);
+	}
+
+	/**
+	 * Returns the cached conversion operators of the given class including the inherited ones,
+	 * or {@code null}. The returned array must not be modified.
+	 */
+	public ICPPMethod[] getConversionOperators(ICPPClassType classType) {
+		return count(fConversionOperators.get(classType));
+	}
+
+	public void putConversionOperators(ICPPClassType classType, ICPPMethod[] operators) {
+		fConversionOperators.put(classType, operators);
+	}
+
+	/**
+	 * Discards the results that depend on the set of files included by the translation unit.
+	 */
+	public void fileSetChanged() {
+		fScopeBindings.clear();
+	}
+
+	public int getHitCount() {
+		return fHits;
+	}
+
+	public int getMissCount() {
+		return fMisses;
+	}
+
+	private <T> T count(T result) {
+		if (result == null) {
+			fMisses++;
+		} else {
+			fHits++;
+		}
+		return result;
+	}
+}
@@ -152,20 +152,38 @@ public class SemanticUtil {
 	 * @return an array of conversion operators.
 	 */
 	public static ICPPMethod[] getConversionOperators(ICPPClassType clazz, IASTNode point) throws DOMException {
+		final LookupCache cache= getLookupCache(point);
+		if (cache != null) {
+			ICPPMethod[] methods= cache.getConversionOperators(clazz);
+			if (methods != null)
+				return methods;
+		}
 		ICPPMethod[] methods= ICPPMethod.EMPTY_CPPMETHOD_ARRAY;
 		ObjectSet<ICPPClassType> ancestry= inheritanceClosure(clazz, point);
 		for (int i = 0; i < ancestry.size(); i++) {
 			methods= ArrayUtil.addAll(methods, getDeclaredConversionOperators(ancestry.keyAt(i), point));
 		}
+		if (cache != null && cache.hasInheritanceClosure(clazz)) {
+			// The inheritance closure was complete, the result can be reused.
+			cache.putConversionOperators(clazz, methods);
+		}
 		return methods;
 	}
 
 	/**
 	 * @param root the class to start at
-	 * @return the root and all its ancestor classes
+	 * @return the root and all its ancestor classes. The result may be shared, it must not be
+	 *     modified.
 	 * @throws DOMException
 	 */
 	public static ObjectSet<ICPPClassType> inheritanceClosure(ICPPClassType root, IASTNode point) throws DOMException {
+		final LookupCache cache= getLookupCache(point);
+		if (cache != null) {
+			ObjectSet<ICPPClassType> result= cache.getInheritanceClosure(root);
+			if (result != null)
+				return result;
+		}
+		boolean complete= true;
 		ObjectSet<ICPPClassType> done= new ObjectSet<>(2);
 		ObjectSet<ICPPClassType> current= new ObjectSet<>(2);
 		current.put(root);
@@ -184,6 +202,9 @@ public class SemanticUtil {
 						if (!done.containsKey(ct)) {
 							next.put(ct);
 						}
+					} else if (binding == null || binding instanceof IProblemBinding) {
+						// The base may still be in the process of being resolved.
+						complete= false;
 					}
 				}
 			}
@@ -191,9 +212,26 @@ public class SemanticUtil {
 			current= next;
 		}
 
+		if (cache != null && complete && current.isEmpty()) {
+			cache.putInheritanceClosure(root, done);
+		}
 		return done;
 	}
 
+	/**
+	 * Returns the lookup cache of the translation unit containing the given point, or
+	 * {@code null} if there is none.
+	 */
+	static LookupCache getLookupCache(IASTNode point) {
+		if (point != null) {
+			IASTTranslationUnit tu= point.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getLookupCache();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * @param method
 	 * @return true if the specified method is a conversion operator
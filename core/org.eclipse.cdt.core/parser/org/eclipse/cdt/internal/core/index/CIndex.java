@@ -23,7 +23,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -44,10 +46,12 @@ import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.dom.Linkage;
+import org.eclipse.cdt.internal.core.index.composite.AbstractCompositeFactory;
 import org.eclipse.cdt.internal.core.index.composite.CompositingNotImplementedError;
 import org.eclipse.cdt.internal.core.index.composite.ICompositesFactory;
 import org.eclipse.cdt.internal.core.index.composite.c.CCompositesFactory;
 import org.eclipse.cdt.internal.core.index.composite.cpp.CPPCompositesFactory;
+import org.eclipse.cdt.internal.core.util.ParallelQueryExecutor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -60,9 +64,55 @@ public class CIndex implements IIndex {
 	 */
 	private static final boolean SPECIALCASE_SINGLES = true;
 
+	/**
+	 * Filters for which the results of name queries are cached.
+	 */
+	private static final IndexFilter[] CACHEABLE_FILTERS = {
+		IndexFilter.ALL, IndexFilter.ALL_DECLARED, IndexFilter.ALL_DECLARED_OR_IMPLICIT,
+		IndexFilter.CPP_DECLARED_OR_IMPLICIT, IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE,
+		IndexFilter.C_DECLARED_OR_IMPLICIT
+	};
+
+	/**
+	 * Key for the results of a name query merged from all fragments.
+	 */
+	private static final class NameQuery {
+		final char[][] fNames;
+		final boolean fIsPrefix;
+		final boolean fFileScope;
+		final IndexFilter fFilter;
+
+		NameQuery(char[][] names, boolean isPrefix, boolean fileScope, IndexFilter filter) {
+			fNames= names;
+			fIsPrefix= isPrefix;
+			fFileScope= fileScope;
+			fFilter= filter;
+		}
+
+		@Override
+		public int hashCode() {
+			int result= Arrays.deepHashCode(fNames);
+			result= 31 * result + (fIsPrefix ? 1 : 0);
+			result= 31 * result + (fFileScope ? 1 : 0);
+			return 31 * result + System.identityHashCode(fFilter);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof NameQuery))
+				return false;
+			NameQuery other= (NameQuery) obj;
+			return fIsPrefix == other.fIsPrefix && fFileScope == other.fFileScope
+					&& fFilter == other.fFilter && Arrays.deepEquals(fNames, other.fNames);
+		}
+	}
+
 	private final IIndexFragment[] fFragments;
 	private int fReadLock;
 	private ICompositesFactory cppCF, cCF, fCF;
+	/** Merged results of name queries, valid as long as none of the fragments is modified. */
+	private final Map<NameQuery, IIndexBinding[]> fNameQueryCache= new HashMap<>();
+	private long fCacheTimestamp;
 
 	/**
 	 * Creates an index consisting of one or more fragments.
@@ -183,10 +233,11 @@ public class CIndex implements IIndex {
 		// Read only fragments can be superseded by what the indexer writes into
 		// a writable fragment. Therefore names from a read-only fragment are
 		// ignored if there is a match in a writable fragment.
+		IIndexFragmentName[][] namesPerFragment= findNamesInFragments(binding, flags);
 		HashSet<NameKey> encounteredNames = new HashSet<>();
-		for (IIndexFragment fragment : fFragments) {
-			if (fragment instanceof IWritableIndexFragment) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
+		for (int i = 0; i < fFragments.length; i++) {
+			if (fFragments[i] instanceof IWritableIndexFragment) {
+				final IIndexFragmentName[] names = namesPerFragment[i];
 				for (IIndexFragmentName name : names) {
 					if (encounteredNames.add(new NameKey(name, true))) {
 						result.add(name);
@@ -194,9 +245,9 @@ public class CIndex implements IIndex {
 				}
 			}
 		}
-		for (IIndexFragment fragment : fFragments) {
-			if (!(fragment instanceof IWritableIndexFragment)) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
+		for (int i = 0; i < fFragments.length; i++) {
+			if (!(fFragments[i] instanceof IWritableIndexFragment)) {
+				final IIndexFragmentName[] names = namesPerFragment[i];
 				for (IIndexFragmentName name : names) {
 					if (encounteredNames.add(new NameKey(name, false))) {
 						result.add(name);
@@ -207,6 +258,36 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexName[result.size()]);
 	}
 
+	/**
+	 * Returns the names of the binding for each fragment. With multiple fragments the binding
+	 * is adapted to the fragments in the calling thread, since bindings from an AST must not be
+	 * accessed concurrently. The names are then collected by querying the fragments in parallel.
+	 */
+	private IIndexFragmentName[][] findNamesInFragments(IBinding binding, final int flags)
+			throws CoreException {
+		IIndexFragmentName[][] result= new IIndexFragmentName[fFragments.length][];
+		if (fFragments.length == 1 || !ParallelQueryExecutor.isParallel()) {
+			for (int i = 0; i < fFragments.length; i++) {
+				result[i]= fFragments[i].findNames(binding, flags);
+			}
+			return result;
+		}
+
+		List<Callable<IIndexFragmentName[]>> queries= new ArrayList<>(fFragments.length);
+		for (final IIndexFragment fragment : fFragments) {
+			final IIndexFragmentBinding adapted= fragment.adaptBinding(binding);
+			queries.add(new Callable<IIndexFragmentName[]>() {
+				@Override
+				public IIndexFragmentName[] call() throws CoreException {
+					if (adapted == null)
+						return IIndexFragmentName.EMPTY_NAME_ARRAY;
+					return fragment.findNames(adapted, flags);
+				}
+			});
+		}
+		return ParallelQueryExecutor.invokeAll(queries).toArray(result);
+	}
+
 	@Override
 	public IIndexName[] findDeclarations(IBinding binding) throws CoreException {
 		return findNames(binding, FIND_DECLARATIONS_DEFINITIONS);
@@ -314,6 +395,11 @@ public class CIndex implements IIndex {
 
 	@Override
 	public IIndexInclude[] findIncludedBy(IIndexFile file, int depth) throws CoreException {
+		if (depth != 0 && SPECIALCASE_SINGLES && fFragments.length == 1
+				&& ((IIndexFragmentFile) file).getIndexFragment() == fFragments[0]) {
+			// The fragment answers transitive queries from its include graph.
+			return fFragments[0].findIncludedBy((IIndexFragmentFile) file, depth);
+		}
 		List<IIndexInclude> result= new ArrayList<>();
 		Collection<IIndexFile> in = Collections.singletonList(file);
 		Set<FileContentKey> handled = new HashSet<>();
@@ -403,6 +489,12 @@ public class CIndex implements IIndex {
 					}
 				}
 			}
+			// The fragments may have been modified since the read lock was last held.
+			long timestamp= getLastWriteAccess();
+			if (timestamp != fCacheTimestamp) {
+				clearCompositeCaches();
+				fCacheTimestamp= timestamp;
+			}
 		}
 	}
 
@@ -449,6 +541,10 @@ public class CIndex implements IIndex {
 				return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
 			}
 		} else {
+			NameQuery query= createNameQuery(names, false, false, filter);
+			IIndexBinding[] cached= getCachedResult(query);
+			if (cached != null)
+				return cached;
 			if (monitor == null) {
 				monitor= new NullProgressMonitor();
 			}
@@ -474,7 +570,9 @@ public class CIndex implements IIndex {
 				}
 			}
 			monitor.done();
-			return flatten(result);
+			IIndexBinding[] bindings= flatten(result);
+			putCachedResult(query, bindings, monitor);
+			return bindings;
 		}
 	}
 
@@ -537,6 +635,73 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexFragmentBinding[result.size()]);
 	}
 
+	/**
+	 * Returns the bindings with a definition referencing the given function, variable or
+	 * enumerator, as recorded in the call graphs of the fragments. Like the references,
+	 * the callers are searched across language boundaries.
+	 * @param callee the referenced binding
+	 * @param polymorphicOnly if <code>true</code> only the callers that may call the given method
+	 *     polymorphically are returned
+	 */
+	public IIndexBinding[] findCallers(IBinding callee, boolean polymorphicOnly) throws CoreException {
+		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
+			return fFragments[0].findCallers(callee, polymorphicOnly);
+		}
+		IIndexFragmentBinding[][] callers = new IIndexFragmentBinding[fFragments.length][];
+		for (int i = 0; i < fFragments.length; i++) {
+			callers[i] = fFragments[i].findCallers(callee, polymorphicOnly);
+		}
+		// The callers from across language boundaries need the composites factory of their linkage.
+		List<IIndexBinding[]> result = new ArrayList<>();
+		for (ILinkage linkage : Linkage.getIndexerLinkages()) {
+			final int linkageID = linkage.getLinkageID();
+			IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+			boolean found = false;
+			for (int i = 0; i < fFragments.length; i++) {
+				List<IIndexFragmentBinding> part = new ArrayList<>();
+				for (IIndexFragmentBinding caller : callers[i]) {
+					if (caller.getLinkage().getLinkageID() == linkageID)
+						part.add(caller);
+				}
+				fragmentBindings[i] = part.toArray(new IIndexFragmentBinding[part.size()]);
+				found |= !part.isEmpty();
+			}
+			if (found)
+				result.add(getCompositesFactory(linkageID).getCompositeBindings(fragmentBindings));
+		}
+		return flatten(result);
+	}
+
+	/**
+	 * Returns the functions, variables and enumerators referenced from within the definitions
+	 * of the given binding, as recorded in the call graphs of the fragments.
+	 */
+	public IIndexBinding[] findCallees(IBinding caller) throws CoreException {
+		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
+			return fFragments[0].findCallees(caller);
+		}
+		IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+		for (int i = 0; i < fFragments.length; i++) {
+			fragmentBindings[i] = fFragments[i].findCallees(caller);
+		}
+		return getCompositesFactory(caller.getLinkage().getLinkageID()).getCompositeBindings(fragmentBindings);
+	}
+
+	/**
+	 * Returns the types with a base specifier naming the given type, and the typedefs defined
+	 * for it within other declarations, as recorded in the fragments.
+	 */
+	public IIndexBinding[] findSubtypes(IBinding type) throws CoreException {
+		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
+			return fFragments[0].findSubtypes(type);
+		}
+		IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+		for (int i = 0; i < fFragments.length; i++) {
+			fragmentBindings[i] = fFragments[i].findSubtypes(type);
+		}
+		return getCompositesFactory(type.getLinkage().getLinkageID()).getCompositeBindings(fragmentBindings);
+	}
+
 	private ICompositesFactory getCompositesFactory(int linkageID) {
 		switch (linkageID) {
 		case ILinkage.CPP_LINKAGE_ID:
@@ -581,6 +746,10 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForPrefix(prefix, filescope, filter, monitor);
 		} else {
+			NameQuery query= createNameQuery(new char[][] { prefix }, true, filescope, filter);
+			IIndexBinding[] cached= getCachedResult(query);
+			if (cached != null)
+				return cached;
 			List<IIndexBinding[]> result = new ArrayList<>();
 			ILinkage[] linkages = Linkage.getIndexerLinkages();
 			for (ILinkage linkage : linkages) {
@@ -601,7 +770,9 @@ public class CIndex implements IIndex {
 					result.add(factory.getCompositeBindings(fragmentBindings));
 				}
 			}
-			return flatten(result);
+			IIndexBinding[] bindings= flatten(result);
+			putCachedResult(query, bindings, monitor);
+			return bindings;
 		}
 	}
 
@@ -641,6 +812,10 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(name, filescope, filter, monitor);
 		} else {
+			NameQuery query= createNameQuery(new char[][] { name }, false, filescope, filter);
+			IIndexBinding[] cached= getCachedResult(query);
+			if (cached != null)
+				return cached;
 			List<IIndexBinding[]> result = new ArrayList<>();
 			ILinkage[] linkages = Linkage.getIndexerLinkages();
 			for (ILinkage linkage : linkages) {
@@ -661,7 +836,9 @@ public class CIndex implements IIndex {
 					result.add(factory.getCompositeBindings(fragmentBindings));
 				}
 			}
-			return flatten(result);
+			IIndexBinding[] bindings= flatten(result);
+			putCachedResult(query, bindings, monitor);
+			return bindings;
 		}
 	}
 
@@ -736,6 +913,64 @@ public class CIndex implements IIndex {
 		for (IIndexFragment frag : fFragments) {
 			frag.clearResultCache();
 		}
+		clearCompositeCaches();
+	}
+
+	/**
+	 * Discards the merged results of name queries and the cached composite bindings.
+	 */
+	protected void clearCompositeCaches() {
+		synchronized (fNameQueryCache) {
+			fNameQueryCache.clear();
+		}
+		for (ICompositesFactory factory : new ICompositesFactory[] { cppCF, cCF, fCF }) {
+			if (factory instanceof AbstractCompositeFactory) {
+				((AbstractCompositeFactory) factory).clearCache();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether results merged from multiple fragments may be cached. This is not
+	 * the case while the index is being modified.
+	 */
+	public boolean isCachingCompositeResults() {
+		return true;
+	}
+
+	private NameQuery createNameQuery(char[][] names, boolean isPrefix, boolean fileScope,
+			IndexFilter filter) {
+		if (!isCachingCompositeResults())
+			return null;
+		for (IndexFilter cacheable : CACHEABLE_FILTERS) {
+			if (filter == cacheable) {
+				char[][] key= new char[names.length][];
+				for (int i = 0; i < names.length; i++) {
+					key[i]= names[i].clone();
+				}
+				return new NameQuery(key, isPrefix, fileScope, filter);
+			}
+		}
+		return null;
+	}
+
+	private IIndexBinding[] getCachedResult(NameQuery query) {
+		if (query == null)
+			return null;
+		IIndexBinding[] result;
+		synchronized (fNameQueryCache) {
+			result= fNameQueryCache.get(query);
+		}
+		return result == null ? null : result.clone();
+	}
+
+	private void putCachedResult(NameQuery query, IIndexBinding[] result, IProgressMonitor monitor) {
+		// Results of canceled queries may be incomplete.
+		if (query != null && (monitor == null || !monitor.isCanceled())) {
+			synchronized (fNameQueryCache) {
+				fNameQueryCache.put(query, result.clone());
+			}
+		}
 	}
 
 	@Override
@@ -160,6 +160,18 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file) throws CoreException;
 
+	/**
+	 * Returns the include directives that point to the given file, directly or via files
+	 * including it, up to the given depth. Only the include relations between the files
+	 * of this fragment are followed. For each including file only the first directive found
+	 * is returned.
+	 * @param file a file to search for includes pointing to it
+	 * @param depth the number of additional levels to search, or {@link IIndex#DEPTH_INFINITE}
+	 * @return an array of include directives managed by this fragment
+	 * @throws CoreException
+	 */
+	IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file, int depth) throws CoreException;
+
 	/**
 	 * Looks for a binding matching the given one. May return <code>null</code>, if no
 	 * such binding exists. The binding may belong to an AST or another index fragment.
@@ -228,6 +240,35 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Searches for the bindings with a definition referencing the given function, variable or
+	 * enumerator.
+	 * @param callee the referenced binding
+	 * @param polymorphicOnly if <code>true</code> only the callers that may call the given method
+	 *     polymorphically are returned
+	 * @return an array of the calling bindings
+	 * @throws CoreException
+	 */
+	IIndexFragmentBinding[] findCallers(IBinding callee, boolean polymorphicOnly) throws CoreException;
+
+	/**
+	 * Searches for the functions, variables and enumerators referenced from within
+	 * the definitions of the given binding.
+	 * @param caller the binding the definitions of which are searched for references
+	 * @return an array of the referenced bindings
+	 * @throws CoreException
+	 */
+	IIndexFragmentBinding[] findCallees(IBinding caller) throws CoreException;
+
+	/**
+	 * Searches for the types with a base specifier naming the given type, and for the typedefs
+	 * defined for it within other declarations.
+	 * @param type the base type
+	 * @return an array of the direct subtypes
+	 * @throws CoreException
+	 */
+	IIndexFragmentBinding[] findSubtypes(IBinding type) throws CoreException;
+
 	/**
 	 * Acquires a read lock.
 	 * @throws InterruptedException
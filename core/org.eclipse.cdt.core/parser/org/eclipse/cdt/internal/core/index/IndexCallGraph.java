@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Queries on the call graph stored in the index. In addition to the direct callers and
+ * callees of a binding, supports expanding many bindings at once and transitive queries
+ * with a bounded depth. None of the queries visits the names of the index.
+ * <p>
+ * The index has to be read-locked while the queries are performed.
+ */
+public final class IndexCallGraph {
+	/** Depth for transitive queries that are not bounded. */
+	public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+	private final CIndex fIndex;
+
+	/**
+	 * Creates an object for querying the call graph of the given index. For indexes not
+	 * backed by fragments, e.g. the empty index, all queries return empty results.
+	 */
+	public IndexCallGraph(IIndex index) {
+		fIndex= index instanceof CIndex ? (CIndex) index : null;
+	}
+
+	/**
+	 * Returns the bindings with a definition referencing the given binding.
+	 * @param polymorphicOnly if <code>true</code> only the callers that may call the given method
+	 *     polymorphically are returned
+	 */
+	public IIndexBinding[] getCallers(IBinding callee, boolean polymorphicOnly) throws CoreException {
+		if (fIndex == null)
+			return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
+		return fIndex.findCallers(callee, polymorphicOnly);
+	}
+
+	/**
+	 * Returns the functions, variables and enumerators referenced from within the definitions
+	 * of the given binding.
+	 */
+	public IIndexBinding[] getCallees(IBinding caller) throws CoreException {
+		if (fIndex == null)
+			return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
+		return fIndex.findCallees(caller);
+	}
+
+	/**
+	 * Returns the callees for each of the given bindings, in the order of the bindings.
+	 */
+	public IIndexBinding[][] getCallees(IBinding[] callers) throws CoreException {
+		IIndexBinding[][] result= new IIndexBinding[callers.length][];
+		for (int i = 0; i < callers.length; i++) {
+			result[i]= getCallees(callers[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the callers for each of the given bindings, in the order of the bindings.
+	 */
+	public IIndexBinding[][] getCallers(IBinding[] callees) throws CoreException {
+		IIndexBinding[][] result= new IIndexBinding[callees.length][];
+		for (int i = 0; i < callees.length; i++) {
+			result[i]= getCallers(callees[i], false);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the bindings reachable from the given one by following the call graph for at most
+	 * the given number of steps, in the order of their distance. The given binding is part of
+	 * the result only if it is recursive.
+	 * @param start the binding to start from
+	 * @param towardsCallers whether to follow the edges to the callers rather than to the callees
+	 * @param maxDepth the maximum number of steps, or {@link #UNLIMITED_DEPTH}
+	 * @param monitor a monitor for cancellation, may be <code>null</code>
+	 */
+	public IIndexBinding[] getReachable(IBinding start, boolean towardsCallers, int maxDepth,
+			IProgressMonitor monitor) throws CoreException {
+		List<IIndexBinding> result= new ArrayList<>();
+		Set<IBinding> visited= new HashSet<>();
+		List<IBinding> level= new ArrayList<>();
+		level.add(start);
+		for (int depth= 0; depth < maxDepth && !level.isEmpty(); depth++) {
+			List<IBinding> next= new ArrayList<>();
+			for (IBinding binding : level) {
+				checkCanceled(monitor);
+				IIndexBinding[] neighbors= towardsCallers ? getCallers(binding, false) : getCallees(binding);
+				for (IIndexBinding neighbor : neighbors) {
+					if (visited.add(neighbor)) {
+						result.add(neighbor);
+						next.add(neighbor);
+					}
+				}
+			}
+			level= next;
+		}
+		return result.toArray(new IIndexBinding[result.size()]);
+	}
+
+	/**
+	 * Returns whether the target binding is referenced from the source binding, directly or
+	 * through a chain of at most the given number of calls.
+	 * @param monitor a monitor for cancellation, may be <code>null</code>
+	 */
+	public boolean isReachable(IBinding source, IBinding target, int maxDepth, IProgressMonitor monitor)
+			throws CoreException {
+		IIndexBinding targetBinding= fIndex != null ? fIndex.adaptBinding(target) : null;
+		if (targetBinding == null)
+			return false;
+		Set<IBinding> visited= new HashSet<>();
+		List<IBinding> level= new ArrayList<>();
+		level.add(source);
+		for (int depth= 0; depth < maxDepth && !level.isEmpty(); depth++) {
+			List<IBinding> next= new ArrayList<>();
+			for (IBinding binding : level) {
+				checkCanceled(monitor);
+				for (IIndexBinding callee : getCallees(binding)) {
+					if (callee.equals(targetBinding))
+						return true;
+					if (visited.add(callee))
+						next.add(callee);
+				}
+			}
+			level= next;
+		}
+		return false;
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor != null && monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+}
@@ -136,6 +136,9 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		int establishReadlockCount = getReadLockCount();
 		if (establishReadlockCount == 0) {
 			clearResultCache();
+		} else {
+			// Results merged from the fragments may have changed, even if the read lock is kept.
+			clearCompositeCaches();
 		}
 
 		fIsWriteLocked= false;
@@ -154,6 +157,11 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		}
 	}
 
+	@Override
+	public boolean isCachingCompositeResults() {
+		return !fIsWriteLocked;
+	}
+
 	@Override
 	public void clearResultCache() {
 		assert fIsWriteLocked: "Need to hold a write lock to clear result caches"; //$NON-NLS-1$
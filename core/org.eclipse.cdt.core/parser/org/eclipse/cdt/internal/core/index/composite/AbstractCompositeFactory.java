@@ -12,7 +12,9 @@
 package org.eclipse.cdt.internal.core.index.composite;
 
 import java.util.Comparator;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IBinding;
@@ -24,6 +26,7 @@ import org.eclipse.cdt.internal.core.index.DefaultFragmentBindingComparator;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBindingComparator;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFragmentBindingComparator;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -32,6 +35,8 @@ import org.eclipse.core.runtime.CoreException;
 public abstract class AbstractCompositeFactory implements ICompositesFactory {	
 	protected IIndex index;
 	private final Comparator<IIndexFragmentBinding> fragmentComparator;
+	/** Composite bindings by the fragment bindings they were created for. */
+	private final Map<IIndexFragmentBinding, IIndexBinding> compositeBindings= new ConcurrentHashMap<>();
 	
 	public AbstractCompositeFactory(IIndex index) {
 		this.index= index;
@@ -69,6 +74,39 @@ public abstract class AbstractCompositeFactory implements ICompositesFactory {
 		return getCompositeBindings(mergeBindingArrays(fragmentBindings));
 	}
 
+	/**
+	 * Returns the composite binding for the given fragment binding. Composite bindings for
+	 * bindings stored in the database are reused, as long as the index is not modified.
+	 * @see ICompositesFactory#getCompositeBinding(IIndexFragmentBinding)
+	 */
+	@Override
+	public final IIndexBinding getCompositeBinding(IIndexFragmentBinding binding) {
+		if (!(binding instanceof PDOMNode) || !((CIndex) index).isCachingCompositeResults())
+			return createCompositeBinding(binding);
+
+		IIndexBinding result= compositeBindings.get(binding);
+		if (result == null) {
+			result= createCompositeBinding(binding);
+			if (result != null) {
+				compositeBindings.put(binding, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new composite binding for the given fragment binding.
+	 */
+	protected abstract IIndexBinding createCompositeBinding(IIndexFragmentBinding binding);
+
+	/**
+	 * Discards the cached composite bindings, needs to be called whenever one of the fragments
+	 * of the index is modified.
+	 */
+	public void clearCache() {
+		compositeBindings.clear();
+	}
+
 	private final IIndexBinding[] getCompositeBindings(IIndexFragmentBinding[] bindings) {
 		IIndexBinding[] result = new IIndexBinding[bindings.length];
 		for (int i = 0; i < result.length; i++)
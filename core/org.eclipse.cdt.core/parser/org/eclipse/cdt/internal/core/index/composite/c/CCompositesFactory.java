@@ -130,11 +130,8 @@ public class CCompositesFactory extends AbstractCompositeFactory {
 		return v;
 	}
 
-	/* 
-	 * @see org.eclipse.cdt.internal.core.index.composite.cpp.ICompositesFactory#getCompositeBinding(org.eclipse.cdt.core.index.IIndex, org.eclipse.cdt.core.dom.ast.IBinding)
-	 */
 	@Override
-	public IIndexBinding getCompositeBinding(IIndexFragmentBinding rbinding) {
+	protected IIndexBinding createCompositeBinding(IIndexFragmentBinding rbinding) {
 		IIndexBinding result;
 		
 		if (rbinding == null) {
@@ -529,7 +529,7 @@ public class CPPCompositesFactory extends AbstractCompositeFactory {
 	}
 	
 	@Override
-	public IIndexBinding getCompositeBinding(IIndexFragmentBinding binding) {
+	protected IIndexBinding createCompositeBinding(IIndexFragmentBinding binding) {
 		IIndexBinding result;
 
 		try {
@@ -34,15 +34,19 @@ public class CompositeInstanceCache {
 			return (CompositeInstanceCache) cache;
 		}
 		
-		CompositeInstanceCache newCache= new CompositeInstanceCache();
-		newCache.populate(cf, fb);
+		CompositeInstanceCache newCache= new CompositeInstanceCache(cf, fb);
 		return (CompositeInstanceCache) frag.putCachedResult(key, newCache, false);
 	}
 	
+	private final ICompositesFactory fCompositesFactory;
+	private final IIndexFragmentBinding fFragmentBinding;
 	private final HashMap<String, ICPPTemplateInstance> fMap;
 	private ICPPDeferredClassInstance fDeferredInstance;
+	private boolean fPopulated;
 
-	public CompositeInstanceCache() {
+	public CompositeInstanceCache(ICompositesFactory cf, IIndexFragmentBinding fb) {
+		fCompositesFactory= cf;
+		fFragmentBinding= fb;
 		fMap= new HashMap<String, ICPPTemplateInstance>();
 	}
 	
@@ -59,7 +63,16 @@ public class CompositeInstanceCache {
 	synchronized public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
 		try {
 			String key= IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
-			return fMap.get(key);
+			ICPPTemplateInstance result= fMap.get(key);
+			if (result == null && !fPopulated && fFragmentBinding instanceof ICPPInstanceCache) {
+				// Look up the single instance rather than loading all instances of the template.
+				ICPPTemplateInstance ti= ((ICPPInstanceCache) fFragmentBinding).getInstance(arguments);
+				if (ti instanceof IIndexFragmentBinding) {
+					result= (ICPPTemplateInstance) fCompositesFactory.getCompositeBinding((IIndexFragmentBinding) ti);
+					fMap.put(key, result);
+				}
+			}
+			return result;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -67,20 +80,33 @@ public class CompositeInstanceCache {
 		return null;
 	}
 	
-	private void populate(ICompositesFactory cf, IIndexFragmentBinding fb) {
-		if (fb instanceof ICPPInstanceCache) {
-			ICPPTemplateInstance[] insts= ((ICPPInstanceCache) fb).getAllInstances();
+	private void populate() {
+		fPopulated= true;
+		if (fFragmentBinding instanceof ICPPInstanceCache) {
+			ICPPTemplateInstance[] insts= ((ICPPInstanceCache) fFragmentBinding).getAllInstances();
 			for (ICPPTemplateInstance ti : insts) {
 				if (ti instanceof IIndexFragmentBinding) {
-					ICPPTemplateInstance comp= (ICPPTemplateInstance) cf.getCompositeBinding((IIndexFragmentBinding) ti);
+					ICPPTemplateInstance comp= (ICPPTemplateInstance) fCompositesFactory.getCompositeBinding((IIndexFragmentBinding) ti);
 					ICPPTemplateArgument[] args= comp.getTemplateArguments();
-					addInstance(args, comp);
+					try {
+						String key= IndexCPPSignatureUtil.getTemplateArgString(args, true);
+						// Instances added in memory take precedence.
+						if (!fMap.containsKey(key)) {
+							fMap.put(key, comp);
+						}
+					} catch (CoreException e) {
+						CCorePlugin.log(e);
+					} catch (DOMException e) {
+					}
 				}
 			}
 		}
 	}
 
 	synchronized public ICPPTemplateInstance[] getAllInstances() {
+		if (!fPopulated) {
+			populate();
+		}
 		return fMap.values().toArray(new ICPPTemplateInstance[fMap.size()]);
 	}
 
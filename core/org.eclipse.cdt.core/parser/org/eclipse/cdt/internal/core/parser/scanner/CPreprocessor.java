@@ -297,6 +297,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
         if (info instanceof ExtendedScannerInfo)
         	fLexOptions.fIncludeExportPatterns = ((ExtendedScannerInfo) info).getIncludeExportPatterns();
         fLocationMap= new LocationMap(fLexOptions);
+        fLocationMap.setLightweightMode(fFileContentProvider.isLightweightLocationTracking());
         fKeywords= new CharArrayIntMap(40, -1);
         fPPKeywords= new CharArrayIntMap(40, -1);
         configureKeywords(language, configuration);
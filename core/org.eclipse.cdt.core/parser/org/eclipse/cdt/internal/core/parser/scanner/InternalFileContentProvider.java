@@ -49,6 +49,7 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	}
 
 	private IIncludeFileResolutionHeuristics fIncludeResolutionHeuristics;
+	private boolean fLightweightLocationTracking;
     private final Map<String, IFileNomination> fPragmaOnce= new HashMap<>();
     private final Map<String, List<ISignificantMacros>> fLoadedVersions= new HashMap<>();
 
@@ -131,6 +132,18 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 		fIncludeResolutionHeuristics= heuristics;
 	}
 
+	/**
+	 * Returns whether the preprocessor shall record only the preprocessor nodes that are needed
+	 * for indexing.
+	 */
+	public final boolean isLightweightLocationTracking() {
+		return fLightweightLocationTracking;
+	}
+
+	public final void setLightweightLocationTracking(boolean val) {
+		fLightweightLocationTracking= val;
+	}
+
 	public List<ISignificantMacros> getLoadedVersions(String path) {
 		List<ISignificantMacros> result = fLoadedVersions.get(path);
 		return result == null ? Collections.<ISignificantMacros>emptyList() : result;
@@ -63,6 +63,7 @@ public class LocationMap implements ILocationResolver {
     private LocationCtxFile fRootContext;
     private LocationCtx fCurrentContext;
 	private int fLastChildInsertionOffset;
+	private boolean fLightweightMode;
 
 	// Stuff computed on demand
 	private IdentityHashMap<IBinding, IASTPreprocessorMacroDefinition> fMacroDefinitionMap;
@@ -79,6 +80,19 @@ public class LocationMap implements ILocationResolver {
 		return fLexerOptions;
 	}
 
+	/**
+	 * In lightweight mode only the preprocessor nodes needed for indexing are retained. Conditionals,
+	 * pragmas, #error directives and inactive macro definitions are not added to the list of
+	 * preprocessor statements, macro references found in conditionals are still recorded.
+	 */
+	public void setLightweightMode(boolean val) {
+		fLightweightMode= val;
+	}
+
+	public boolean isLightweightMode() {
+		return fLightweightMode;
+	}
+
 	public void registerPredefinedMacro(IMacroBinding macro) {
 		registerPredefinedMacro(macro, null, -1);
 	}
@@ -210,6 +224,15 @@ public class LocationMap implements ILocationResolver {
 		return fCurrentContext;
 	}
 	
+	/**
+	 * Adds a directive that is not needed for indexing. The directive is dropped in lightweight mode.
+	 */
+	private void addOptionalDirective(ASTPreprocessorNode directive) {
+		if (!fLightweightMode) {
+			fDirectives.add(directive);
+		}
+	}
+
 	private void addMacroReference(ASTPreprocessorName name) {
 		if (name != null) {
 			fMacroReferences.add(name);
@@ -319,7 +342,7 @@ public class LocationMap implements ILocationResolver {
 		startOffset= getSequenceNumberForOffset(startOffset);
 		endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTElse astElse = new ASTElse(fTranslationUnit, startOffset, endOffset, isActive);
-		fDirectives.add(astElse);
+		addOptionalDirective(astElse);
 		return astElse;
 	}
 
@@ -330,7 +353,7 @@ public class LocationMap implements ILocationResolver {
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTElif elif = new ASTElif(fTranslationUnit, startOffset, condOffset, condEndOffset, taken);
-		fDirectives.add(elif);
+		addOptionalDirective(elif);
 		
 		for (IASTName element : macrosInDefinedExpression) {
 			ASTMacroReferenceName name = (ASTMacroReferenceName) element;
@@ -345,7 +368,7 @@ public class LocationMap implements ILocationResolver {
 		startOffset= getSequenceNumberForOffset(startOffset);
 		endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTEndif stmt = new ASTEndif(fTranslationUnit, startOffset, endOffset);
-		fDirectives.add(stmt);
+		addOptionalDirective(stmt);
 		return stmt;
 	}
 
@@ -354,7 +377,7 @@ public class LocationMap implements ILocationResolver {
 		condOffset= getSequenceNumberForOffset(condOffset);
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// not using endOffset, compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
-		fDirectives.add(new ASTError(fTranslationUnit, startOffset, condOffset, condEndOffset));
+		addOptionalDirective(new ASTError(fTranslationUnit, startOffset, condOffset, condEndOffset));
 	}
 
 	public void encounterPoundPragma(int startOffset, int condOffset, int condEndOffset, int endOffset) {
@@ -362,11 +385,11 @@ public class LocationMap implements ILocationResolver {
 		condOffset= getSequenceNumberForOffset(condOffset);
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// not using endOffset, compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
-		fDirectives.add(new ASTPragma(fTranslationUnit, startOffset, condOffset, condEndOffset));
+		addOptionalDirective(new ASTPragma(fTranslationUnit, startOffset, condOffset, condEndOffset));
 	}
 
 	public void encounterPragmaOperator(int startNumber, int condNumber, int condEndNumber, int endNumber) {
-		fDirectives.add(new ASTPragmaOperator(fTranslationUnit, startNumber, condNumber, condEndNumber, endNumber));
+		addOptionalDirective(new ASTPragmaOperator(fTranslationUnit, startNumber, condNumber, condEndNumber, endNumber));
 	}
 
 	public ASTIfdef encounterPoundIfdef(int startOffset, int condOffset, int condEndOffset,
@@ -376,7 +399,7 @@ public class LocationMap implements ILocationResolver {
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// not using endOffset, compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTIfdef ifdef = new ASTIfdef(fTranslationUnit, startOffset, condOffset, condEndOffset, taken, macro);
-		fDirectives.add(ifdef);
+		addOptionalDirective(ifdef);
 		addMacroReference(ifdef.getMacroReference());
 		return ifdef;
 	}
@@ -388,7 +411,7 @@ public class LocationMap implements ILocationResolver {
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// not using endOffset, compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTIfndef ifndef = new ASTIfndef(fTranslationUnit, startOffset, condOffset, condEndOffset, taken, macro);
-		fDirectives.add(ifndef);
+		addOptionalDirective(ifndef);
 		addMacroReference(ifndef.getMacroReference());
 		return ifndef;
 	}
@@ -400,7 +423,7 @@ public class LocationMap implements ILocationResolver {
 		condEndOffset= getSequenceNumberForOffset(condEndOffset);
 		// not using endOffset, compatible with 4.0: endOffset= getSequenceNumberForOffset(endOffset);
 		final ASTIf astif = new ASTIf(fTranslationUnit, startOffset, condOffset, condEndOffset, taken);
-		fDirectives.add(astif);
+		addOptionalDirective(astif);
 		for (IASTName element : macrosInDefinedExpression) {
 			ASTMacroReferenceName name = (ASTMacroReferenceName) element;
 			name.setParent(astif);
@@ -412,6 +435,9 @@ public class LocationMap implements ILocationResolver {
 	
 	public void encounterPoundDefine(int startOffset, int nameOffset, int nameEndOffset,
 			int expansionOffset, int endOffset, boolean isActive, IMacroBinding macrodef) {
+		if (!isActive && fLightweightMode) {
+			return;
+		}
 		startOffset= getSequenceNumberForOffset(startOffset);	
 		nameOffset= getSequenceNumberForOffset(nameOffset);		
 		nameEndOffset= getSequenceNumberForOffset(nameEndOffset);
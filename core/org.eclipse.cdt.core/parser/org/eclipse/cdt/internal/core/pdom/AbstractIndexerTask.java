@@ -322,6 +322,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private final boolean fIsFastIndexer;
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
+	private long fFunctionBodiesSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError= 5;
 	/**
@@ -372,6 +373,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fIncludedFileSizeLimit= includedFileSizeLimit;
 	}
 
+	/**
+	 * Translation units larger than the given size, but within the translation unit size limit,
+	 * are indexed without function bodies. A value of 0 keeps the function bodies of all files.
+	 */
+	public final void setFunctionBodiesSizeLimit(long functionBodiesSizeLimit) {
+		fFunctionBodiesSizeLimit= functionBodiesSizeLimit;
+	}
+
 	public void setIndexAllHeaderVersions(boolean indexAllHeaderVersions) {
 		fIndexAllHeaderVersions = indexAllHeaderVersions;
 	}
@@ -1088,6 +1097,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
+				fStatistics.fBacktrackCount += ((ASTTranslationUnit) ast).getBacktrackCount();
+				fStatistics.fMemoHitCount += ((ASTTranslationUnit) ast).getMemoHitCount();
 				// Give the new AST a chance to recognize its translation unit before it is written
 				// to the index.
 				((ASTTranslationUnit) ast).setOriginatingTranslationUnit((ITranslationUnit) tu);
@@ -1199,11 +1210,20 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		if (isSource) {
 			options |= ILanguage.OPTION_IS_SOURCE_UNIT;
 		}
-		if (fTranslationUnitSizeLimit > 0 && fResolver.getFileSize(codeReader.getFileLocation()) > fTranslationUnitSizeLimit) {
-			if (fShowActivity) {
-				trace("Indexer: Skipping large file " + codeReader.getFileLocation());  //$NON-NLS-1$
+		if (fTranslationUnitSizeLimit > 0 || fFunctionBodiesSizeLimit > 0) {
+			long fileSize= fResolver.getFileSize(codeReader.getFileLocation());
+			if (fTranslationUnitSizeLimit > 0 && fileSize > fTranslationUnitSizeLimit) {
+				if (fShowActivity) {
+					trace("Indexer: Skipping large file " + codeReader.getFileLocation());  //$NON-NLS-1$
+				}
+				return null;
+			}
+			if (fFunctionBodiesSizeLimit > 0 && fileSize > fFunctionBodiesSizeLimit) {
+				if (fShowActivity) {
+					trace("Indexer: Skipping function bodies of large file " + codeReader.getFileLocation());  //$NON-NLS-1$
+				}
+				options |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
 			}
-			return null;
 		}
 		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] {ctx.fContext, ctx.fOldFile};
 		if (fCodeReaderFactory == null) {
@@ -1220,6 +1240,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				fCodeReaderFactory= fileContentProvider;
 			}
 			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+			fCodeReaderFactory.setLightweightLocationTracking(true);
 		} else if (fIsFastIndexer) {
 			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -83,6 +84,7 @@ import org.eclipse.cdt.internal.core.pdom.dom.MacroContainerPatternCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMIncludeGraph;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroContainer;
@@ -260,10 +262,18 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *  
 	 *  CDT 8.7 development (versions not supported on the 8.6.x branch)
 	 *  181.0 - C function type with varargs, bug 452416.
+	 *  182.0 - Persistent index of class template instances.
+	 *  183.0 - Shared subtrees in serialized types.
+	 *  184.0 - Persistent index of class members.
+	 *  185.0 - Index of bindings by the hash code of their name.
+	 *  186.0 - Index of bindings by the trigrams of their name.
+	 *  187.0 - Call graph of references from within definitions.
+	 *  188.0 - Index of subtypes by their base types.
+	 *  189.0 - Call graph includes declarations from within definitions.
 	 */
-	private static final int MIN_SUPPORTED_VERSION= version(181, 0);
-	private static final int MAX_SUPPORTED_VERSION= version(181, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(181, 0);
+	private static final int MIN_SUPPORTED_VERSION= version(189, 0);
+	private static final int MAX_SUPPORTED_VERSION= version(189, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(189, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -369,7 +379,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private File fPath;
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
-	private final HashMap<Object, Object> fResultCache= new HashMap<>();
+	private final PDOMResultCache fResultCache= new PDOMResultCache();
+	/** Include relations of the committed files, valid until the next write. */
+	private volatile PDOMIncludeGraph fIncludeGraph;
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent= new ChangeEvent();
 
@@ -763,6 +775,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 			}
 		}
 
+		if (patterns.length == 1 && !isFullyQualified) {
+			IIndexFragmentBinding[] result= findBindingsViaTrigrams(patterns[0], filter, monitor);
+			if (result != null)
+				return result;
+		}
+
 		BindingFinder finder = new BindingFinder(patterns, isFullyQualified, filter, monitor);
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
@@ -778,6 +796,30 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return finder.getBindings();
 	}
 
+	/**
+	 * Searches for the bindings with a name matching the pattern via the trigram indexes of the
+	 * linkages. Returns {@code null} if the pattern does not allow for narrowing the search.
+	 */
+	private IIndexFragmentBinding[] findBindingsViaTrigrams(Pattern pattern, IndexFilter filter,
+			IProgressMonitor monitor) throws CoreException {
+		ArrayList<IIndexFragmentBinding> result= new ArrayList<>();
+		try {
+			for (PDOMLinkage linkage : getLinkageList()) {
+				if (filter.acceptLinkage(linkage)) {
+					PDOMBinding[] bindings= linkage.findBindings(pattern, filter, monitor);
+					if (bindings == null)
+						return null;
+					for (PDOMBinding binding : bindings) {
+						result.add(binding);
+					}
+				}
+			}
+		} catch (OperationCanceledException e) {
+			return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
 	private Boolean getCaseSensitive(Pattern[] patterns) {
 		Boolean caseSensitive= null;
 		for (Pattern p : patterns) {
@@ -1057,6 +1099,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		if (establishReadLocks == 0) {
 			clearResultCache();
 		}
+		fIncludeGraph= null;
 		try {
 			db.giveUpExclusiveLock(flush);
 		} catch (CoreException e) {
@@ -1187,6 +1230,42 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return names.toArray(new IIndexFragmentName[names.size()]);
 	}
 
+	@Override
+	public IIndexFragmentBinding[] findCallers(IBinding callee, boolean polymorphicOnly) throws CoreException {
+		IIndexFragmentBinding myBinding= adaptBinding(callee);
+		if (myBinding instanceof PDOMBinding) {
+			PDOMBinding pdomBinding= (PDOMBinding) myBinding;
+			PDOMBinding[] callers= pdomBinding.getLinkage().getCallGraph().getCallers(pdomBinding, polymorphicOnly);
+			// Like the references, the callers are searched across language boundaries.
+			for (PDOMBinding xlangBinding : getCrossLanguageBindings(callee)) {
+				callers= ArrayUtil.addAll(callers,
+						xlangBinding.getLinkage().getCallGraph().getCallers(xlangBinding, polymorphicOnly));
+			}
+			return callers;
+		}
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findCallees(IBinding caller) throws CoreException {
+		IIndexFragmentBinding myBinding= adaptBinding(caller);
+		if (myBinding instanceof PDOMBinding) {
+			PDOMBinding pdomBinding= (PDOMBinding) myBinding;
+			return pdomBinding.getLinkage().getCallGraph().getCallees(pdomBinding);
+		}
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findSubtypes(IBinding type) throws CoreException {
+		IIndexFragmentBinding myBinding= adaptBinding(type);
+		if (myBinding instanceof PDOMBinding) {
+			PDOMBinding pdomBinding= (PDOMBinding) myBinding;
+			return pdomBinding.getLinkage().getTypeHierarchy().getSubtypes(pdomBinding);
+		}
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
 			throws CoreException {
 		PDOMName name;
@@ -1265,6 +1344,59 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return new PDOMInclude[0];
 	}
 
+	@Override
+	public IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file, int depth) throws CoreException {
+		PDOMFile pdomFile= adaptFile(file);
+		if (pdomFile == null)
+			return new PDOMInclude[0];
+
+		PDOMIncludeGraph graph= getIncludeGraph();
+		if (graph != null)
+			return graph.findIncludedBy(pdomFile, depth);
+
+		// While the database is being written to, the include relations are followed in the
+		// database, like the include graph does it.
+		List<PDOMInclude> result= new ArrayList<>();
+		Set<Long> handled= new HashSet<>();
+		List<PDOMFile> level= Collections.singletonList(pdomFile);
+		while (!level.isEmpty()) {
+			List<PDOMFile> nextLevel= new ArrayList<>();
+			for (PDOMFile target : level) {
+				for (PDOMInclude i= target.getFirstIncludedBy(); i != null; i= i.getNextInIncludedBy()) {
+					PDOMFile includer= (PDOMFile) i.getIncludedBy();
+					if (includer.getTimestamp() > 0 && handled.add(includer.getRecord())) {
+						result.add(i);
+						nextLevel.add(includer);
+					}
+				}
+			}
+			if (depth == 0)
+				break;
+			if (depth > 0)
+				depth--;
+			level= nextLevel;
+		}
+		return result.toArray(new PDOMInclude[result.size()]);
+	}
+
+	/**
+	 * Returns the include relations of the committed files, or <code>null</code> while the
+	 * database is being written to. The graph is computed once and reused until the database
+	 * is modified.
+	 */
+	public PDOMIncludeGraph getIncludeGraph() throws CoreException {
+		synchronized (mutex) {
+			if (lockCount < 0)
+				return null;
+		}
+		PDOMIncludeGraph graph= fIncludeGraph;
+		if (graph == null) {
+			graph= PDOMIncludeGraph.create(this);
+			fIncludeGraph= graph;
+		}
+		return graph;
+	}
+
 	private PDOMFile adaptFile(IIndexFragmentFile file) throws CoreException {
 		if (file.getIndexFragment() == this && file instanceof PDOMFile) {
 			return (PDOMFile) file;
@@ -1329,6 +1461,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 		try {
 			for (PDOMLinkage linkage : getLinkageList()) {
 				if (filter.acceptLinkage(linkage)) {
+					if (isCaseSensitive && !filescope) {
+						// The hash index covers the top-level and the nested bindings.
+						PDOMBinding[] bindings= linkage.findBindingsByName(name, filter, monitor);
+						for (PDOMBinding binding : bindings) {
+							result.add(binding);
+						}
+						continue;
+					}
 					if (isCaseSensitive) {
 						PDOMBinding[] bindings= linkage.getBindingsViaCache(name, monitor);
 						for (PDOMBinding binding : bindings) {
@@ -1429,16 +1569,27 @@ public class PDOM extends PlatformObject implements IPDOM {
 		indexOfDefectiveFiles= null;
 		indexOfFiledWithUnresolvedIncludes= null;
 		fLinkageIDCache.clear();
-		clearResultCache();
+		fResultCache.clear();
+		fIncludeGraph= null;
 	}
 
+	/**
+	 * Clears the results that may depend on an AST or on the content of the database. Results
+	 * that are kept up to date when the database is modified are retained.
+	 */
 	@Override
 	public void clearResultCache() {
-		synchronized (fResultCache) {
-			fResultCache.clear();
+		for (PDOMResultCache.Kind kind : PDOMResultCache.Kind.values()) {
+			if (!kind.isMaintainedOnWrite()) {
+				fResultCache.clear(kind);
+			}
 		}
 	}
 
+	public PDOMResultCache getResultCache() {
+		return fResultCache;
+	}
+
 	@Override
 	public long getCacheHits() {
 		return db.getCacheHits();
@@ -1460,9 +1611,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object getCachedResult(Object key) {
-		synchronized (fResultCache) {
-			return fResultCache.get(key);
-		}
+		return fResultCache.get(key);
 	}
 
 	public void putCachedResult(Object key, Object result) {
@@ -1471,20 +1620,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object putCachedResult(Object key, Object result, boolean replace) {
-		synchronized (fResultCache) {
-			Object old= fResultCache.put(key, result);
-			if (old != null && !replace) {
-				fResultCache.put(key, old);
-				return old;
-			}
-			return result;
-		}
+		return fResultCache.put(key, result, replace);
 	}
 
 	public void removeCachedResult(Object key) {
-		synchronized (fResultCache) {
-			fResultCache.remove(key);
-		}
+		fResultCache.remove(key);
 	}
 
 	public String createKeyForCache(long record, char[] name) {
@@ -142,6 +142,15 @@ public class PDOMProxy implements IPDOM {
 		return new IIndexFragmentInclude[0];
 	}
 
+	@Override
+	public synchronized IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file, int depth)
+			throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findIncludedBy(file, depth);
+
+		return IIndexFragmentInclude.EMPTY_FRAGMENT_INCLUDES_ARRAY;
+	}
+
 	@Override
 	public synchronized IIndexFragmentName[] findNames(IBinding binding, int flags)
 			throws CoreException {
@@ -151,6 +160,31 @@ public class PDOMProxy implements IPDOM {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public synchronized IIndexFragmentBinding[] findCallers(IBinding callee, boolean polymorphicOnly)
+			throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findCallers(callee, polymorphicOnly);
+
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public synchronized IIndexFragmentBinding[] findCallees(IBinding caller) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findCallees(caller);
+
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
+	@Override
+	public synchronized IIndexFragmentBinding[] findSubtypes(IBinding type) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findSubtypes(type);
+
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public synchronized long getCacheHits() {
 		if (fDelegate != null)
@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+
+/**
+ * Thread-safe cache for results computed from the database of a {@link PDOM}.
+ * <p>
+ * Entries are classified by the {@link Kind} of their key. Each kind is stored separately, such
+ * that it can be invalidated on its own. Entries of the kinds that can be recomputed at any time
+ * are bounded in number and are evicted by a segmented LRU policy: a new entry is put on
+ * probation and is promoted to the protected segment when it is requested again. Thus a scan
+ * of the index, requesting many entries once, does not displace the entries that are used
+ * frequently. The bounded kinds are striped by the hash code of the key to reduce contention
+ * between threads. Entries of the remaining kinds carry the identity of the objects created
+ * from them, they are not evicted but discarded when the kind is cleared.
+ */
+public final class PDOMResultCache {
+	/**
+	 * The kinds of entries in the cache.
+	 */
+	public enum Kind {
+		/**
+		 * Maps from names to the members of a class or an enumeration. Members are added to the
+		 * maps on write, but members losing their declarations are not removed.
+		 */
+		MEMBERS(true, false),
+		/** Base classes of a class, kept up to date on write. */
+		BASES(true, true),
+		/** Instances of a template. */
+		INSTANCES(false, false),
+		/** Specialized members of a class specialization. */
+		INSTANCE_SCOPES(false, false),
+		/** Results of looking up a name in a scope, keys created by {@link PDOM#createKeyForCache}. */
+		NAMES(true, false),
+		/** Inline namespaces of a namespace. */
+		NAMESPACES(true, false),
+		/** Bindings from an AST adapted to the index, keyed by the binding from the AST. */
+		BINDINGS(true, false),
+		/** Results cached by clients of the index fragment, e.g. composite bindings. */
+		OTHER(false, false);
+
+		final boolean fBounded;
+		final boolean fMaintainedOnWrite;
+
+		private Kind(boolean bounded, boolean maintainedOnWrite) {
+			fBounded= bounded;
+			fMaintainedOnWrite= maintainedOnWrite;
+		}
+
+		/**
+		 * Returns whether entries of this kind are updated when the database is modified, such
+		 * that they remain valid across write operations.
+		 */
+		public boolean isMaintainedOnWrite() {
+			return fMaintainedOnWrite;
+		}
+	}
+
+	/**
+	 * Key for a result computed for the node with the given record.
+	 */
+	public static final class Key {
+		private final long fRecord;
+		private final Kind fKind;
+
+		public Key(long record, Kind kind) {
+			fRecord= record;
+			fKind= kind;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (int) (fRecord ^ (fRecord >>> 32)) + fKind.ordinal();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fRecord == other.fRecord && fKind == other.fKind;
+		}
+
+		@Override
+		public String toString() {
+			return fKind + "@" + fRecord; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A stripe of a bounded kind, consisting of a probationary and a protected segment.
+	 */
+	private static final class Segment {
+		private final int fProbationCapacity;
+		private final int fProtectedCapacity;
+		// Entries are evicted in insertion order from probation.
+		private final LinkedHashMap<Object, Object> fProbation= new LinkedHashMap<>();
+		// Entries are demoted in access order from the protected segment.
+		private final LinkedHashMap<Object, Object> fProtected= new LinkedHashMap<>(16, 0.75f, true);
+
+		Segment(int capacity) {
+			fProtectedCapacity= Math.max(1, capacity * PROTECTED_PERCENTAGE / 100);
+			fProbationCapacity= Math.max(1, capacity - fProtectedCapacity);
+		}
+
+		synchronized Object get(Object key) {
+			Object value= fProtected.get(key);
+			if (value == null) {
+				value= fProbation.remove(key);
+				if (value != null) {
+					promote(key, value);
+				}
+			}
+			return value;
+		}
+
+		/**
+		 * Stores the value and returns the number of evicted entries.
+		 */
+		synchronized int put(Object key, Object value) {
+			if (fProtected.containsKey(key)) {
+				fProtected.put(key, value);
+				return 0;
+			}
+			return addToProbation(key, value);
+		}
+
+		synchronized Object putIfAbsent(Object key, Object value) {
+			Object old= get(key);
+			if (old != null)
+				return old;
+			addToProbation(key, value);
+			return null;
+		}
+
+		synchronized void remove(Object key) {
+			if (fProtected.remove(key) == null) {
+				fProbation.remove(key);
+			}
+		}
+
+		synchronized void clear() {
+			fProtected.clear();
+			fProbation.clear();
+		}
+
+		private void promote(Object key, Object value) {
+			fProtected.put(key, value);
+			if (fProtected.size() > fProtectedCapacity) {
+				Iterator<Map.Entry<Object, Object>> it= fProtected.entrySet().iterator();
+				Map.Entry<Object, Object> eldest= it.next();
+				it.remove();
+				addToProbation(eldest.getKey(), eldest.getValue());
+			}
+		}
+
+		private int addToProbation(Object key, Object value) {
+			fProbation.put(key, value);
+			int evicted= 0;
+			Iterator<Object> it= fProbation.keySet().iterator();
+			while (fProbation.size() > fProbationCapacity) {
+				it.next();
+				it.remove();
+				evicted++;
+			}
+			return evicted;
+		}
+	}
+
+	/** Maximum number of entries per bounded kind. */
+	public static final int DEFAULT_CAPACITY= 16 * 1024;
+	private static final int SEGMENT_COUNT= 16;
+	private static final int PROTECTED_PERCENTAGE= 80;
+
+	private static final Kind[] KINDS= Kind.values();
+
+	private final Segment[][] fBounded= new Segment[KINDS.length][];
+	@SuppressWarnings("unchecked")
+	private final ConcurrentHashMap<Object, Object>[] fUnbounded= new ConcurrentHashMap[KINDS.length];
+	private final AtomicLongArray fHits= new AtomicLongArray(KINDS.length);
+	private final AtomicLongArray fMisses= new AtomicLongArray(KINDS.length);
+	private final AtomicLongArray fEvictions= new AtomicLongArray(KINDS.length);
+
+	public PDOMResultCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a cache holding at most about the given number of entries for each of the bounded
+	 * kinds.
+	 */
+	public PDOMResultCache(int capacity) {
+		int segmentCapacity= Math.max(2, capacity / SEGMENT_COUNT);
+		for (Kind kind : KINDS) {
+			if (kind.fBounded) {
+				Segment[] segments= new Segment[SEGMENT_COUNT];
+				for (int i = 0; i < segments.length; i++) {
+					segments[i]= new Segment(segmentCapacity);
+				}
+				fBounded[kind.ordinal()]= segments;
+			} else {
+				fUnbounded[kind.ordinal()]= new ConcurrentHashMap<>();
+			}
+		}
+	}
+
+	/**
+	 * Returns the kind of the entry stored for the given key.
+	 */
+	public static Kind kindOf(Object key) {
+		if (key instanceof Key)
+			return ((Key) key).fKind;
+		if (key instanceof String)
+			return Kind.NAMES;
+		if (key instanceof IBinding)
+			return Kind.BINDINGS;
+		return Kind.OTHER;
+	}
+
+	public Object get(Object key) {
+		Kind kind= kindOf(key);
+		Object result;
+		Segment[] segments= fBounded[kind.ordinal()];
+		if (segments != null) {
+			result= segment(segments, key).get(key);
+		} else {
+			result= fUnbounded[kind.ordinal()].get(key);
+		}
+		if (result == null) {
+			fMisses.incrementAndGet(kind.ordinal());
+		} else {
+			fHits.incrementAndGet(kind.ordinal());
+		}
+		return result;
+	}
+
+	/**
+	 * Stores a result with the given key, a value of {@code null} removes the entry.
+	 * @param replace if {@code false} an existing entry will not be replaced.
+	 * @return the value that is actually stored.
+	 */
+	public Object put(Object key, Object value, boolean replace) {
+		if (value == null) {
+			remove(key);
+			return null;
+		}
+		Kind kind= kindOf(key);
+		Segment[] segments= fBounded[kind.ordinal()];
+		Object old;
+		if (segments != null) {
+			Segment segment= segment(segments, key);
+			if (replace) {
+				int evicted= segment.put(key, value);
+				if (evicted > 0) {
+					fEvictions.addAndGet(kind.ordinal(), evicted);
+				}
+				return value;
+			}
+			old= segment.putIfAbsent(key, value);
+		} else if (replace) {
+			fUnbounded[kind.ordinal()].put(key, value);
+			return value;
+		} else {
+			old= fUnbounded[kind.ordinal()].putIfAbsent(key, value);
+		}
+		return old != null ? old : value;
+	}
+
+	public void remove(Object key) {
+		Kind kind= kindOf(key);
+		Segment[] segments= fBounded[kind.ordinal()];
+		if (segments != null) {
+			segment(segments, key).remove(key);
+		} else {
+			fUnbounded[kind.ordinal()].remove(key);
+		}
+	}
+
+	/**
+	 * Discards all entries of the given kind.
+	 */
+	public void clear(Kind kind) {
+		Segment[] segments= fBounded[kind.ordinal()];
+		if (segments != null) {
+			for (Segment segment : segments) {
+				segment.clear();
+			}
+		} else {
+			fUnbounded[kind.ordinal()].clear();
+		}
+	}
+
+	/**
+	 * Discards all entries.
+	 */
+	public void clear() {
+		for (Kind kind : KINDS) {
+			clear(kind);
+		}
+	}
+
+	public long getHits(Kind kind) {
+		return fHits.get(kind.ordinal());
+	}
+
+	public long getMisses(Kind kind) {
+		return fMisses.get(kind.ordinal());
+	}
+
+	public long getEvictions(Kind kind) {
+		return fEvictions.get(kind.ordinal());
+	}
+
+	public void resetCounters() {
+		for (int i = 0; i < KINDS.length; i++) {
+			fHits.set(i, 0);
+			fMisses.set(i, 0);
+			fEvictions.set(i, 0);
+		}
+	}
+
+	/**
+	 * Returns a description of the hits and misses for each kind, for debugging purposes.
+	 */
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		StringBuilder buf= new StringBuilder();
+		for (Kind kind : KINDS) {
+			if (buf.length() > 0)
+				buf.append(", ");
+			buf.append(kind.name().toLowerCase()).append(' ')
+					.append(getHits(kind)).append('/').append(getHits(kind) + getMisses(kind));
+			long evictions= getEvictions(kind);
+			if (evictions > 0)
+				buf.append(" (").append(evictions).append(" evicted)");
+		}
+		return buf.toString();
+	}
+
+	private static Segment segment(Segment[] segments, Object key) {
+		int h= key.hashCode();
+		h ^= h >>> 16;
+		return segments[h & (SEGMENT_COUNT - 1)];
+	}
+}
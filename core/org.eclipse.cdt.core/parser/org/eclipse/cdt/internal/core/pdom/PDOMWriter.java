@@ -59,7 +59,9 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.LookupCache;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
@@ -417,6 +419,11 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				}
 			}
 		}
+		if (data.fAST instanceof CPPASTTranslationUnit) {
+			LookupCache cache= ((CPPASTTranslationUnit) data.fAST).getLookupCache();
+			fStatistics.fLookupCacheHits += cache.getHitCount();
+			fStatistics.fLookupCacheMisses += cache.getMissCount();
+		}
 		fStatistics.fResolutionTime += System.currentTimeMillis() - start;
 	}
 
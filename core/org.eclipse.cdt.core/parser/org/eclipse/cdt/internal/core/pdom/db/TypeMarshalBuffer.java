@@ -11,6 +11,11 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
 import org.eclipse.cdt.core.dom.ast.IBinding;
@@ -34,6 +39,10 @@ import org.eclipse.core.runtime.CoreException;
 
 /**
  * For marshalling types to byte arrays.
+ * <p>
+ * When a type is marshalled that is encoded by the same bytes as a type marshalled earlier into
+ * the same buffer, a reference to the position of the earlier type is stored instead. When
+ * unmarshalling, all references to a position share the same type object.
  */
 public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 	public static final byte[] EMPTY= { 0, 0, 0, 0, 0, 0 };
@@ -41,6 +50,10 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 	public static final byte INDIRECT_TYPE   = 0x1F;
 	public static final byte BINDING_TYPE    = 0x1E;
 	public static final byte UNSTORABLE_TYPE = 0x1D;
+	public static final byte SHARED_TYPE     = 0x1C;
+
+	/** Subtrees no longer than this are always stored, since a reference is not much shorter. */
+	private static final int MIN_SHARED_LENGTH = 3;
 
 	public static final IType UNSTORABLE_TYPE_PROBLEM = new ProblemType(ISemanticProblem.TYPE_NOT_PERSISTED);
 
@@ -48,9 +61,56 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 		assert EMPTY.length == Database.TYPE_SIZE;
 	}
 
+	/**
+	 * A range of bytes in the buffer encoding a type. Ranges are equal if the bytes are.
+	 */
+	private final class Subtree {
+		final int fStart;
+		final int fLength;
+		final int fHash;
+
+		Subtree(int start, int length) {
+			fStart= start;
+			fLength= length;
+			int hash= length;
+			for (int i = start; i < start + length; i++) {
+				hash= 31 * hash + fBuffer[i];
+			}
+			fHash= hash;
+		}
+
+		int getEnd() {
+			return fStart + fLength;
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Subtree))
+				return false;
+			Subtree other= (Subtree) obj;
+			if (fHash != other.fHash || fLength != other.fLength)
+				return false;
+			for (int i = 0; i < fLength; i++) {
+				if (fBuffer[fStart + i] != fBuffer[other.fStart + i])
+					return false;
+			}
+			return true;
+		}
+	}
+
 	private final PDOMLinkage fLinkage;
 	private int fPos;
 	private byte[] fBuffer;
+	// Types marshalled into the buffer, in the order of their completion.
+	private Map<Subtree, Subtree> fSubtrees;
+	private List<Subtree> fSubtreeList;
+	// Types that are referenced more than once, by position.
+	private Map<Integer, IType> fSharedTypes;
 
 	/**
 	 * Constructor for output buffer.
@@ -73,6 +133,7 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 
 	public void setPosition(int pos) {
 		assert 0 <= pos && pos <= fPos;
+		discardSubtrees(pos);
 		fPos = pos;
 	}
 
@@ -103,7 +164,6 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 				putShort(UNSTORABLE_TYPE);
 			} else {
 				putShort(BINDING_TYPE);
-				putByte((byte) 0);
 				putRecordPointer(pb.getRecord());
 			}
 		}
@@ -114,11 +174,17 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 		int oldPos = fPos;
 		short firstBytes = getShort();
 		if (firstBytes == BINDING_TYPE) {
-			fPos += 1;
 			long rec= getRecordPointer();
 			return (IBinding) PDOMNode.load(fLinkage.getPDOM(), rec);
 		} else if (firstBytes == NULL_TYPE || firstBytes == UNSTORABLE_TYPE) {
 			return new ProblemBinding(null, ISemanticProblem.TYPE_NOT_PERSISTED);
+		} else if (firstBytes == SHARED_TYPE) {
+			int pos= getSharedPosition(oldPos);
+			int returnPos= fPos;
+			fPos= pos;
+			IBinding binding= unmarshalBinding();
+			fPos= returnPos;
+			return binding;
 		}
 
 		fPos = oldPos;  // fLinkage.unmarshalBinding() will read firstBytes again
@@ -128,7 +194,9 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 	@Override
 	public void marshalType(IType type) throws CoreException {
 		if (type instanceof ISerializableType) {
+			int start= fPos;
 			((ISerializableType) type).marshal(this);
+			shareSubtree(start);
 		} else if (type == null) {
 			putShort(NULL_TYPE);
 		} else if (type instanceof IBinding) {
@@ -144,13 +212,14 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 		int oldPos = fPos;
 		short firstBytes = getShort();
 		if (firstBytes == BINDING_TYPE) {
-			fPos += 1;
 			long rec= getRecordPointer();
 			return (IType) PDOMNode.load(fLinkage.getPDOM(), rec);
 		} else if (firstBytes == NULL_TYPE) {
 			return null;
 		} else if (firstBytes == UNSTORABLE_TYPE) {
 			return UNSTORABLE_TYPE_PROBLEM;
+		} else if (firstBytes == SHARED_TYPE) {
+			return unmarshalSharedType(getSharedPosition(oldPos));
 		}
 
 		fPos = oldPos;  // fLinkage.unmarshalType() will read firstBytes again
@@ -221,6 +290,77 @@ public final class TypeMarshalBuffer implements ITypeMarshalBuffer {
 		}
 	}
 
+	/**
+	 * Replaces the type marshalled starting at the given position by a reference to an earlier
+	 * occurrence of the same type, if there is one.
+	 */
+	private void shareSubtree(int start) {
+		int length= fPos - start;
+		if (length <= MIN_SHARED_LENGTH)
+			return;
+		if (fSubtrees == null) {
+			fSubtrees= new HashMap<>();
+			fSubtreeList= new ArrayList<>();
+		}
+		Subtree subtree= new Subtree(start, length);
+		Subtree earlier= fSubtrees.get(subtree);
+		if (earlier == null) {
+			fSubtrees.put(subtree, subtree);
+			fSubtreeList.add(subtree);
+		} else if (1 + getVarIntLength(earlier.fStart) < length) {
+			discardSubtrees(start);
+			fPos= start;
+			putShort(SHARED_TYPE);
+			putInt(earlier.fStart);
+		}
+	}
+
+	/**
+	 * Forgets about the types that extend beyond the given position.
+	 */
+	private void discardSubtrees(int pos) {
+		if (fSubtreeList == null)
+			return;
+		// Subtrees are completed in the order of their end positions.
+		for (int i = fSubtreeList.size(); --i >= 0;) {
+			Subtree subtree= fSubtreeList.get(i);
+			if (subtree.getEnd() <= pos)
+				break;
+			fSubtreeList.remove(i);
+			fSubtrees.remove(subtree);
+		}
+	}
+
+	private static int getVarIntLength(int value) {
+		int length= 1;
+		while ((value >>>= 7) != 0) {
+			length++;
+		}
+		return length;
+	}
+
+	private int getSharedPosition(int referencePos) throws CoreException {
+		int pos= getInt();
+		// A reference always points backwards, which also rules out cycles.
+		if (pos < 0 || pos >= referencePos)
+			throw unmarshallingError();
+		return pos;
+	}
+
+	private IType unmarshalSharedType(int pos) throws CoreException {
+		IType type= fSharedTypes == null ? null : fSharedTypes.get(pos);
+		if (type == null) {
+			int returnPos= fPos;
+			fPos= pos;
+			type= unmarshalType();
+			fPos= returnPos;
+			if (fSharedTypes == null)
+				fSharedTypes= new HashMap<>();
+			fSharedTypes.put(pos, type);
+		}
+		return type;
+	}
+
 	private void request(int i) {
 		if (fBuffer == null) {
 			if (i <= Database.TYPE_SIZE) {
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.IEnumerator;
+import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Persistent call graph of a linkage. For each pair of a binding with a definition and
+ * a function, variable or enumerator referenced or declared from within that definition there
+ * is an edge counting the names. The edges are stored in two B-trees, one sorted by caller and one
+ * sorted by callee, such that the callees of a function and the callers of a function can be
+ * looked up without visiting the names of the index.
+ * <p>
+ * The edges are maintained when names are added to or removed from the index. Since edges
+ * count names rather than refer to files, moving the names of an uncommitted file to
+ * the committed one does not affect them.
+ */
+public final class PDOMCallGraph {
+	// Edge record.
+	private static final int CALLER = 0;
+	private static final int CALLEE = 4;
+	private static final int COUNT = 8;
+	private static final int POLYMORPHIC_COUNT = 12;
+	private static final int RECORD_SIZE = 16;
+
+	private final PDOMLinkage fLinkage;
+	private final Database fDatabase;
+	private final BTree fCallees;
+	private final BTree fCallers;
+
+	/**
+	 * Creates an object for accessing the call graph with the roots of the B-trees
+	 * stored at the given addresses.
+	 */
+	public PDOMCallGraph(PDOMLinkage linkage, long calleesRootPointer, long callersRootPointer) {
+		fLinkage= linkage;
+		final Database db= linkage.getDB();
+		fDatabase= db;
+		fCallees= new BTree(db, calleesRootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= compareRecPtrs(db.getRecPtr(record1 + CALLER), db.getRecPtr(record2 + CALLER));
+				if (cmp == 0)
+					cmp= compareRecPtrs(db.getRecPtr(record1 + CALLEE), db.getRecPtr(record2 + CALLEE));
+				return cmp;
+			}
+		});
+		fCallers= new BTree(db, callersRootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= compareRecPtrs(db.getRecPtr(record1 + CALLEE), db.getRecPtr(record2 + CALLEE));
+				if (cmp == 0)
+					cmp= compareRecPtrs(db.getRecPtr(record1 + CALLER), db.getRecPtr(record2 + CALLER));
+				return cmp;
+			}
+		});
+	}
+
+	/**
+	 * Returns whether references to the given binding are recorded in the call graph.
+	 * Matches the bindings shown in the call hierarchy.
+	 */
+	static boolean isCallee(PDOMBinding binding) {
+		return binding instanceof IFunction || binding instanceof IVariable || binding instanceof IEnumerator;
+	}
+
+	/**
+	 * Records the given name, if it is nested in a definition.
+	 * @param binding the binding of the name, saves loading it from the database
+	 */
+	void onCreateName(PDOMName name, PDOMBinding binding) throws CoreException {
+		long edge= isCallee(binding) ? findEdgeForName(name) : -1;
+		if (edge < 0)
+			return;
+		final int polymorphic= name.couldBePolymorphicMethodCall() ? 1 : 0;
+		if (edge == 0) {
+			edge= fDatabase.malloc(RECORD_SIZE);
+			fDatabase.putRecPtr(edge + CALLER, getCallerRecord(name));
+			fDatabase.putRecPtr(edge + CALLEE, name.getBindingRecord());
+			fDatabase.putInt(edge + COUNT, 1);
+			fDatabase.putInt(edge + POLYMORPHIC_COUNT, polymorphic);
+			fCallees.insert(edge);
+			fCallers.insert(edge);
+		} else {
+			fDatabase.putInt(edge + COUNT, fDatabase.getInt(edge + COUNT) + 1);
+			fDatabase.putInt(edge + POLYMORPHIC_COUNT, fDatabase.getInt(edge + POLYMORPHIC_COUNT) + polymorphic);
+		}
+	}
+
+	/**
+	 * Removes the given name from the call graph. Has to be called before the name and
+	 * the enclosing definition are deleted.
+	 */
+	void onDeleteName(PDOMName name) throws CoreException {
+		long callee= name.getBindingRecord();
+		long edge= callee != 0 && isCallee(fLinkage.getBinding(callee)) ? findEdgeForName(name) : -1;
+		if (edge <= 0)
+			return;
+		int count= fDatabase.getInt(edge + COUNT) - 1;
+		if (count > 0) {
+			fDatabase.putInt(edge + COUNT, count);
+			if (name.couldBePolymorphicMethodCall()) {
+				fDatabase.putInt(edge + POLYMORPHIC_COUNT, fDatabase.getInt(edge + POLYMORPHIC_COUNT) - 1);
+			}
+		} else {
+			fCallees.delete(edge);
+			fCallers.delete(edge);
+			fDatabase.free(edge);
+		}
+	}
+
+	/**
+	 * Returns the record of the edge the given name contributes to, {@code 0} if the edge
+	 * does not exist, yet or {@code -1} if the name is not nested in a definition. The binding
+	 * of the name has to be a callee.
+	 */
+	private long findEdgeForName(PDOMName name) throws CoreException {
+		long caller= getCallerRecord(name);
+		if (caller == 0)
+			return -1;
+		return findEdge(caller, name.getBindingRecord());
+	}
+
+	private long getCallerRecord(PDOMName name) throws CoreException {
+		long callerName= name.getEnclosingDefinitionRecord();
+		return callerName != 0 ? new PDOMName(fLinkage, callerName).getBindingRecord() : 0;
+	}
+
+	private long findEdge(final long caller, final long callee) throws CoreException {
+		final long[] result= { 0 };
+		fCallees.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				int cmp= compareRecPtrs(fDatabase.getRecPtr(record + CALLER), caller);
+				if (cmp == 0)
+					cmp= compareRecPtrs(fDatabase.getRecPtr(record + CALLEE), callee);
+				return cmp;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0]= record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the bindings referenced from within the definitions of the given binding.
+	 */
+	public PDOMBinding[] getCallees(PDOMBinding caller) throws CoreException {
+		return collect(fCallees, CALLER, CALLEE, caller.getRecord(), false);
+	}
+
+	/**
+	 * Returns the bindings with definitions referencing the given binding.
+	 *
+	 * @param callee the referenced binding
+	 * @param polymorphicOnly whether to return only the callers that could call
+	 *     the given method polymorphically.
+	 */
+	public PDOMBinding[] getCallers(PDOMBinding callee, boolean polymorphicOnly) throws CoreException {
+		return collect(fCallers, CALLEE, CALLER, callee.getRecord(), polymorphicOnly);
+	}
+
+	private PDOMBinding[] collect(BTree btree, final int keyOffset, final int valueOffset,
+			final long key, final boolean polymorphicOnly) throws CoreException {
+		final List<PDOMBinding> result= new ArrayList<>();
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return compareRecPtrs(fDatabase.getRecPtr(record + keyOffset), key);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				if (!polymorphicOnly || fDatabase.getInt(record + POLYMORPHIC_COUNT) > 0) {
+					PDOMBinding binding= fLinkage.getBinding(fDatabase.getRecPtr(record + valueOffset));
+					if (binding != null) {
+						result.add(binding);
+					}
+				}
+				return true;
+			}
+		});
+		return result.toArray(new PDOMBinding[result.size()]);
+	}
+
+	private static int compareRecPtrs(long rec1, long rec2) {
+		return rec1 < rec2 ? -1 : (rec1 > rec2 ? 1 : 0);
+	}
+}
@@ -516,6 +516,9 @@ public class PDOMFile implements IIndexFragmentFile {
 			if (pdomBinding != null) {
 				final PDOMName result= new PDOMName(fLinkage, name, this, pdomBinding, caller);
 				linkage.onCreateName(this, name, result);
+				// The flags of the name are final only after the linkage has processed it.
+				linkage.getCallGraph().onCreateName(result, pdomBinding);
+				linkage.getTypeHierarchy().onCreateName(result);
 				return result;
 			}
 		} catch (CoreException e) {
@@ -571,6 +574,8 @@ public class PDOMFile implements IIndexFragmentFile {
 		while (name != null) {
 			names.add(name);
 			linkage.onDeleteName(name);
+			linkage.getCallGraph().onDeleteName(name);
+			linkage.getTypeHierarchy().onDeleteName(name);
 			name= name.getNextInFile();
 		}
 		for (Iterator<PDOMName> iterator = names.iterator(); iterator.hasNext();) {
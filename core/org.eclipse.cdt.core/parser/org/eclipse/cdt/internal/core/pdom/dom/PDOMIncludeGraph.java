@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Snapshot of the include relations of the committed files of a PDOM, held in memory.
+ * The files are numbered by the order of their records, for each file the includes pointing
+ * to it are stored together with the numbers of the including files. Transitive queries
+ * therefore neither read the database nor look up files by location.
+ * <p>
+ * The snapshot is valid as long as the PDOM is not modified.
+ */
+public final class PDOMIncludeGraph {
+	private static final long[] NO_INCLUDES = {};
+	private static final int[] NO_FILES = {};
+
+	private final long[] fFileRecords;
+	private final PDOMLinkage[] fLinkages;
+	// For each file the records of the includes pointing to it and the numbers of the
+	// including files.
+	private final long[][] fIncludedBy;
+	private final int[][] fIncluders;
+
+	private PDOMIncludeGraph(long[] fileRecords) {
+		fFileRecords= fileRecords;
+		fLinkages= new PDOMLinkage[fileRecords.length];
+		fIncludedBy= new long[fileRecords.length][];
+		fIncluders= new int[fileRecords.length][];
+	}
+
+	/**
+	 * Reads the include relations of the committed files of the given PDOM. The PDOM has to be
+	 * locked.
+	 */
+	public static PDOMIncludeGraph create(PDOM pdom) throws CoreException {
+		final long[][] records= { new long[256] };
+		final int[] count= { 0 };
+		pdom.getFileIndex().accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				if (count[0] == records[0].length)
+					records[0]= Arrays.copyOf(records[0], 2 * count[0]);
+				records[0][count[0]++]= record;
+				return true;
+			}
+		});
+		long[] fileRecords= Arrays.copyOf(records[0], count[0]);
+		Arrays.sort(fileRecords);
+
+		PDOMIncludeGraph graph= new PDOMIncludeGraph(fileRecords);
+		List<PDOMInclude> includes= new ArrayList<>();
+		for (int i = 0; i < fileRecords.length; i++) {
+			PDOMFile file= PDOMFile.recreateFile(pdom, fileRecords[i]);
+			graph.fLinkages[i]= file.getLinkage();
+			includes.clear();
+			for (PDOMInclude include= file.getFirstIncludedBy(); include != null; include= include.getNextInIncludedBy()) {
+				// Uncommitted files are not visible to clients of the index.
+				if (include.getIncludedBy().getTimestamp() > 0) {
+					includes.add(include);
+				}
+			}
+			if (includes.isEmpty()) {
+				graph.fIncludedBy[i]= NO_INCLUDES;
+				graph.fIncluders[i]= NO_FILES;
+			} else {
+				long[] includeRecords= new long[includes.size()];
+				int[] includers= new int[includes.size()];
+				for (int j = 0; j < includeRecords.length; j++) {
+					PDOMInclude include= includes.get(j);
+					includeRecords[j]= include.getRecord();
+					includers[j]= Arrays.binarySearch(fileRecords, ((PDOMFile) include.getIncludedBy()).getRecord());
+				}
+				graph.fIncludedBy[i]= includeRecords;
+				graph.fIncluders[i]= includers;
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Returns the includes pointing to the given file and, up to the given depth, the includes
+	 * pointing to the including files. For each including file only the first include found
+	 * is returned, the includes are ordered by their distance to the given file.
+	 *
+	 * @param depth the number of additional levels to search, or {@link IIndex#DEPTH_INFINITE}
+	 */
+	public PDOMInclude[] findIncludedBy(PDOMFile file, int depth) {
+		List<PDOMInclude> result= new ArrayList<>();
+		int start= Arrays.binarySearch(fFileRecords, file.getRecord());
+		if (start < 0)
+			return new PDOMInclude[0];
+
+		BitSet handled= new BitSet(fFileRecords.length);
+		int[] level= { start };
+		while (level.length > 0) {
+			int[] nextLevel= new int[16];
+			int nextCount= 0;
+			for (int target : level) {
+				long[] includes= fIncludedBy[target];
+				int[] includers= fIncluders[target];
+				for (int i = 0; i < includes.length; i++) {
+					int includer= includers[i];
+					if (includer >= 0 && !handled.get(includer)) {
+						handled.set(includer);
+						result.add(new PDOMInclude(fLinkages[target], includes[i]));
+						if (nextCount == nextLevel.length)
+							nextLevel= Arrays.copyOf(nextLevel, 2 * nextCount);
+						nextLevel[nextCount++]= includer;
+					}
+				}
+			}
+			if (depth == 0)
+				break;
+			if (depth > 0)
+				depth--;
+			level= Arrays.copyOf(nextLevel, nextCount);
+		}
+		return result.toArray(new PDOMInclude[result.size()]);
+	}
+
+	/**
+	 * Returns whether the given file is included by the other one, directly or indirectly.
+	 */
+	public boolean isIncludedBy(PDOMFile file, PDOMFile includer) {
+		int start= Arrays.binarySearch(fFileRecords, file.getRecord());
+		int goal= Arrays.binarySearch(fFileRecords, includer.getRecord());
+		if (start < 0 || goal < 0)
+			return false;
+
+		BitSet handled= new BitSet(fFileRecords.length);
+		int[] stack= new int[16];
+		int size= 0;
+		stack[size++]= start;
+		while (size > 0) {
+			for (int next : fIncluders[stack[--size]]) {
+				if (next == goal)
+					return true;
+				if (next >= 0 && !handled.get(next)) {
+					handled.set(next);
+					if (size == stack.length)
+						stack= Arrays.copyOf(stack, 2 * size);
+					stack[size++]= next;
+				}
+			}
+		}
+		return false;
+	}
+}
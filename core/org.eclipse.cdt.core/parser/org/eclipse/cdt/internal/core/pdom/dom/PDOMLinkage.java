@@ -17,6 +17,7 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
@@ -37,6 +38,7 @@ import org.eclipse.cdt.core.dom.ast.IVariable;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDirective;
 import org.eclipse.cdt.core.index.IIndexLinkage;
+import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.util.CharArrayMap;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
 import org.eclipse.cdt.internal.core.dom.parser.ISerializableEvaluation;
@@ -45,6 +47,8 @@ import org.eclipse.cdt.internal.core.dom.parser.ProblemBinding;
 import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
@@ -68,9 +72,15 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	private static final int INDEX_OFFSET = PDOMNamedNode.RECORD_SIZE + 8;
 	private static final int NESTED_BINDINGS_INDEX = PDOMNamedNode.RECORD_SIZE + 12;
 	private static final int MACRO_BTREE = PDOMNamedNode.RECORD_SIZE + 16;
+	private static final int NAME_HASH_INDEX = PDOMNamedNode.RECORD_SIZE + 20;
+	private static final int TRIGRAM_INDEX = PDOMNamedNode.RECORD_SIZE + 24;
+	private static final int CALLEES_INDEX = PDOMNamedNode.RECORD_SIZE + 28;
+	private static final int CALLERS_INDEX = PDOMNamedNode.RECORD_SIZE + 32;
+	private static final int BASES_INDEX = PDOMNamedNode.RECORD_SIZE + 36;
+	private static final int SUBTYPES_INDEX = PDOMNamedNode.RECORD_SIZE + 40;
 
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 20;
+	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 44;
 	protected static final long[] FILE_LOCAL_REC_DUMMY = new long[] { 0 };
 
 	private BTree fMacroIndex= null;  // No need for volatile, all fields of BTree are final.
@@ -144,6 +154,55 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return new BTree(fDatabase, record + NESTED_BINDINGS_INDEX, getNestedBindingsComparator());
 	}
 
+	private PDOMNameHashIndex getNameHashIndex() {
+		return new PDOMNameHashIndex(this, record + NAME_HASH_INDEX);
+	}
+
+	private PDOMTrigramIndex getTrigramIndex() {
+		return new PDOMTrigramIndex(this, record + TRIGRAM_INDEX);
+	}
+
+	/**
+	 * Returns the call graph of this linkage.
+	 */
+	public PDOMCallGraph getCallGraph() {
+		return new PDOMCallGraph(this, record + CALLEES_INDEX, record + CALLERS_INDEX);
+	}
+
+	/**
+	 * Returns the subtype relation of this linkage.
+	 */
+	public PDOMTypeHierarchy getTypeHierarchy() {
+		return new PDOMTypeHierarchy(this, record + BASES_INDEX, record + SUBTYPES_INDEX);
+	}
+
+	private void addToNameIndexes(PDOMBinding binding) throws CoreException {
+		getNameHashIndex().add(binding);
+		getTrigramIndex().add(binding);
+	}
+
+	/**
+	 * Returns the top-level and the nested bindings with the given name that are accepted by
+	 * the filter. The name is matched case-sensitively.
+	 */
+	public PDOMBinding[] findBindingsByName(char[] name, IndexFilter filter, IProgressMonitor monitor)
+			throws CoreException {
+		BindingCollector collector= new BindingCollector(this, name, filter, false, false, true);
+		collector.setMonitor(monitor);
+		getNameHashIndex().accept(collector, name);
+		return collector.getBindings();
+	}
+
+	/**
+	 * Returns the top-level and the nested bindings with a name matching the pattern that are
+	 * accepted by the filter, or {@code null} if the pattern does not require a literal that
+	 * allows for narrowing the search.
+	 */
+	public PDOMBinding[] findBindings(Pattern pattern, IndexFilter filter, IProgressMonitor monitor)
+			throws CoreException {
+		return getTrigramIndex().find(pattern, filter, monitor);
+	}
+
 	@Override
 	public void accept(final IPDOMVisitor visitor) throws CoreException {
 		if (visitor instanceof IBTreeVisitor) {
@@ -171,6 +230,9 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	@Override
 	public void addChild(PDOMNode child) throws CoreException {
 		getIndex().insert(child.getRecord());
+		if (child instanceof PDOMBinding) {
+			addToNameIndexes((PDOMBinding) child);
+		}
 	}
 	
 	public final PDOMBinding getBinding(long record) throws CoreException {
@@ -320,6 +382,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	protected final void insertIntoNestedBindingsIndex(PDOMBinding pdomBinding) throws CoreException {
 		if (pdomBinding.getParentNodeRec() != record) {
 			getNestedBindingsIndex().insert(pdomBinding.getRecord());
+			addToNameIndexes(pdomBinding);
 		}
 	}
 
@@ -414,7 +477,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	}
 	
 	private CharArrayMap<PDOMBinding[]> getBindingMap() {
-		final Long key= getRecord();
+		final Object key= new PDOMResultCache.Key(getRecord(), Kind.NAMES);
 		final PDOM pdom = getPDOM();
 		@SuppressWarnings("unchecked")
 		Reference<CharArrayMap<PDOMBinding[]>> cached= (Reference<CharArrayMap<PDOMBinding[]>>) pdom.getCachedResult(key);
@@ -137,6 +137,10 @@ public final class PDOMName implements IIndexFragmentName, IASTFileLocation {
 		return linkage.getBinding(bindingrec);
 	}
 
+	long getBindingRecord() throws CoreException {
+		return getRecField(BINDING_REC_OFFSET);
+	}
+
 	public void setBinding(PDOMBinding binding) throws CoreException {
 		long bindingrec = binding != null ? binding.getRecord() : 0;
 		setRecField(BINDING_REC_OFFSET, bindingrec);
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Persistent index of all bindings of a linkage, top-level and nested ones, keyed by a hash
+ * code of their simple name. The hash code is stored with each entry, such that a lookup does
+ * not read the names of the bindings it passes by, only the ones of the bindings with a
+ * matching hash code are compared to the requested name.
+ */
+final class PDOMNameHashIndex {
+	private static final int HASH = 0;
+	private static final int BINDING = 4;
+	private static final int RECORD_SIZE = 8;
+
+	private final PDOMLinkage fLinkage;
+	private final Database fDatabase;
+	private final BTree fIndex;
+
+	/**
+	 * Creates an object for accessing the index with its root stored at the given address.
+	 */
+	public PDOMNameHashIndex(PDOMLinkage linkage, long rootPointer) {
+		fLinkage= linkage;
+		final Database db= linkage.getDB();
+		fDatabase= db;
+		fIndex= new BTree(db, rootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= compareInts(db.getInt(record1 + HASH), db.getInt(record2 + HASH));
+				if (cmp == 0) {
+					long binding1= db.getRecPtr(record1 + BINDING);
+					long binding2= db.getRecPtr(record2 + BINDING);
+					cmp= binding1 < binding2 ? -1 : (binding1 > binding2 ? 1 : 0);
+				}
+				return cmp;
+			}
+		});
+	}
+
+	/**
+	 * Computes the hash code stored for a name. The value is persisted, it must not depend on
+	 * the implementation of {@link String#hashCode()} or the like.
+	 */
+	static int hash(char[] name) {
+		int h= 0;
+		for (char c : name) {
+			h= 31 * h + c;
+		}
+		return h;
+	}
+
+	public void add(PDOMBinding binding) throws CoreException {
+		long record= fDatabase.malloc(RECORD_SIZE);
+		fDatabase.putInt(record + HASH, hash(binding.getNameCharArray()));
+		fDatabase.putRecPtr(record + BINDING, binding.getRecord());
+		long existing= fIndex.insert(record);
+		if (existing != record) {
+			fDatabase.free(record);
+		}
+	}
+
+	/**
+	 * Passes the bindings with a name that has the same hash code as the name searched by
+	 * the collector to it.
+	 */
+	public void accept(final BindingCollector collector, char[] name) throws CoreException {
+		final int hash= hash(name);
+		fIndex.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return compareInts(fDatabase.getInt(record + HASH), hash);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				PDOMNode node= PDOMNode.load(fLinkage.getPDOM(), fDatabase.getRecPtr(record + BINDING));
+				if (node != null) {
+					// Compares the names and applies the filter of the collector.
+					collector.visit(node);
+				}
+				return true;
+			}
+		});
+	}
+
+	private static int compareInts(int i1, int i2) {
+		return i1 < i2 ? -1 : (i1 > i2 ? 1 : 0);
+	}
+}
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Persistent index of all bindings of a linkage by the trigrams of their names, i.e. by
+ * the sequences of three consecutive characters. Trigrams are computed from the lower case
+ * characters of a name, such that the index serves case-sensitive and case-insensitive searches.
+ * <p>
+ * A search with a regular expression requiring a literal of at least three characters, e.g.
+ * {@code .*Manager.*}, visits only the bindings of the trigram with the smallest number of
+ * bindings and matches their names against the expression.
+ * <p>
+ * The bindings of a trigram are stored in a linked list of blocks of records, the most recent
+ * block first. The capacity of the blocks grows with the number of bindings.
+ */
+public final class PDOMTrigramIndex {
+	// Entry of the B-tree, one per trigram.
+	private static final int TRIGRAM = 0;
+	private static final int COUNT = 4;
+	private static final int FIRST_BLOCK = 8;
+	private static final int ENTRY_SIZE = 12;
+
+	// Block of binding records.
+	private static final int NEXT_BLOCK = 0;
+	private static final int CAPACITY = 4;
+	private static final int SIZE = 6;
+	private static final int RECORDS = 8;
+	private static final int MIN_CAPACITY = 4;
+	private static final int MAX_CAPACITY = 256;
+
+	private final PDOMLinkage fLinkage;
+	private final Database fDatabase;
+	private final BTree fIndex;
+
+	/**
+	 * Creates an object for accessing the index with its root stored at the given address.
+	 */
+	public PDOMTrigramIndex(PDOMLinkage linkage, long rootPointer) {
+		fLinkage= linkage;
+		final Database db= linkage.getDB();
+		fDatabase= db;
+		fIndex= new BTree(db, rootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return compareInts(db.getInt(record1 + TRIGRAM), db.getInt(record2 + TRIGRAM));
+			}
+		});
+	}
+
+	/**
+	 * Returns the distinct trigrams of the given name.
+	 */
+	public static int[] getTrigrams(char[] name) {
+		int[] result= new int[Math.max(0, name.length - 2)];
+		int count= 0;
+		outer: for (int i = 0; i < result.length; i++) {
+			int trigram= trigram(name, i);
+			for (int j = 0; j < count; j++) {
+				if (result[j] == trigram)
+					continue outer;
+			}
+			result[count++]= trigram;
+		}
+		if (count < result.length) {
+			int[] trimmed= new int[count];
+			System.arraycopy(result, 0, trimmed, 0, count);
+			result= trimmed;
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the persistent value of the trigram at the given offset of the name. Different
+	 * trigrams may share a value, which is harmless since the names of the candidates found
+	 * via the index are matched against the search pattern.
+	 */
+	private static int trigram(char[] name, int offset) {
+		int h= Character.toLowerCase(name[offset]);
+		h= 31 * h + Character.toLowerCase(name[offset + 1]);
+		return 31 * h + Character.toLowerCase(name[offset + 2]);
+	}
+
+	/**
+	 * Returns the trigrams each name matching the given pattern has to contain, or {@code null}
+	 * if the pattern does not require a literal of at least three characters or is too complex
+	 * to be analyzed.
+	 */
+	public static int[] getRequiredTrigrams(Pattern pattern) {
+		if ((pattern.flags() & ~Pattern.CASE_INSENSITIVE) != 0)
+			return null;
+
+		String p= pattern.pattern();
+		List<String> literals= new ArrayList<>();
+		StringBuilder literal= new StringBuilder();
+		for (int i = 0; i < p.length(); i++) {
+			char c= p.charAt(i);
+			char next= i + 1 < p.length() ? p.charAt(i + 1) : 0;
+			if (Character.isLetterOrDigit(c) || c == '_') {
+				if (next == '*' || next == '?') {
+					// The character is optional.
+					endLiteral(literal, literals);
+					i++;
+				} else if (next == '{') {
+					return null;
+				} else if (next == '+') {
+					literal.append(c);
+					endLiteral(literal, literals);
+					i++;
+				} else {
+					literal.append(c);
+				}
+			} else if (c == '.') {
+				endLiteral(literal, literals);
+				if (next == '*' || next == '+' || next == '?')
+					i++;
+			} else if (c == '\\') {
+				if (Character.isLetterOrDigit(next))
+					return null; // A character class or a quotation.
+				endLiteral(literal, literals);
+				i++;
+			} else if (c == '[' || c == '(' || c == '|' || c == '{' || c == '*' || c == '+' || c == '?') {
+				return null;
+			} else {
+				endLiteral(literal, literals);
+			}
+		}
+		endLiteral(literal, literals);
+
+		int[] result= {};
+		for (String l : literals) {
+			for (int trigram : getTrigrams(l.toCharArray())) {
+				if (!contains(result, trigram)) {
+					int[] grown= new int[result.length + 1];
+					System.arraycopy(result, 0, grown, 0, result.length);
+					grown[result.length]= trigram;
+					result= grown;
+				}
+			}
+		}
+		return result.length == 0 ? null : result;
+	}
+
+	private static void endLiteral(StringBuilder literal, List<String> literals) {
+		if (literal.length() >= 3)
+			literals.add(literal.toString());
+		literal.setLength(0);
+	}
+
+	private static boolean contains(int[] array, int value) {
+		for (int element : array) {
+			if (element == value)
+				return true;
+		}
+		return false;
+	}
+
+	public void add(PDOMBinding binding) throws CoreException {
+		for (int trigram : getTrigrams(binding.getNameCharArray())) {
+			add(trigram, binding.getRecord());
+		}
+	}
+
+	private void add(int trigram, long bindingRecord) throws CoreException {
+		long entry= findEntry(trigram);
+		if (entry == 0) {
+			entry= fDatabase.malloc(ENTRY_SIZE);
+			fDatabase.putInt(entry + TRIGRAM, trigram);
+			fDatabase.putInt(entry + COUNT, 0);
+			fDatabase.putRecPtr(entry + FIRST_BLOCK, 0);
+			fIndex.insert(entry);
+		}
+
+		long block= fDatabase.getRecPtr(entry + FIRST_BLOCK);
+		int size= 0;
+		int capacity= 0;
+		if (block != 0) {
+			size= fDatabase.getShort(block + SIZE);
+			capacity= fDatabase.getShort(block + CAPACITY);
+			// The same binding is added to the index of the linkage and to the one of nested
+			// bindings in a row.
+			if (size > 0 && fDatabase.getRecPtr(block + RECORDS + (size - 1) * Database.PTR_SIZE) == bindingRecord)
+				return;
+		}
+		if (size == capacity) {
+			capacity= Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, 2 * capacity));
+			long newBlock= fDatabase.malloc(RECORDS + capacity * Database.PTR_SIZE);
+			fDatabase.putRecPtr(newBlock + NEXT_BLOCK, block);
+			fDatabase.putShort(newBlock + CAPACITY, (short) capacity);
+			fDatabase.putRecPtr(entry + FIRST_BLOCK, newBlock);
+			block= newBlock;
+			size= 0;
+		}
+		fDatabase.putRecPtr(block + RECORDS + size * Database.PTR_SIZE, bindingRecord);
+		fDatabase.putShort(block + SIZE, (short) (size + 1));
+		fDatabase.putInt(entry + COUNT, fDatabase.getInt(entry + COUNT) + 1);
+	}
+
+	private long findEntry(final int trigram) throws CoreException {
+		final long[] result= { 0 };
+		fIndex.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return compareInts(fDatabase.getInt(record + TRIGRAM), trigram);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0]= record;
+				return false; // There are no duplicates.
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the bindings with names matching the pattern and accepted by the filter, or
+	 * {@code null} if the pattern cannot be searched via the index.
+	 */
+	public PDOMBinding[] find(Pattern pattern, IndexFilter filter, IProgressMonitor monitor)
+			throws CoreException {
+		int[] trigrams= getRequiredTrigrams(pattern);
+		if (trigrams == null)
+			return null;
+
+		// Visit the bindings of the rarest trigram.
+		long entry= 0;
+		int count= Integer.MAX_VALUE;
+		for (int trigram : trigrams) {
+			long e= findEntry(trigram);
+			if (e == 0)
+				return PDOMBinding.EMPTY_PDOMBINDING_ARRAY;
+			int c= fDatabase.getInt(e + COUNT);
+			if (c < count) {
+				entry= e;
+				count= c;
+			}
+		}
+
+		List<PDOMBinding> result= new ArrayList<>();
+		int visited= 0;
+		for (long block= fDatabase.getRecPtr(entry + FIRST_BLOCK); block != 0;
+				block= fDatabase.getRecPtr(block + NEXT_BLOCK)) {
+			int size= fDatabase.getShort(block + SIZE);
+			for (int i = 0; i < size; i++) {
+				if (monitor != null && ++visited % 0x1000 == 0 && monitor.isCanceled())
+					throw new OperationCanceledException();
+
+				long record= fDatabase.getRecPtr(block + RECORDS + i * Database.PTR_SIZE);
+				char[] name= PDOMNamedNode.getDBName(fDatabase, record).getChars();
+				if (!containsTrigrams(name, trigrams) || !pattern.matcher(new String(name)).matches())
+					continue;
+				PDOMBinding binding= fLinkage.getBinding(record);
+				if (binding != null && (filter == null || filter.acceptBinding((IBinding) binding))) {
+					result.add(binding);
+				}
+			}
+		}
+		return result.toArray(new PDOMBinding[result.size()]);
+	}
+
+	private static boolean containsTrigrams(char[] name, int[] trigrams) {
+		if (trigrams.length == 1)
+			return true; // Checked by the lookup.
+		int[] nameTrigrams= getTrigrams(name);
+		for (int trigram : trigrams) {
+			if (!contains(nameTrigrams, trigram))
+				return false;
+		}
+		return true;
+	}
+
+	private static int compareInts(int i1, int i2) {
+		return i1 < i2 ? -1 : (i1 > i2 ? 1 : 0);
+	}
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Persistent subtype relation of a linkage. There is an edge between a type and each of the
+ * types named in base specifiers of its definitions, or the type named by a typedef. The edges
+ * are stored in two B-trees, one sorted by the derived and one sorted by the base type, such
+ * that the subtypes of a class can be looked up without visiting the references to the class.
+ * <p>
+ * The edges count the base specifiers they stem from and are maintained when names are added
+ * to or removed from the index.
+ */
+public final class PDOMTypeHierarchy {
+	// Edge record.
+	private static final int DERIVED = 0;
+	private static final int BASE = 4;
+	private static final int COUNT = 8;
+	private static final int RECORD_SIZE = 12;
+
+	private final PDOMLinkage fLinkage;
+	private final Database fDatabase;
+	private final BTree fBases;
+	private final BTree fSubtypes;
+
+	/**
+	 * Creates an object for accessing the type hierarchy with the roots of the B-trees
+	 * stored at the given addresses.
+	 */
+	public PDOMTypeHierarchy(PDOMLinkage linkage, long basesRootPointer, long subtypesRootPointer) {
+		fLinkage= linkage;
+		final Database db= linkage.getDB();
+		fDatabase= db;
+		fBases= new BTree(db, basesRootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= compareRecPtrs(db.getRecPtr(record1 + DERIVED), db.getRecPtr(record2 + DERIVED));
+				if (cmp == 0)
+					cmp= compareRecPtrs(db.getRecPtr(record1 + BASE), db.getRecPtr(record2 + BASE));
+				return cmp;
+			}
+		});
+		fSubtypes= new BTree(db, subtypesRootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= compareRecPtrs(db.getRecPtr(record1 + BASE), db.getRecPtr(record2 + BASE));
+				if (cmp == 0)
+					cmp= compareRecPtrs(db.getRecPtr(record1 + DERIVED), db.getRecPtr(record2 + DERIVED));
+				return cmp;
+			}
+		});
+	}
+
+	/**
+	 * Records the given name, if it is a base specifier. Has to be called after the flags
+	 * of the name have been set.
+	 */
+	void onCreateName(PDOMName name) throws CoreException {
+		long derived= getDerivedRecord(name);
+		if (derived == 0)
+			return;
+		long base= name.getBindingRecord();
+		long edge= findEdge(derived, base);
+		if (edge == 0) {
+			edge= fDatabase.malloc(RECORD_SIZE);
+			fDatabase.putRecPtr(edge + DERIVED, derived);
+			fDatabase.putRecPtr(edge + BASE, base);
+			fDatabase.putInt(edge + COUNT, 1);
+			fBases.insert(edge);
+			fSubtypes.insert(edge);
+		} else {
+			fDatabase.putInt(edge + COUNT, fDatabase.getInt(edge + COUNT) + 1);
+		}
+	}
+
+	/**
+	 * Removes the given name from the type hierarchy. Has to be called before the name and
+	 * the enclosing definition are deleted.
+	 */
+	void onDeleteName(PDOMName name) throws CoreException {
+		long derived= getDerivedRecord(name);
+		if (derived == 0)
+			return;
+		long edge= findEdge(derived, name.getBindingRecord());
+		if (edge == 0)
+			return;
+		int count= fDatabase.getInt(edge + COUNT) - 1;
+		if (count > 0) {
+			fDatabase.putInt(edge + COUNT, count);
+		} else {
+			fBases.delete(edge);
+			fSubtypes.delete(edge);
+			fDatabase.free(edge);
+		}
+	}
+
+	/**
+	 * Returns the record of the binding derived from the binding of the given name, or
+	 * {@code 0} if the name is not a base specifier. Matches the names considered by
+	 * the type hierarchy, i.e. references and definitions.
+	 */
+	private long getDerivedRecord(PDOMName name) throws CoreException {
+		if (!name.isBaseSpecifier() || !(name.isReference() || name.isDefinition()))
+			return 0;
+		long derivedName= name.getEnclosingDefinitionRecord();
+		return derivedName != 0 ? new PDOMName(fLinkage, derivedName).getBindingRecord() : 0;
+	}
+
+	private long findEdge(final long derived, final long base) throws CoreException {
+		final long[] result= { 0 };
+		fBases.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				int cmp= compareRecPtrs(fDatabase.getRecPtr(record + DERIVED), derived);
+				if (cmp == 0)
+					cmp= compareRecPtrs(fDatabase.getRecPtr(record + BASE), base);
+				return cmp;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0]= record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the types named in the base specifiers of the given type.
+	 */
+	public PDOMBinding[] getBases(PDOMBinding derived) throws CoreException {
+		return collect(fBases, DERIVED, BASE, derived.getRecord());
+	}
+
+	/**
+	 * Returns the types with a base specifier naming the given type.
+	 */
+	public PDOMBinding[] getSubtypes(PDOMBinding base) throws CoreException {
+		return collect(fSubtypes, BASE, DERIVED, base.getRecord());
+	}
+
+	private PDOMBinding[] collect(BTree btree, final int keyOffset, final int valueOffset, final long key)
+			throws CoreException {
+		final List<PDOMBinding> result= new ArrayList<>();
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return compareRecPtrs(fDatabase.getRecPtr(record + keyOffset), key);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				PDOMBinding binding= fLinkage.getBinding(fDatabase.getRecPtr(record + valueOffset));
+				if (binding != null) {
+					result.add(binding);
+				}
+				return true;
+			}
+		});
+		return result.toArray(new PDOMBinding[result.size()]);
+	}
+
+	private static int compareRecPtrs(long rec1, long rec2) {
+		return rec1 < rec2 ? -1 : (rec1 > rec2 ? 1 : 0);
+	}
+}
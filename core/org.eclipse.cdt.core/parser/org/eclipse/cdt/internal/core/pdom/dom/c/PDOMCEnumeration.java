@@ -30,6 +30,8 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.index.IIndexCBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexType;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.PDOMNodeLinkedList;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMMemberOwner;
@@ -93,7 +95,7 @@ class PDOMCEnumeration extends PDOMBinding implements IEnumeration, IIndexType,
 	}
 
 	private List<PDOMCEnumerator> getCachedEnumerators(boolean create) {
-		final Long key= record;
+		final Object key= new PDOMResultCache.Key(record, Kind.MEMBERS);
 		final PDOM pdom = getPDOM();
 		@SuppressWarnings("unchecked")
 		Reference<List<PDOMCEnumerator>> cached= (Reference<List<PDOMCEnumerator>>) pdom.getCachedResult(key);
@@ -40,4 +40,9 @@ public interface IPDOMCPPClassType extends ICPPClassType, IPDOMBinding, IIndexTy
 	 * @param visibility The visibility of the <code>member</code>.
 	 */
 	void addMember(PDOMNode member, int visibility) throws CoreException;
+
+	/**
+	 * Returns the persistent index of the members of this class.
+	 */
+	PDOMCPPMemberIndex getMemberIndex();
 }
@@ -97,6 +97,11 @@ class PDOMCPPClassInstance extends PDOMCPPClassSpecialization implements ICPPTem
 			
 			// Read the stored arguments next time getTemplateArguments() is called.
 			fTemplateArguments = null;
+
+			ICPPTemplateDefinition template = getTemplateDefinition();
+			if (template instanceof PDOMCPPClassTemplate) {
+				((PDOMCPPClassTemplate) template).addPersistedInstance(this, record);
+			}
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
@@ -47,7 +47,8 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.index.DeclaredBindingsFilter;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
-import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
@@ -188,7 +189,14 @@ class PDOMCPPClassScope implements ICPPClassScope, IIndexScope {
 	}
 
 	public static IBinding[] getBindingsViaCache(IPDOMCPPClassType ct, final char[] name, IndexFilter filter) throws CoreException {
-		CharArrayMap<List<PDOMBinding>> map = getBindingMap(ct);		
+		CharArrayMap<List<PDOMBinding>> map = getCachedBindingMap(ct);
+		if (map == null && !CharArrayUtils.equals(ct.getNameCharArray(), name)) {
+			// Look up the name in the index of members rather than loading all members.
+			return ct.getMemberIndex().find(name, filter);
+		}
+		if (map == null) {
+			map= getBindingMap(ct);
+		}
 		List<PDOMBinding> cached= map.get(name);
 		if (cached == null)
 			return IBinding.EMPTY_BINDING_ARRAY;
@@ -226,33 +234,44 @@ class PDOMCPPClassScope implements ICPPClassScope, IIndexScope {
 		}
 	}
 
-	public static void updateCache(IPDOMCPPClassType ct, PDOMNode member) throws CoreException {
+	/**
+	 * Updates the index of members and the cached map of members after a member has been added
+	 * to the class.
+	 */
+	public static void memberAdded(IPDOMCPPClassType ct, PDOMNode member) throws CoreException {
 		if (member instanceof PDOMBinding) {
-			final Long key= ct.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
-			final PDOM pdom = ct.getPDOM();
-			@SuppressWarnings("unchecked")
-			Reference<CharArrayMap<List<PDOMBinding>>> cached= (Reference<CharArrayMap<List<PDOMBinding>>>) pdom.getCachedResult(key);
-			CharArrayMap<List<PDOMBinding>> map= cached == null ? null : cached.get();
+			ct.getMemberIndex().add((PDOMBinding) member);
+			CharArrayMap<List<PDOMBinding>> map= getCachedBindingMap(ct);
 			if (map != null) {
 				new PopulateMap(map).visit(member);
 			}
+			// The members of an anonymous class are also members of the enclosing class.
+			if (ct.isAnonymous()) {
+				IBinding owner= ct.getOwner();
+				if (owner instanceof IPDOMCPPClassType) {
+					memberAdded((IPDOMCPPClassType) owner, member);
+				}
+			}
 		}
 	}
 
-	public static CharArrayMap<List<PDOMBinding>> getBindingMap(IPDOMCPPClassType ct) throws CoreException {
-		final Long key= ct.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
-		final PDOM pdom = ct.getPDOM();
+	private static CharArrayMap<List<PDOMBinding>> getCachedBindingMap(IPDOMCPPClassType ct) {
+		final Object key= new PDOMResultCache.Key(ct.getRecord(), Kind.MEMBERS);
 		@SuppressWarnings("unchecked")
-		Reference<CharArrayMap<List<PDOMBinding>>> cached= (Reference<CharArrayMap<List<PDOMBinding>>>) pdom.getCachedResult(key);
-		CharArrayMap<List<PDOMBinding>> map= cached == null ? null : cached.get();
-		
+		Reference<CharArrayMap<List<PDOMBinding>>> cached= (Reference<CharArrayMap<List<PDOMBinding>>>) ct.getPDOM().getCachedResult(key);
+		return cached == null ? null : cached.get();
+	}
+
+	public static CharArrayMap<List<PDOMBinding>> getBindingMap(IPDOMCPPClassType ct) throws CoreException {
+		CharArrayMap<List<PDOMBinding>> map= getCachedBindingMap(ct);
 		if (map == null) {
 			// There is no cache, build it:
 			map= new CharArrayMap<>();
 			IPDOMVisitor visitor= new PopulateMap(map);
 			visitor.visit(ct);
 			ct.acceptUncached(visitor);
-			pdom.putCachedResult(key, new SoftReference<CharArrayMap<?>>(map));
+			final Object key= new PDOMResultCache.Key(ct.getRecord(), Kind.MEMBERS);
+			ct.getPDOM().putCachedResult(key, new SoftReference<CharArrayMap<?>>(map));
 		}
 		return map;
 	}
@@ -43,6 +43,9 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPClassSpecializationScope;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
 import org.eclipse.cdt.internal.core.index.IIndexCPPBindingConstants;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMMemberOwner;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
@@ -58,12 +61,13 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 	private static final int FIRST_BASE = PDOMCPPSpecialization.RECORD_SIZE + 0;
 	private static final int MEMBERLIST = FIRST_BASE + 4;
 	private static final int FINAL = MEMBERLIST + PDOMCPPMemberBlock.RECORD_SIZE; // byte
+	private static final int MEMBER_INDEX = FINAL + 1;
 
 	/**
 	 * The size in bytes of a PDOMCPPClassSpecialization record in the database.
 	 */
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = FINAL + 1;
+	protected static final int RECORD_SIZE = MEMBER_INDEX + Database.PTR_SIZE;
 
 	private volatile ICPPClassScope fScope;
 	private ObjectMap specializationMap; // Obtained from the synchronized PDOM cache.
@@ -116,7 +120,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 	@Override
 	public IBinding specializeMember(IBinding original, IASTNode point) {
 		if (specializationMap == null) {
-			final Long key= record + PDOMCPPLinkage.CACHE_INSTANCE_SCOPE;
+			final Object key= new PDOMResultCache.Key(record, Kind.INSTANCE_SCOPES);
 			Object cached= getPDOM().getCachedResult(key);
 			if (cached != null) {
 				specializationMap= (ObjectMap) cached;
@@ -194,7 +198,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 	}
 
 	public void addBases(PDOMName classDefName, ICPPBase[] bases) throws CoreException {
-		getPDOM().removeCachedResult(record+PDOMCPPLinkage.CACHE_BASES);
+		getPDOM().removeCachedResult(new PDOMResultCache.Key(record, Kind.BASES));
 		final PDOMLinkage linkage = getLinkage();
 		PDOMCPPBase firstBase = getFirstBase();
 		for (ICPPBase base : bases) {
@@ -206,7 +210,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 	}
 
 	public void removeBases(PDOMName classDefName) throws CoreException {
-		getPDOM().removeCachedResult(record+PDOMCPPLinkage.CACHE_BASES);
+		getPDOM().removeCachedResult(new PDOMResultCache.Key(record, Kind.BASES));
 		PDOMCPPBase base= getFirstBase();
 		PDOMCPPBase predecessor= null;
 		long nameRec= classDefName.getRecord();
@@ -251,7 +255,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 		}
 
 		// This is an explicit specialization.
-		Long key= record + PDOMCPPLinkage.CACHE_BASES;
+		Object key= new PDOMResultCache.Key(record, Kind.BASES);
 		ICPPBase[] bases= (ICPPBase[]) getPDOM().getCachedResult(key);
 		if (bases != null)
 			return bases;
@@ -482,11 +486,17 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 		getDB().putByte(record + FINAL, (byte) (ct.isFinal() ? 1 : 0));
 	}
 
+	@Override
+	public PDOMCPPMemberIndex getMemberIndex() {
+		return new PDOMCPPMemberIndex(getLinkage(), record + MEMBER_INDEX);
+	}
+
 	@Override
 	public void addMember(PDOMNode member, int visibility) {
 		try {
 			PDOMCPPMemberBlock members = new PDOMCPPMemberBlock(getLinkage(), record + MEMBERLIST);
 			members.addMember(member, visibility);
+			PDOMCPPClassScope.memberAdded(this, member);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
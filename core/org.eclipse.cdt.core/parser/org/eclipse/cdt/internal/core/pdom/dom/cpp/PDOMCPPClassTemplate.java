@@ -38,7 +38,9 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInstanceCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.index.IIndexCPPBindingConstants;
+import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
 import org.eclipse.core.runtime.CoreException;
@@ -51,12 +53,13 @@ public class PDOMCPPClassTemplate extends PDOMCPPClassType
 	private static final int PARAMETERS = PDOMCPPClassType.RECORD_SIZE + 0;
 	private static final short RELEVANT_PARAMETERS= PDOMCPPClassType.RECORD_SIZE + 4;
 	private static final int FIRST_PARTIAL = PDOMCPPClassType.RECORD_SIZE + 6;
+	private static final int INSTANCES = PDOMCPPClassType.RECORD_SIZE + 10;
 	
 	/**
 	 * The size in bytes of a PDOMCPPClassTemplate record in the database.
 	 */
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = PDOMCPPClassType.RECORD_SIZE + 10;
+	protected static final int RECORD_SIZE = PDOMCPPClassType.RECORD_SIZE + 14;
 	
 	private volatile ICPPTemplateParameter[] params;  // Cached template parameters.
 	
@@ -272,6 +275,32 @@ public class PDOMCPPClassTemplate extends PDOMCPPClassType
 		return PDOMInstanceCache.getCache(this).getInstance(arguments);	
 	}
 
+	/**
+	 * Adds an instance of this template to the persistent index of instances.
+	 */
+	void addPersistedInstance(ICPPTemplateInstance instance, long instanceRecord) throws CoreException {
+		try {
+			String key= IndexCPPSignatureUtil.getTemplateArgString(instance.getTemplateArguments(), true);
+			new PDOMInstanceIndex(getDB(), record + INSTANCES).add(key, instanceRecord);
+		} catch (DOMException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Looks up an instance of this template with the given template arguments in the persistent
+	 * index of instances, without loading any of the other instances.
+	 */
+	ICPPTemplateInstance findPersistedInstance(String key) throws CoreException {
+		long instanceRecord= new PDOMInstanceIndex(getDB(), record + INSTANCES).find(key);
+		if (instanceRecord != 0) {
+			PDOMBinding binding= getLinkage().getBinding(instanceRecord);
+			if (binding instanceof ICPPTemplateInstance)
+				return (ICPPTemplateInstance) binding;
+		}
+		return null;
+	}
+
 	@Override
 	public void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
 		PDOMInstanceCache.getCache(this).addInstance(arguments, instance);	
@@ -38,6 +38,8 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.index.IIndexCPPBindingConstants;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMMemberOwner;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
@@ -55,8 +57,9 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 	private static final int KEY = FIRSTFRIEND + 4; // byte
 	private static final int ANONYMOUS = KEY + 1; // byte
 	private static final int FINAL = ANONYMOUS + 1; // byte
+	private static final int MEMBER_INDEX = FINAL + 1;
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = FINAL + 1;
+	protected static final int RECORD_SIZE = MEMBER_INDEX + Database.PTR_SIZE;
 
 	private PDOMCPPClassScope fScope; // No need for volatile, all fields of PDOMCPPClassScope are final.
 
@@ -142,7 +145,7 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 	}
 
 	public void addBases(PDOMName classDefName, ICPPBase[] bases) throws CoreException {
-		getPDOM().removeCachedResult(record + PDOMCPPLinkage.CACHE_BASES);
+		getPDOM().removeCachedResult(new PDOMResultCache.Key(record, Kind.BASES));
 		final PDOMLinkage linkage = getLinkage();
 		PDOMCPPBase firstBase = getFirstBase();
 		for (ICPPBase base : bases) {
@@ -156,7 +159,7 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 	public void removeBases(PDOMName classDefName) throws CoreException {
 		final PDOM pdom = getPDOM();
 		final Database db = getDB();
-		pdom.removeCachedResult(record + PDOMCPPLinkage.CACHE_BASES);
+		pdom.removeCachedResult(new PDOMResultCache.Key(record, Kind.BASES));
 		
 		PDOMCPPBase base= getFirstBase();
 		PDOMCPPBase prevBase= null;
@@ -302,7 +305,7 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 
 	@Override
 	public ICPPBase[] getBases() {
-		Long key= record + PDOMCPPLinkage.CACHE_BASES;
+		Object key= new PDOMResultCache.Key(record, Kind.BASES);
 		ICPPBase[] bases= (ICPPBase[]) getPDOM().getCachedResult(key);
 		if (bases != null)
 			return bases;
@@ -414,12 +417,17 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 		return null;
 	}
 
+	@Override
+	public PDOMCPPMemberIndex getMemberIndex() {
+		return new PDOMCPPMemberIndex(getLinkage(), record + MEMBER_INDEX);
+	}
+
 	@Override
 	public void addMember(PDOMNode member, int visibility) {
 		try {
 			PDOMCPPMemberBlock members = new PDOMCPPMemberBlock(getLinkage(), record + MEMBERLIST);
 			members.addMember(member, visibility);
-			PDOMCPPClassScope.updateCache(this, member);
+			PDOMCPPClassScope.memberAdded(this, member);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
@@ -35,6 +35,8 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -137,7 +139,7 @@ class PDOMCPPEnumScope implements ICPPEnumScope, IIndexScope {
 	}
 
 	private static CharArrayMap<IPDOMCPPEnumerator> getBindingMap(IPDOMCPPEnumType enumeration) throws CoreException {
-		final Long key= enumeration.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
+		final Object key= new PDOMResultCache.Key(enumeration.getRecord(), Kind.MEMBERS);
 		final PDOM pdom = enumeration.getPDOM();
 		@SuppressWarnings("unchecked")
 		Reference<CharArrayMap<IPDOMCPPEnumerator>> cached= (Reference<CharArrayMap<IPDOMCPPEnumerator>>) pdom.getCachedResult(key);
@@ -153,7 +155,7 @@ class PDOMCPPEnumScope implements ICPPEnumScope, IIndexScope {
 	}
 
 	public static void updateCache(IPDOMCPPEnumType enumType, IPDOMCPPEnumerator enumItem) {
-		final Long key= enumType.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
+		final Object key= new PDOMResultCache.Key(enumType.getRecord(), Kind.MEMBERS);
 		final PDOM pdom = enumType.getPDOM();
 		@SuppressWarnings("unchecked")
 		Reference<CharArrayMap<IPDOMCPPEnumerator>> cached= (Reference<CharArrayMap<IPDOMCPPEnumerator>>) pdom.getCachedResult(key);
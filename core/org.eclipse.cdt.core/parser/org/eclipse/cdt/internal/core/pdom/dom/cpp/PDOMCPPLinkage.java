@@ -127,6 +127,8 @@ import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexCPPBindingConstants;
 import org.eclipse.cdt.internal.core.index.composite.CompositeIndexBinding;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
@@ -146,11 +148,6 @@ import org.eclipse.core.runtime.CoreException;
  * Container for c++-entities.
  */
 class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
-	public final static int CACHE_MEMBERS= 0;
-	public final static int CACHE_BASES= 1;
-	public final static int CACHE_INSTANCES= 2;
-	public final static int CACHE_INSTANCE_SCOPE= 3;
-
 	private final static int FIRST_NAMESPACE_CHILD_OFFSET= PDOMLinkage.RECORD_SIZE;
 
 	@SuppressWarnings("hiding")
@@ -860,7 +857,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 
 	@Override
 	public PDOMCPPNamespace[] getInlineNamespaces() {
-		final Long key = record + CACHE_BASES;
+		final Object key= new PDOMResultCache.Key(record, Kind.NAMESPACES);
 		PDOMCPPNamespace[] result= (PDOMCPPNamespace[]) getPDOM().getCachedResult(key);
 		if (result == null) {
 			List<PDOMCPPNamespace> nslist = PDOMCPPNamespace.collectInlineNamespaces(getDB(),
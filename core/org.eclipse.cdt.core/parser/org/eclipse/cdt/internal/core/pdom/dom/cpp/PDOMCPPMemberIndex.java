@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom.cpp;
+
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMNamedNode;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Persistent index of the members of a class, sorted by name. Includes the members nested
+ * in anonymous composite types. Allows for looking up a member by name without visiting all
+ * members of the class.
+ */
+public final class PDOMCPPMemberIndex {
+	private final PDOMLinkage fLinkage;
+	private final BTree fIndex;
+
+	/**
+	 * Creates an object for accessing the index with its root stored at the given address.
+	 */
+	public PDOMCPPMemberIndex(PDOMLinkage linkage, long rootPointer) {
+		fLinkage= linkage;
+		final Database db= linkage.getDB();
+		fIndex= new BTree(db, rootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				int cmp= PDOMNamedNode.getDBName(db, record1).compareCompatibleWithIgnoreCase(
+						PDOMNamedNode.getDBName(db, record2));
+				if (cmp == 0) {
+					cmp= record1 < record2 ? -1 : (record1 > record2 ? 1 : 0);
+				}
+				return cmp;
+			}
+		});
+	}
+
+	public void add(PDOMBinding member) throws CoreException {
+		fIndex.insert(member.getRecord());
+	}
+
+	/**
+	 * Returns the members with the given name that are accepted by the filter.
+	 */
+	public PDOMBinding[] find(char[] name, IndexFilter filter) throws CoreException {
+		BindingCollector visitor= new BindingCollector(fLinkage, name, filter, false, false, true);
+		fIndex.accept(visitor);
+		return visitor.getBindings();
+	}
+}
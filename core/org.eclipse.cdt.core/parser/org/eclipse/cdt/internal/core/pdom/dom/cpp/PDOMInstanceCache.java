@@ -19,6 +19,8 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPDeferredClassInstance;
 import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache.Kind;
 import org.eclipse.cdt.internal.core.pdom.dom.NamedNodeCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNamedNode;
@@ -30,27 +32,30 @@ public class PDOMInstanceCache {
 	public static PDOMInstanceCache getCache(PDOMBinding binding) {
 		final PDOM pdom= binding.getPDOM();
 		final long record= binding.getRecord();
-		final Long key = record + PDOMCPPLinkage.CACHE_INSTANCES;
+		final Object key= new PDOMResultCache.Key(record, Kind.INSTANCES);
 		Object cache= pdom.getCachedResult(key);
 		if (cache instanceof PDOMInstanceCache) {
 			return (PDOMInstanceCache) cache;
 		}
 		
-		PDOMInstanceCache newCache= new PDOMInstanceCache();
-		try {
-			newCache.populate(binding);
-		} catch (CoreException e) {
-			CCorePlugin.log(e);
+		PDOMInstanceCache newCache= new PDOMInstanceCache(binding);
+		if (!(binding instanceof PDOMCPPClassTemplate)) {
+			// Instances of class templates are looked up in the persistent index of instances,
+			// all others are loaded up front.
+			newCache.populate();
 		}
 		
 		newCache= (PDOMInstanceCache) pdom.putCachedResult(key, newCache, false);
 		return newCache;
 	}
 	
+	private final PDOMBinding fBinding;
 	private final HashMap<String, ICPPTemplateInstance> fMap;
 	private ICPPDeferredClassInstance fDeferredInstance;
+	private boolean fPopulated;
 
-	public PDOMInstanceCache() {
+	public PDOMInstanceCache(PDOMBinding binding) {
+		fBinding= binding;
 		fMap= new HashMap<>();
 	}
 	
@@ -67,7 +72,14 @@ public class PDOMInstanceCache {
 	synchronized public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {		
 		try {
 			String key= IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
-			return fMap.get(key);
+			ICPPTemplateInstance result= fMap.get(key);
+			if (result == null && !fPopulated) {
+				result= ((PDOMCPPClassTemplate) fBinding).findPersistedInstance(key);
+				if (result != null) {
+					fMap.put(key, result);
+				}
+			}
+			return result;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -75,26 +87,40 @@ public class PDOMInstanceCache {
 		return null;
 	}
 	
-	private void populate(PDOMBinding binding) throws CoreException {
-		PDOMNode parent= binding.getParentNode();
-		if (parent == null) {
-			parent= binding.getLinkage();
-		}
-		NamedNodeCollector nn= new NamedNodeCollector(binding.getLinkage(), binding.getNameCharArray());
-		parent.accept(nn);
-		PDOMNamedNode[] nodes= nn.getNodes();
-		for (PDOMNamedNode node : nodes) {
-			if (node instanceof ICPPTemplateInstance) {
-				ICPPTemplateInstance inst= (ICPPTemplateInstance) node;
-				if (binding.equals(inst.getTemplateDefinition())) {
-					ICPPTemplateArgument[] args= inst.getTemplateArguments();
-					addInstance(args, inst);
+	private void populate() {
+		fPopulated= true;
+		try {
+			PDOMNode parent= fBinding.getParentNode();
+			if (parent == null) {
+				parent= fBinding.getLinkage();
+			}
+			NamedNodeCollector nn= new NamedNodeCollector(fBinding.getLinkage(), fBinding.getNameCharArray());
+			parent.accept(nn);
+			PDOMNamedNode[] nodes= nn.getNodes();
+			for (PDOMNamedNode node : nodes) {
+				if (node instanceof ICPPTemplateInstance) {
+					ICPPTemplateInstance inst= (ICPPTemplateInstance) node;
+					if (fBinding.equals(inst.getTemplateDefinition())) {
+						try {
+							String key= IndexCPPSignatureUtil.getTemplateArgString(inst.getTemplateArguments(), true);
+							// Instances added in memory take precedence.
+							if (!fMap.containsKey(key)) {
+								fMap.put(key, inst);
+							}
+						} catch (DOMException e) {
+						}
+					}
 				}
 			}
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
 		}
 	}
 
 	synchronized public ICPPTemplateInstance[] getAllInstances() {
+		if (!fPopulated) {
+			populate();
+		}
 		return fMap.values().toArray(new ICPPTemplateInstance[fMap.size()]);
 	}
 
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom.cpp;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Persistent index of the instances of a class template stored in the database. The instances
+ * are keyed by the signature of their template arguments, as computed by
+ * {@link org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil#getTemplateArgString}.
+ * Allows for looking up a single instance without loading all instances of the template.
+ */
+class PDOMInstanceIndex {
+	private static final int KEY = 0;
+	private static final int INSTANCE = 4;
+	private static final int RECORD_SIZE = 8;
+
+	private final Database fDatabase;
+	private final BTree fIndex;
+
+	/**
+	 * Creates an object for accessing the index with its root stored at the given address.
+	 */
+	public PDOMInstanceIndex(final Database db, long rootPointer) {
+		fDatabase= db;
+		fIndex= new BTree(db, rootPointer, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				IString left= db.getString(db.getRecPtr(record1 + KEY));
+				IString right= db.getString(db.getRecPtr(record2 + KEY));
+				return left.compare(right, true);
+			}
+		});
+	}
+
+	/**
+	 * Adds an instance to the index, unless there is already an instance for the given key.
+	 */
+	public void add(String key, long instanceRecord) throws CoreException {
+		if (find(key) != 0)
+			return;
+		long record= fDatabase.malloc(RECORD_SIZE);
+		fDatabase.putRecPtr(record + KEY, fDatabase.newString(key).getRecord());
+		fDatabase.putRecPtr(record + INSTANCE, instanceRecord);
+		fIndex.insert(record);
+	}
+
+	/**
+	 * Returns the record of the instance for the given key, or {@code 0}.
+	 */
+	public long find(final String key) throws CoreException {
+		final long[] result= { 0 };
+		fIndex.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return fDatabase.getString(fDatabase.getRecPtr(record + KEY)).compare(key, true);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0]= fDatabase.getRecPtr(record + INSTANCE);
+				return false; // There are no duplicates.
+			}
+		});
+		return result[0];
+	}
+}
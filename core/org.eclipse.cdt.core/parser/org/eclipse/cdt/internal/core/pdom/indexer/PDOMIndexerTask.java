@@ -30,11 +30,13 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -68,6 +70,8 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		final long functionBodiesLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB, 0);
+		setFunctionBodiesSizeLimit(functionBodiesLimit * 1024 * 1024);
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -302,6 +306,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			if (fStatistics.fTooManyTokensCount > 0)
 				System.out.println(indent + " Tokens: " //$NON-NLS-1$
 					+ fStatistics.fTooManyTokensCount + " TUs with too many tokens."); //$NON-NLS-1$
+			System.out.println(indent + " Parser: "    //$NON-NLS-1$
+					+ fStatistics.fBacktrackCount + " backtracks, "    //$NON-NLS-1$
+					+ fStatistics.fMemoHitCount + " memoized speculations.");    //$NON-NLS-1$
 
 			NumberFormat nfPercent= NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
@@ -311,6 +318,12 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ fStatistics.fReferenceCount + " references, "    //$NON-NLS-1$
 					+ fStatistics.fProblemBindingCount + "(" + nfPercent.format(problemPct) + ") unresolved.");     //$NON-NLS-1$ //$NON-NLS-2$
 
+			final int lookups= fStatistics.fLookupCacheHits + fStatistics.fLookupCacheMisses;
+			final double lookupHitPct= lookups == 0 ? 0.0 : (double) fStatistics.fLookupCacheHits / (double) lookups;
+			System.out.println(indent + " Lookup cache: "    //$NON-NLS-1$
+					+ fStatistics.fLookupCacheHits + "(" + nfPercent.format(lookupHitPct) + ") hits, "    //$NON-NLS-1$ //$NON-NLS-2$
+					+ fStatistics.fLookupCacheMisses + " misses.");    //$NON-NLS-1$
+
 			long misses= index.getCacheMisses();
 			long hits= index.getCacheHits();
 			long tries= misses + hits;
@@ -319,6 +332,11 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " +    //$NON-NLS-1$
 					+ hits + " hits, "      //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses.");      //$NON-NLS-1$ //$NON-NLS-2$
+			IWritableIndexFragment fragment= index.getWritableFragment();
+			if (fragment instanceof PDOM) {
+				System.out.println(indent + " Result cache: "    //$NON-NLS-1$
+						+ ((PDOM) fragment).getResultCache() + " hits/requests.");    //$NON-NLS-1$
+			}
 
 			if ("true".equals(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) {    //$NON-NLS-1$ //$NON-NLS-2$
 				Calendar cal = Calendar.getInstance();
@@ -17,6 +17,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 
 import junit.framework.TestSuite;
 
@@ -357,6 +358,36 @@ public class BasicSearchTest extends BaseUITestCase {
 		assertOccurrences(query, 3);
 	}
 	
+	// void foo() {}
+
+	// void bar() {
+	//   foo();
+	// }
+	public void testLineElementsOnSearchAgain() throws Exception {
+		CSearchQuery query= makeProjectQuery("foo");
+		assertLineElements(query, "1: void foo() {}", "3: foo();");
+		assertLineElements(query, "1: void foo() {}", "3: foo();");
+
+		String newContent= "\n\n\nvoid bar() {foo();}";
+		IFile file = fCProject.getProject().getFile(new Path("references.cpp"));
+		file.setContents(new ByteArrayInputStream(newContent.getBytes()), IResource.FORCE, npm());
+		waitForIndexer(fCProject);
+
+		assertLineElements(query, "1: void foo() {}", "4: void bar() {foo();}");
+	}
+
+	private void assertLineElements(CSearchQuery query, String... expected) {
+		query.run(npm());
+		CSearchResult result= (CSearchResult) query.getSearchResult();
+		Object[] elements= result.getElements();
+		String[] actual= new String[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			actual[i]= elements[i].toString();
+		}
+		Arrays.sort(actual);
+		assertEquals(Arrays.asList(expected), Arrays.asList(actual));
+	}
+
 	//	template<typename T> class CT {};
 	//	template<typename T> class CT<T*> {};
 	//	template<typename T> void f(T) {};
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.ui.tests.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import junit.framework.TestSuite;
+
+import org.eclipse.core.runtime.Path;
+import org.osgi.framework.Bundle;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.browser.ITypeInfo;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.ui.testplugin.CTestPlugin;
+import org.eclipse.cdt.ui.tests.BaseUITestCase;
+
+import org.eclipse.cdt.internal.ui.browser.opentype.TypeInfoTable;
+
+/**
+ * Tests the table answering the queries of the element selection dialog.
+ */
+public class TypeInfoTableTest extends BaseUITestCase {
+	private ICProject fCProject;
+	private IIndex fIndex;
+
+	public static TestSuite suite() {
+		return suite(TypeInfoTableTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject= CProjectHelper.createCCProject(getName() + System.currentTimeMillis(), "bin", IPDOMManager.ID_FAST_INDEXER);
+		Bundle b= CTestPlugin.getDefault().getBundle();
+		CharSequence[] testData= TestSourceReader.getContentsForTest(b, "ui", getClass(), getName(), 1);
+		TestSourceReader.createFile(fCProject.getProject(), new Path("source.cpp"), testData[0].toString());
+		waitForIndexer(fCProject);
+		fIndex= CCorePlugin.getIndexManager().getIndex(getProjects(),
+				IIndexManager.ADD_EXTENSION_FRAGMENTS_NAVIGATION);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			fCProject.getProject().delete(true, npm());
+		}
+		super.tearDown();
+	}
+
+	private static ICProject[] getProjects() throws Exception {
+		return CoreModel.getDefault().getCModel().getCProjects();
+	}
+
+	private String findElements(TypeInfoTable table, String prefix, int... kinds) throws Exception {
+		BitSet kindSet= new BitSet();
+		for (int kind : kinds) {
+			kindSet.set(kind);
+		}
+		fIndex.acquireReadLock();
+		try {
+			ITypeInfo[] elements= table.findElements(fIndex, prefix.toCharArray(), kindSet, npm());
+			String[] names= new String[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				names[i]= elements[i].getQualifiedTypeName().getFullyQualifiedName();
+			}
+			Arrays.sort(names);
+			return Arrays.toString(names);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	//	class Widget {
+	//		void paint();
+	//	};
+	//	namespace ns {
+	//		class widgetFactory {};
+	//		int widgetCount;
+	//	}
+	//	void paint(int);
+	//	void paint(double);
+	//	static void width() {}
+	//	#define WIDGET_MAX 10
+	public void testPrefixQueries() throws Exception {
+		TypeInfoTable table= TypeInfoTable.build(npm());
+		BitSet kinds= table.getKinds();
+		assertTrue(kinds.get(ICElement.C_CLASS));
+		assertTrue(kinds.get(ICElement.C_MACRO));
+
+		assertEquals("[Widget, ns::widgetFactory]", findElements(table, "wiDG", ICElement.C_CLASS));
+		assertEquals("[WIDGET_MAX, Widget, ns::widgetCount, ns::widgetFactory]",
+				findElements(table, "widget", ICElement.C_CLASS, ICElement.C_VARIABLE, ICElement.C_MACRO));
+		assertEquals("[width]", findElements(table, "wid", ICElement.C_FUNCTION));
+		assertEquals("[Widget::paint, paint, paint]", findElements(table, "paint", ICElement.C_FUNCTION));
+		assertEquals("[]", findElements(table, "widgets", ICElement.C_CLASS));
+	}
+
+	//	class Widget {};
+	public void testTableIsInvalidatedByIndexChange() throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			// The first query schedules the build in the background.
+			TypeInfoTable.getTable(getProjects(), fIndex);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+		TypeInfoTable table= waitForTable();
+		assertEquals("[Widget]", findElements(table, "W", ICElement.C_CLASS));
+
+		TestSourceReader.createFile(fCProject.getProject(), new Path("other.cpp"), "class Wheel {};");
+		waitForIndexer(fCProject);
+		fIndex.acquireReadLock();
+		try {
+			assertNull(TypeInfoTable.getTable(getProjects(), fIndex));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+		table= waitForTable();
+		assertEquals("[Wheel, Widget]", findElements(table, "W", ICElement.C_CLASS));
+	}
+
+	private TypeInfoTable waitForTable() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			fIndex.acquireReadLock();
+			try {
+				TypeInfoTable table= TypeInfoTable.getTable(getProjects(), fIndex);
+				if (table != null)
+					return table;
+			} finally {
+				fIndex.releaseReadLock();
+			}
+			Thread.sleep(50);
+		}
+		fail("The table has not been built");
+		return null;
+	}
+}
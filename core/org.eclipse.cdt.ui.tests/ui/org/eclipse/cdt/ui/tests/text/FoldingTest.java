@@ -311,4 +311,88 @@ public class FoldingTest extends TestCase {
 		assertEqualPositions(expected, actual);
 	}
 
+	/**
+	 * Applies the given edits, waits for the reconciler and compares the incrementally updated
+	 * folding structure with the one computed from scratch.
+	 */
+	private Position[] assertIncrementalFolding(String[] texts, int[] lines, int[] deletedLines) throws BadLocationException {
+		IDocument document= fSourceViewer.getDocument();
+		// edit from the end of the document such that the line numbers stay valid
+		for (int i= texts.length - 1; i >= 0; i--) {
+			int offset= document.getLineOffset(lines[i]);
+			int length= deletedLines[i] > 0 ? document.getLineOffset(lines[i] + deletedLines[i]) - offset : 0;
+			document.replace(offset, length, texts[i]);
+		}
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 300));
+		Position[] actual= getFoldingPositions();
+
+		fEditor.getAction("FoldingToggle").run();
+		fEditor.getAction("FoldingToggle").run();
+		Position[] expected= getFoldingPositions();
+		assertEquals(toString(expected), toString(actual));
+		assertEqualPositions(expected, actual);
+		return actual;
+	}
+
+	public void testIncrementalFolding_BodyEdit() throws BadLocationException {
+		Position[] actual= assertIncrementalFolding(new String[] { "\t\tj++;\n" }, new int[] { 78 }, new int[] { 0 });
+		Position[] expected= new Position[] {
+				createPosition(0, 2, 1),
+				createPosition(4, 7),
+				createPosition(9, 12),
+				createPosition(10, 12),
+				createPosition(13, 14),
+				createPosition(15, 27),
+				createPosition(16, 26),
+				createPosition(17, 20),
+				createPosition(18, 20),
+				createPosition(21, 25),
+				createPosition(22, 24),
+				createPosition(29, 31, 30),
+				createPosition(34, 35),
+				createPosition(35, 40),
+				createPosition(36, 38),
+				createPosition(42, 46),
+				createPosition(48, 55),
+				createPosition(51, 53),
+				createPosition(57, 59),
+				createPosition(61, 63),
+				createPosition(65, 67),
+				createPosition(70, 105, 71),
+				createPosition(75, 76),
+				createPosition(77, 80),
+				createPosition(81, 83),
+				createPosition(84, 86),
+				createPosition(87, 95),
+				createPosition(88, 90),
+				createPosition(91, 92),
+				createPosition(93, 94),
+				createPosition(96, 98),
+				createPosition(100, 103),
+				createPosition(107, 111),
+				createPosition(114, 118, 116),
+				createPosition(120, 128),
+				createPosition(121, 123),
+				createPosition(124, 127),
+				createPosition(130, 131),
+		};
+		assertEquals(toString(expected), toString(actual));
+		assertEqualPositions(expected, actual);
+	}
+
+	public void testIncrementalFolding_AddedElement() throws BadLocationException {
+		assertIncrementalFolding(new String[] { "int added() {\n\treturn 1;\n}\n" }, new int[] { 33 }, new int[] { 0 });
+	}
+
+	public void testIncrementalFolding_RemovedElement() throws BadLocationException {
+		// remove struct CppStruct
+		assertIncrementalFolding(new String[] { "" }, new int[] { 61 }, new int[] { 4 });
+	}
+
+	public void testIncrementalFolding_MultipleEdits() throws BadLocationException {
+		// edit the bodies of func and main and remove union CppUnion before the reconciler runs
+		assertIncrementalFolding(new String[] { "\tint z= 0;\n", "", "\t\tj++;\n" },
+				new int[] { 39, 65, 78 }, new int[] { 0, 4, 0 });
+	}
+
 }
@@ -15,6 +15,8 @@ package org.eclipse.cdt.ui.tests.text;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -130,11 +132,17 @@ public class SemanticHighlightingTest extends TestCase {
 	// Note: This is not an override of the TestCase.setUp(), but a method called directly
 	// by the tests, so that they can specify a value for 'isCpp' on a per-test basis.
 	private void setup(boolean isCpp) throws Exception {
+		setup(isCpp, null);
+	}
+
+	// If a header name is given, the first part of the test data is created as a header
+	// in the project rather than as an external file.
+	private void setup(boolean isCpp, String headerName) throws Exception {
 		enableHighlightingsAndAssignColors();
 		
 		StringBuilder[] testData = TestSourceReader.getContentsForTest(CTestPlugin.getDefault().getBundle(), "ui", getClass(), getName(), 0);
 		
-		if (testData.length == 2) {
+		if (testData.length == 2 && headerName == null) {
 			fExternalFile= createExternalFile(testData[0].toString());
 			assertNotNull(fExternalFile);
 			// Load the file using option -include to make it part of the index.
@@ -142,6 +150,9 @@ public class SemanticHighlightingTest extends TestCase {
 		}
 		
 		fCProject= CProjectHelper.createCCProject("SHTest", "bin", IPDOMManager.ID_FAST_INDEXER);
+		if (headerName != null) {
+			TestSourceReader.createFile(fCProject.getProject(), new Path(headerName), testData[0].toString());
+		}
 		String sourceFileName = isCpp ? "SHTest.cpp" : "SHTest.c";
 		IFile sourceFile = TestSourceReader.createFile(fCProject.getProject(), new Path(sourceFileName), 
 				testData.length == 2 ? testData[1].toString() : testData[0].toString());
@@ -177,13 +188,66 @@ public class SemanticHighlightingTest extends TestCase {
 	}
 
 	private Position[] getSemanticHighlightingPositions() throws BadPositionCategoryException {
-		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, CEditor.class).get("fSemanticManager");
+		SemanticHighlightingManager manager= getSemanticHighlightingManager();
 		SemanticHighlightingPresenter presenter= (SemanticHighlightingPresenter) new Accessor(manager, manager.getClass()).get("fPresenter");
 		String positionCategory= (String) new Accessor(presenter, presenter.getClass()).invoke("getPositionCategory", new Object[0]);
 		IDocument document= fSourceViewer.getDocument();
 		return document.getPositions(positionCategory);
 	}
 
+	private SemanticHighlightingManager getSemanticHighlightingManager() {
+		return (SemanticHighlightingManager) new Accessor(fEditor, CEditor.class).get("fSemanticManager");
+	}
+
+	/**
+	 * Returns the highlighted positions in the form <code>line:text=preferenceKey</code>.
+	 */
+	private List<String> describeSemanticHighlightingPositions() throws Exception {
+		IDocument document = fSourceViewer.getDocument();
+		Position[] positions = getSemanticHighlightingPositions();
+		Arrays.sort(positions, new Comparator<Position>() {
+			@Override
+			public int compare(Position p0, Position p1) {
+				return p0.getOffset() - p1.getOffset();
+			}
+		});
+		List<String> result = new ArrayList<String>();
+		for (Position p : positions) {
+			RGB color = ((HighlightedPosition) p).getHighlighting().getTextAttribute().getForeground().getRGB();
+			result.add(document.getLineOfOffset(p.getOffset()) + ":" + document.get(p.getOffset(), p.getLength())
+					+ "=" + fColorToPreferenceKeyMap.get(color));
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces the first occurrence of each of the given texts before waiting for the reconciler,
+	 * and checks that the resulting highlighting equals the one of a full reconcile.
+	 */
+	private List<String> editAndReconcile(String[] texts, String[] replacements) throws Exception {
+		IDocument document = fSourceViewer.getDocument();
+		for (int i = 0; i < texts.length; i++) {
+			int offset = document.get().indexOf(texts[i]);
+			assertTrue(offset >= 0);
+			document.replace(offset, texts[i].length(), replacements[i]);
+		}
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 500, 10000, 100));
+		EditorTestHelper.joinBackgroundActivities();
+		EditorTestHelper.runEventQueue(100);
+		List<String> actual = describeSemanticHighlightingPositions();
+
+		getSemanticHighlightingManager().refresh();
+		EditorTestHelper.joinBackgroundActivities();
+		EditorTestHelper.runEventQueue(100);
+		List<String> expected = describeSemanticHighlightingPositions();
+		assertEquals(expected, actual);
+		return actual;
+	}
+
+	private List<String> editAndReconcile(String text, String replacement) throws Exception {
+		return editAndReconcile(new String[] { text }, new String[] { replacement });
+	}
+
 	private void makeAssertions(boolean isCpp) throws Exception {
 		setup(isCpp);
 		
@@ -434,4 +498,84 @@ public class SemanticHighlightingTest extends TestCase {
     public void testNPE_458317() throws Exception {
     	makeAssertions();
     }
+
+	//	int globalVariable;
+	//	void f() {
+	//		int local;
+	//		local = 0;
+	//	}
+	//	void g() {
+	//	}
+	public void testEditInFunctionBody() throws Exception {
+		setup(true);
+		try {
+			List<String> positions = editAndReconcile("local = 0;", "local = globalVariable;");
+			assertTrue(positions.contains("3:globalVariable=globalVariable"));
+			positions = editAndReconcile("void g() {\n", "void g() {\n\tf();\n");
+			assertTrue(positions.contains("6:f=function"));
+		} finally {
+			teardown();
+		}
+	}
+
+	//	int globalVariable;
+	//	void f() {
+	//		int local;
+	//		local = other;
+	//	}
+	public void testEditOutsideFunctionBody() throws Exception {
+		setup(true);
+		try {
+			List<String> positions = editAndReconcile("int globalVariable;", "int globalVariable, other;");
+			assertTrue(positions.contains("3:other=globalVariable"));
+		} finally {
+			teardown();
+		}
+	}
+
+	//	int globalVariable;
+	//	void f() {
+	//		int local;
+	//		local = 0;
+	//	}
+	//	void g() {
+	//		int local;
+	//	}
+	public void testEditsInSeveralFunctionBodies() throws Exception {
+		setup(true);
+		try {
+			List<String> positions = editAndReconcile(new String[] { "local = 0;", "\tint local;\n\t}" },
+					new String[] { "local = globalVariable;", "\tint local = globalVariable;\n\t}" });
+			assertTrue(positions.contains("3:globalVariable=globalVariable"));
+			assertTrue(positions.contains("6:globalVariable=globalVariable"));
+		} finally {
+			teardown();
+		}
+	}
+
+	//	typedef int Type;
+
+	//	#include "header.h"
+	//	Type global;
+	//	void f() {
+	//		int local;
+	//	}
+	public void testIndexChangeDuringEditInFunctionBody() throws Exception {
+		setup(true, "header.h");
+		try {
+			assertTrue(describeSemanticHighlightingPositions().contains("1:Type=typedef"));
+			// Let the indexer update the header.
+			fIndex.releaseReadLock();
+			try {
+				TestSourceReader.createFile(fCProject.getProject(), new Path("header.h"), "struct Type {};\n");
+				BaseTestCase.waitForIndexer(fCProject);
+			} finally {
+				fIndex.acquireReadLock();
+			}
+			List<String> positions = editAndReconcile("int local;", "int local, other;");
+			assertTrue(positions.contains("1:Type=class"));
+		} finally {
+			teardown();
+		}
+	}
 }
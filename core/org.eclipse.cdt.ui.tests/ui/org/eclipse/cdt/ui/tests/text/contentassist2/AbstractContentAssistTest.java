@@ -105,19 +105,12 @@ public abstract class AbstractContentAssistTest extends BaseUITestCase {
 			System.out.println("\n\n\n\n\nTesting " + this.getClass().getName());
 		}
 
-		// Call the CContentAssistProcessor
 		ISourceViewer sourceViewer= EditorTestHelper.getSourceViewer((AbstractTextEditor)fEditor);
 		String contentType= TextUtilities.getContentType(sourceViewer.getDocument(), ICPartitions.C_PARTITIONING, offset, true);
 		boolean isCode= IDocument.DEFAULT_CONTENT_TYPE.equals(contentType);
-		ContentAssistant assistant = new ContentAssistant();
-		CContentAssistProcessor processor = new CContentAssistProcessor(fEditor, assistant, contentType);
 		long startTime= System.currentTimeMillis();
-		sourceViewer.setSelectedRange(offset, length);
-		Object[] results = isCompletion
-			? (Object[]) processor.computeCompletionProposals(sourceViewer, offset)
-			: (Object[]) processor.computeContextInformation(sourceViewer, offset);
+		Object[] results = invokeContentAssist(offset, length, isCompletion);
 		long endTime= System.currentTimeMillis();
-		assertTrue(results != null);
 
 		if (filterResults) {
 			if (isTemplate) {
@@ -165,6 +158,23 @@ public abstract class AbstractContentAssistTest extends BaseUITestCase {
 		}
 	}
 
+	/**
+	 * Calls the CContentAssistProcessor for the given selection.
+	 * @return the completion proposals or the context information
+	 */
+	protected Object[] invokeContentAssist(int offset, int length, boolean isCompletion) throws Exception {
+		ISourceViewer sourceViewer= EditorTestHelper.getSourceViewer((AbstractTextEditor)fEditor);
+		String contentType= TextUtilities.getContentType(sourceViewer.getDocument(), ICPartitions.C_PARTITIONING, offset, true);
+		ContentAssistant assistant = new ContentAssistant();
+		CContentAssistProcessor processor = new CContentAssistProcessor(fEditor, assistant, contentType);
+		sourceViewer.setSelectedRange(offset, length);
+		Object[] results = isCompletion
+			? (Object[]) processor.computeCompletionProposals(sourceViewer, offset)
+			: (Object[]) processor.computeContextInformation(sourceViewer, offset);
+		assertTrue(results != null);
+		return results;
+	}
+
 	protected void assertContentAssistResults(int offset, int length, String[] expected, boolean isCompletion, boolean isTemplate, CompareType compareType) throws Exception {
 		assertContentAssistResults(offset, length, expected, isCompletion, isTemplate, true, compareType);
 	}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.ui.tests.text.contentassist2;
+
+import junit.framework.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+
+import org.eclipse.cdt.internal.ui.text.contentassist.CCompletionProposal;
+
+/**
+ * Tests the reuse of completion proposals while the identifier is typed.
+ */
+public class CompletionResultCacheTest extends AbstractContentAssistTest {
+	private static final String SOURCE_FILE_NAME = "CompletionResultCacheTest.cpp";
+	private static final String CURSOR_LOCATION_TAG = "/*cursor*/";
+
+	protected int fCursorOffset;
+	private IProject fProject;
+
+	public CompletionResultCacheTest(String name) {
+		super(name, true);
+	}
+
+	public static Test suite() {
+		return BaseTestCase.suite(CompletionResultCacheTest.class, "_");
+	}
+
+	@Override
+	protected IFile setUpProjectContent(IProject project) throws Exception {
+		fProject= project;
+		StringBuilder sourceContent= getContentsForTest(1)[0];
+		fCursorOffset= sourceContent.indexOf(CURSOR_LOCATION_TAG);
+		assertTrue("No cursor location specified", fCursorOffset >= 0);
+		sourceContent.delete(fCursorOffset, fCursorOffset+CURSOR_LOCATION_TAG.length());
+		return createFile(project, SOURCE_FILE_NAME, sourceContent.toString());
+	}
+
+	private Object[] invokeCompletion(int offset) throws Exception {
+		return invokeContentAssist(offset, 0, true);
+	}
+
+	private CCompletionProposal findProposal(Object[] results, String replacement) {
+		for (Object result : results) {
+			if (result instanceof CCompletionProposal
+					&& replacement.equals(((CCompletionProposal) result).getReplacementString())) {
+				return (CCompletionProposal) result;
+			}
+		}
+		return null;
+	}
+
+	private void type(int offset, String text) throws Exception {
+		getDocument().replace(offset, 0, text);
+	}
+
+	//	int fooBar;
+	//	int fooBaz;
+	//	int fbar;
+	//	void something() {
+	//		f/*cursor*/
+	//	}
+	public void testReuseAndFiltering() throws Exception {
+		Object[] results= invokeCompletion(fCursorOffset);
+		CCompletionProposal fooBar= findProposal(results, "fooBar");
+		CCompletionProposal fooBaz= findProposal(results, "fooBaz");
+		assertNotNull(fooBar);
+		assertNotNull(fooBaz);
+		assertNotNull(findProposal(results, "fbar"));
+
+		type(fCursorOffset, "oo");
+		results= invokeCompletion(fCursorOffset + 2);
+		assertSame(fooBar, findProposal(results, "fooBar"));
+		assertSame(fooBaz, findProposal(results, "fooBaz"));
+		assertNull(findProposal(results, "fbar"));
+		assertEquals(3, fooBar.getReplacementLength());
+		assertEquals(fCursorOffset - 1, fooBar.getReplacementOffset());
+	}
+
+	//	int fooBar;
+	//	void something() {
+	//		f/*cursor*/
+	//	}
+	public void testInvalidationByEditOutsideIdentifier() throws Exception {
+		Object[] results= invokeCompletion(fCursorOffset);
+		CCompletionProposal fooBar= findProposal(results, "fooBar");
+		assertNotNull(fooBar);
+
+		type(0, "int x;\n");
+		results= invokeCompletion(fCursorOffset + 7);
+		CCompletionProposal newFooBar= findProposal(results, "fooBar");
+		assertNotNull(newFooBar);
+		assertNotSame(fooBar, newFooBar);
+	}
+
+	//	int fooBar;
+	//	void something() {
+	//		f/*cursor*/
+	//	}
+	public void testInvalidationByIndexChange() throws Exception {
+		Object[] results= invokeCompletion(fCursorOffset);
+		CCompletionProposal fooBar= findProposal(results, "fooBar");
+		assertNotNull(fooBar);
+
+		createFile(fProject, "other.cpp", "int fooOther;\n");
+		waitForIndexer(fCProject);
+		type(fCursorOffset, "o");
+		results= invokeCompletion(fCursorOffset + 1);
+		CCompletionProposal newFooBar= findProposal(results, "fooBar");
+		assertNotNull(newFooBar);
+		assertNotSame(fooBar, newFooBar);
+	}
+}
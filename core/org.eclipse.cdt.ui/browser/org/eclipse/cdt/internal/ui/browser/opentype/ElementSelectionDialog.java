@@ -12,6 +12,7 @@
 package org.eclipse.cdt.internal.ui.browser.opentype;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 
 import org.eclipse.core.runtime.CoreException;
@@ -48,6 +49,7 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.cdt.ui.browser.typeinfo.TypeSelectionDialog;
 
@@ -302,9 +304,21 @@ public class ElementSelectionDialog extends TypeSelectionDialog {
 				}
 			};
 			try {
-				IIndex index = CCorePlugin.getIndexManager().getIndex(CoreModel.getDefault().getCModel().getCProjects(), IIndexManager.ADD_EXTENSION_FRAGMENTS_NAVIGATION);
+				ICProject[] projects= CoreModel.getDefault().getCModel().getCProjects();
+				IIndex index = CCorePlugin.getIndexManager().getIndex(projects, IIndexManager.ADD_EXTENSION_FRAGMENTS_NAVIGATION);
 				index.acquireReadLock();
 				try {
+					TypeInfoTable table= TypeInfoTable.getTable(projects, index);
+					if (table != null) {
+						BitSet kinds= table.getKinds();
+						for (int kind= kinds.nextSetBit(0); kind >= 0; kind= kinds.nextSetBit(kind + 1)) {
+							if (!isVisibleType(kind)) {
+								kinds.clear(kind);
+							}
+						}
+						return table.findElements(index, prefix, kinds, monitor);
+					}
+
 					IIndexBinding[] bindings= index.findBindingsForPrefix(prefix, false, filter, monitor);
 					for (int i= 0; i < bindings.length; i++) {
 						if (i % 0x1000 == 0 && monitor.isCanceled()) {
@@ -31,6 +31,7 @@ public final class OpenTypeMessages extends NLS {
 	public static String OpenTypeDialog_message;
 	public static String ElementSelectionDialog_UpdateElementsJob_name;
 	public static String ElementSelectionDialog_UpdateElementsJob_inProgress;
+	public static String TypeInfoTable_BuildJob_name;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, OpenTypeMessages.class);
@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.browser.opentype;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.browser.ITypeInfo;
+import org.eclipse.cdt.core.browser.IndexTypeInfo;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.ui.CUIPlugin;
+
+import org.eclipse.cdt.internal.core.browser.IndexModelUtil;
+import org.eclipse.cdt.internal.core.util.ParallelQueryExecutor;
+
+/**
+ * Table of the names and kinds of all elements offered by the element selection dialog,
+ * sorted by the names ignoring case. A prefix query is answered by a binary search for
+ * the range of matching names. The names of the range with one of the requested kinds are
+ * looked up in the index in parallel chunks, such that type infos are created for
+ * the matching elements only.
+ * <p>
+ * The table is built in the background for the index of all projects and is valid as long
+ * as the index is not modified. It is rebuilt only when the indexer is idle and the index
+ * has not been written for a while, such that it is not rebuilt for every write during
+ * indexing. It is shared by all dialogs and held softly, such that it does not keep
+ * the memory for large indexes.
+ */
+public final class TypeInfoTable {
+	private static final char[] EMPTY_PREFIX = {};
+	private static final IndexTypeInfo[] NO_ELEMENTS = {};
+	private static final int CHUNK_SIZE = 0x400;
+	/** Time in milliseconds the index has to be unmodified before the table is rebuilt. */
+	private static final long QUIET_PERIOD = 2000;
+
+	private static SoftReference<TypeInfoTable> sTable;
+	private static Job sBuildJob;
+
+	private final Set<ICProject> fProjects;
+	private final long fTimestamp;
+	// One entry per distinct pair of name and kind, sorted by name ignoring case.
+	// The entries for the same name share the array.
+	private final char[][] fNames;
+	private final byte[] fKinds;
+	private final BitSet fKindSet;
+
+	private TypeInfoTable(Set<ICProject> projects, long timestamp, char[][] names, byte[] kinds) {
+		fProjects= projects;
+		fTimestamp= timestamp;
+		fNames= names;
+		fKinds= kinds;
+		fKindSet= new BitSet();
+		for (byte kind : kinds) {
+			fKindSet.set(kind);
+		}
+	}
+
+	/**
+	 * Returns the table for the given index of the given projects, or <code>null</code> if
+	 * there is no table for the current state of the index, yet. In the latter case the table
+	 * is built in the background as soon as the indexer is idle and the index has not been
+	 * written for a while. The index has to be locked.
+	 */
+	public static TypeInfoTable getTable(ICProject[] projects, IIndex index) {
+		Set<ICProject> projectSet= new HashSet<ICProject>(Arrays.asList(projects));
+		synchronized (TypeInfoTable.class) {
+			final long timestamp= index.getLastWriteAccess();
+			TypeInfoTable table= sTable != null ? sTable.get() : null;
+			if (table != null && table.fProjects.equals(projectSet) && table.fTimestamp == timestamp) {
+				return table;
+			}
+			if (sBuildJob == null && CCorePlugin.getIndexManager().isIndexerIdle()) {
+				sBuildJob= new Job(OpenTypeMessages.TypeInfoTable_BuildJob_name) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						try {
+							// Another write may have happened in the meantime, the next query
+							// schedules the job again.
+							if (!CCorePlugin.getIndexManager().isIndexerIdle())
+								return Status.OK_STATUS;
+							TypeInfoTable table= build(monitor);
+							synchronized (TypeInfoTable.class) {
+								sTable= new SoftReference<TypeInfoTable>(table);
+							}
+						} catch (CoreException e) {
+							CUIPlugin.log(e);
+						} catch (InterruptedException e) {
+							return Status.CANCEL_STATUS;
+						} catch (OperationCanceledException e) {
+							return Status.CANCEL_STATUS;
+						} finally {
+							synchronized (TypeInfoTable.class) {
+								sBuildJob= null;
+							}
+						}
+						return Status.OK_STATUS;
+					}
+				};
+				sBuildJob.setSystem(true);
+				sBuildJob.setPriority(Job.DECORATE);
+				long quiet= System.currentTimeMillis() - timestamp;
+				sBuildJob.schedule(quiet >= 0 && quiet < QUIET_PERIOD ? QUIET_PERIOD - quiet : 0);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Builds the table for the index of all projects. The build is canceled when
+	 * the indexer starts, also while the index is searched, such that the read lock does not
+	 * delay the indexer.
+	 */
+	public static TypeInfoTable build(final IProgressMonitor progressMonitor) throws CoreException, InterruptedException {
+		// The searches of the index poll the monitor, it reports cancellation as soon as
+		// an indexer task is queued.
+		final IProgressMonitor monitor= new ProgressMonitorWrapper(progressMonitor) {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || !CCorePlugin.getIndexManager().isIndexerIdle();
+			}
+		};
+		ICProject[] projects= CoreModel.getDefault().getCModel().getCProjects();
+		IIndex index= CCorePlugin.getIndexManager().getIndex(projects, IIndexManager.ADD_EXTENSION_FRAGMENTS_NAVIGATION);
+		final IndexFilter filter= new IndexFilter() {
+			@Override
+			public boolean acceptBinding(IBinding binding) throws CoreException {
+				return IndexModelUtil.getElementType(binding) >= 0 && IndexFilter.ALL_DECLARED.acceptBinding(binding);
+			}
+		};
+		Map<String, BitSet> kindsByName= new HashMap<String, BitSet>();
+		long timestamp;
+		index.acquireReadLock();
+		try {
+			timestamp= index.getLastWriteAccess();
+			IIndexBinding[] bindings= index.findBindingsForPrefix(EMPTY_PREFIX, false, filter, monitor);
+			for (int i= 0; i < bindings.length; i++) {
+				if (i % 0x1000 == 0)
+					checkCanceled(monitor);
+				addKind(kindsByName, bindings[i].getName(), IndexModelUtil.getElementType(bindings[i]));
+			}
+			IIndexMacro[] macros= index.findMacrosForPrefix(EMPTY_PREFIX, IndexFilter.ALL_DECLARED, monitor);
+			for (int i= 0; i < macros.length; i++) {
+				if (i % 0x1000 == 0)
+					checkCanceled(monitor);
+				addKind(kindsByName, macros[i].getName(), ICElement.C_MACRO);
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+
+		String[] sortedNames= kindsByName.keySet().toArray(new String[kindsByName.size()]);
+		Arrays.sort(sortedNames, new Comparator<String>() {
+			@Override
+			public int compare(String name1, String name2) {
+				int length= Math.min(name1.length(), name2.length());
+				for (int i= 0; i < length; i++) {
+					char c1= Character.toLowerCase(name1.charAt(i));
+					char c2= Character.toLowerCase(name2.charAt(i));
+					if (c1 != c2)
+						return c1 < c2 ? -1 : 1;
+				}
+				int cmp= name1.length() - name2.length();
+				return cmp != 0 ? cmp : name1.compareTo(name2);
+			}
+		});
+		int size= 0;
+		for (BitSet kinds : kindsByName.values()) {
+			size+= kinds.cardinality();
+		}
+		char[][] names= new char[size][];
+		byte[] kinds= new byte[size];
+		int i= 0;
+		for (String name : sortedNames) {
+			char[] chars= name.toCharArray();
+			BitSet kindSet= kindsByName.get(name);
+			for (int kind= kindSet.nextSetBit(0); kind >= 0; kind= kindSet.nextSetBit(kind + 1)) {
+				names[i]= chars;
+				kinds[i]= (byte) kind;
+				i++;
+			}
+		}
+		return new TypeInfoTable(new HashSet<ICProject>(Arrays.asList(projects)), timestamp, names, kinds);
+	}
+
+	private static void addKind(Map<String, BitSet> kindsByName, String name, int kind) {
+		BitSet kinds= kindsByName.get(name);
+		if (kinds == null) {
+			kinds= new BitSet();
+			kindsByName.put(name, kinds);
+		}
+		kinds.set(kind);
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	/**
+	 * Returns the distinct kinds of the elements of the table.
+	 */
+	public BitSet getKinds() {
+		return (BitSet) fKindSet.clone();
+	}
+
+	/**
+	 * Returns the elements with names starting with the given prefix, ignoring case, and one
+	 * of the given kinds. The elements are looked up in the given index, which has to be
+	 * locked.
+	 */
+	public ITypeInfo[] findElements(final IIndex index, char[] prefix, final BitSet kinds,
+			final IProgressMonitor monitor) throws CoreException {
+		char[] key= toLowerCase(prefix);
+		final int from= findFirst(key, false);
+		final int to= findFirst(key, true);
+		if (from >= to)
+			return NO_ELEMENTS;
+
+		final IndexFilter filter= new IndexFilter() {
+			@Override
+			public boolean acceptBinding(IBinding binding) throws CoreException {
+				int kind= IndexModelUtil.getElementType(binding);
+				return kind >= 0 && kinds.get(kind) && IndexFilter.ALL_DECLARED.acceptBinding(binding);
+			}
+		};
+		List<Callable<List<IndexTypeInfo>>> chunks= new ArrayList<Callable<List<IndexTypeInfo>>>();
+		for (int start= from, end; start < to; start= end) {
+			end= Math.min(to, start + CHUNK_SIZE);
+			// Chunks must not split the entries of a name.
+			while (end < to && fNames[end] == fNames[end - 1]) {
+				end++;
+			}
+			final int chunkStart= start;
+			final int chunkEnd= end;
+			chunks.add(new Callable<List<IndexTypeInfo>>() {
+				@Override
+				public List<IndexTypeInfo> call() throws CoreException {
+					List<IndexTypeInfo> result= new ArrayList<IndexTypeInfo>();
+					for (int i= chunkStart; i < chunkEnd && !monitor.isCanceled(); ) {
+						final char[] name= fNames[i];
+						boolean bindings= false;
+						boolean macros= false;
+						for (; i < chunkEnd && fNames[i] == name; i++) {
+							if (kinds.get(fKinds[i])) {
+								if (fKinds[i] == ICElement.C_MACRO) {
+									macros= true;
+								} else {
+									bindings= true;
+								}
+							}
+						}
+						if (bindings) {
+							for (IIndexBinding binding : index.findBindings(name, false, filter, monitor)) {
+								result.add(IndexTypeInfo.create(index, binding));
+							}
+						}
+						if (macros) {
+							for (IIndexMacro macro : index.findMacros(name, IndexFilter.ALL_DECLARED, monitor)) {
+								result.add(IndexTypeInfo.create(index, macro));
+							}
+						}
+					}
+					return result;
+				}
+			});
+		}
+		Set<IndexTypeInfo> result= new HashSet<IndexTypeInfo>();
+		for (List<IndexTypeInfo> chunk : ParallelQueryExecutor.invokeAll(chunks)) {
+			result.addAll(chunk);
+		}
+		return result.toArray(new ITypeInfo[result.size()]);
+	}
+
+	/**
+	 * Returns the index of the first name that is greater than the prefix, or greater than
+	 * or equal to it if <code>afterMatches</code> is <code>false</code>. Only the first
+	 * characters of the names are compared, ignoring case.
+	 */
+	private int findFirst(char[] prefix, boolean afterMatches) {
+		int low= 0;
+		int high= fNames.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			int cmp= comparePrefix(fNames[mid], prefix);
+			if (cmp < 0 || cmp == 0 && afterMatches) {
+				low= mid + 1;
+			} else {
+				high= mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Compares the beginning of the name with the given lower case prefix, ignoring the case
+	 * of the name.
+	 */
+	private static int comparePrefix(char[] name, char[] prefix) {
+		int length= Math.min(name.length, prefix.length);
+		for (int i= 0; i < length; i++) {
+			char c= Character.toLowerCase(name[i]);
+			if (c != prefix[i])
+				return c < prefix[i] ? -1 : 1;
+		}
+		return name.length < prefix.length ? -1 : 0;
+	}
+
+	private static char[] toLowerCase(char[] name) {
+		char[] result= new char[name.length];
+		for (int i= 0; i < name.length; i++) {
+			result[i]= Character.toLowerCase(name[i]);
+		}
+		return result;
+	}
+}
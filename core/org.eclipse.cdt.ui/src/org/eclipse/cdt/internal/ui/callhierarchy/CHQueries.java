@@ -34,6 +34,7 @@ import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.ui.extensions.ICallHierarchyProvider;
 
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
 
 import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
@@ -119,6 +120,10 @@ public class CHQueries {
 
 	private static void findCalledBy2(IIndex index, IBinding callee, boolean includeOrdinaryCalls,
 			ICProject project, CalledByResult result) throws CoreException {
+		if (index instanceof CIndex && ((CIndex) index).findCallers(callee, !includeOrdinaryCalls).length == 0) {
+			// The call graph of the index knows that there are no calls, skip searching the references.
+			return;
+		}
 		IIndexName[] names= index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES);
 		for (IIndexName rname : names) {
 			if (includeOrdinaryCalls || rname.couldBePolymorphicMethodCall()) {
@@ -141,7 +146,7 @@ public class CHQueries {
 		ICElement caller= node.getRepresentedDeclaration();
 		CallsToResult result= new CallsToResult();
 		IIndexName callerName= IndexUI.elementToName(index, caller);
-		if (callerName != null) {
+		if (callerName != null && hasCallees(index, callerName)) {
 			IIndexName[] refs= callerName.getEnclosedNames();
 			for (IIndexName name : refs) {
 				IBinding binding= index.findBinding(name);
@@ -172,6 +177,19 @@ public class CHQueries {
 		return cp.createNodes(node, result);
 	}
 
+	/**
+	 * Checks the call graph of the index for names nested in the definition of the caller,
+	 * such that the names of the file need not be visited for functions without calls.
+	 */
+	private static boolean hasCallees(IIndex index, IIndexName callerName) throws CoreException {
+		if (index instanceof CIndex) {
+			IIndexBinding binding= index.findBinding(callerName);
+			if (binding != null)
+				return ((CIndex) index).findCallees(binding).length > 0;
+		}
+		return true;
+	}
+
 	/**
 	 * Searches for overriders of method and converts them to ICElement, returns null,
 	 * if there are none.
@@ -247,6 +247,8 @@ public final class ASTProvider {
 			fTimeStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fCache.setActiveElement(tu);
 		}
+		// The cache may have restored an AST matching the current contents of the editor.
+		updateModificationStamp();
 
 		// Increase indexing priority of the translation unit of the active editor.
 		fIndexUpdateRequestor.updateIndexInclusion(tu);
@@ -304,6 +306,7 @@ public final class ASTProvider {
 			fActivationListener= null;
 		}
 		fCache.setActiveElement(null);
+		fCache.disposeInactiveASTs();
 	}
 
 	/**
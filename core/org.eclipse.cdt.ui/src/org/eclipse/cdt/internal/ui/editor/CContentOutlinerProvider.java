@@ -12,7 +12,9 @@
 package org.eclipse.cdt.internal.ui.editor;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -25,19 +27,15 @@ import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.ui.progress.PendingUpdateAdapter;
 
-import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ElementChangedEvent;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICElementDelta;
 import org.eclipse.cdt.core.model.IElementChangedListener;
-import org.eclipse.cdt.core.model.ISourceRange;
+import org.eclipse.cdt.core.model.INamespace;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.ui.PreferenceConstants;
 
-import org.eclipse.cdt.internal.core.model.CShiftData;
-import org.eclipse.cdt.internal.core.model.SourceManipulation;
-
 import org.eclipse.cdt.internal.ui.BaseCElementContentProvider;
 
 /**
@@ -106,36 +104,39 @@ public class CContentOutlinerProvider extends BaseCElementContentProvider {
 	}
 
 	/**
-	 * Called after CEditor contents is changed.
-	 * Existing elements can change their offset and length.
+	 * Called when elements of the translation unit have been added, removed or changed.
+	 * Only the children of the given parents are refreshed and only the labels of the changed
+	 * elements are updated, such that the tree is not rebuilt for every edit of a large
+	 * translation unit.
 	 * 
-	 * @param sdata  delta information
+	 * @param parents  elements with added, removed or reordered children
+	 * @param changed  elements with changed labels
 	 */
-	public void contentShift(CShiftData sdata) {
-		try {
-			ICElement[] el = root.getChildren();
-			for (int i=0; i< el.length; i++) {
-				if (!(el[i] instanceof SourceManipulation)) continue;
-
-				SourceManipulation sm = (SourceManipulation) el[i];
-				ISourceRange src = sm.getSourceRange();
-				int endOffset = src.getStartPos() + src.getLength();
-				
-				// code BELOW this element changed - do nothing !
-				if (sdata.getOffset() > endOffset) { continue;	}
-				
-				if (sdata.getOffset() < src.getStartPos()) {
-					// code ABOVE this element changed - modify offset
-					sm.setIdPos(src.getIdStartPos() + sdata.getSize(), src.getIdLength());
-					sm.setPos(src.getStartPos() + sdata.getSize(), src.getLength());
-					sm.setLines(src.getStartLine() + sdata.getLines(), src.getEndLine() + sdata.getLines());
-				} else {
-					// code INSIDE of this element changed - modify length
-					sm.setPos(src.getStartPos(), src.getLength() + sdata.getSize());
-					sm.setLines(src.getStartLine(), src.getEndLine() + sdata.getLines());
+	void contentUpdated(final Set<Object> parents, final Set<ICElement> changed) {
+		if (treeViewer != null && !treeViewer.getControl().isDisposed()) {
+			treeViewer.getControl().getDisplay().asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					if (!treeViewer.getControl().isDisposed()) {
+						if (fInitialDeltaPending) {
+							fInitialDeltaPending= false;
+							treeViewer.setInput(root);
+						} else {
+							if (parents.contains(root)) {
+								treeViewer.refresh(root, false);
+							} else {
+								for (Object parent : parents) {
+									treeViewer.refresh(parent, false);
+								}
+							}
+							if (!changed.isEmpty()) {
+								treeViewer.update(changed.toArray(), null);
+							}
+						}
+					}
 				}
-			}
-		} catch (CModelException e) {}
+			});
+		}
 	}
 	
 	/**
@@ -248,15 +249,64 @@ public class CContentOutlinerProvider extends BaseCElementContentProvider {
 		 */
 		@Override
 		public void elementChanged(final ElementChangedEvent e) {
-			if (e.getType() == ElementChangedEvent.POST_SHIFT && e.getDelta() instanceof CShiftData) {
-				contentShift((CShiftData)(e.getDelta()));
+			if (e.getType() == ElementChangedEvent.POST_SHIFT) {
+				// the elements already have their new positions, which are not shown
 				return;
 			}
 			
 			final ICElementDelta delta = findElement(root, e.getDelta());
 			if (delta != null) {
-				contentUpdated();
+				if (delta.getKind() == ICElementDelta.CHANGED
+						&& (delta.getFlags() & ICElementDelta.F_FINE_GRAINED) != 0) {
+					final Set<Object> parents = new HashSet<Object>();
+					final Set<ICElement> changed = new HashSet<ICElement>();
+					collectChanges(delta, parents, changed);
+					contentUpdated(parents, changed);
+				} else {
+					contentUpdated();
+				}
+			}
+		}
+
+		/**
+		 * Collects the elements affected by a fine grained delta.
+		 * 
+		 * @param delta
+		 *            Delta of the parent element.
+		 * @param parents
+		 *            Collects the elements whose children need to be refreshed.
+		 * @param changed
+		 *            Collects the elements whose labels need to be updated.
+		 */
+		private void collectChanges(ICElementDelta delta, Set<Object> parents, Set<ICElement> changed) {
+			for (ICElementDelta child : delta.getAffectedChildren()) {
+				final int flags = child.getFlags();
+				if (child.getKind() != ICElementDelta.CHANGED
+						|| (flags & (ICElementDelta.F_REORDER | ICElementDelta.F_MODIFIERS)) != 0) {
+					// the visibility of a member determines its group
+					parents.add(getRefreshTarget(delta.getElement()));
+				}
+				if (child.getKind() == ICElementDelta.CHANGED) {
+					if ((flags & (ICElementDelta.F_CONTENT | ICElementDelta.F_MODIFIERS)) != 0) {
+						changed.add(child.getElement());
+					}
+					if ((flags & ICElementDelta.F_CHILDREN) != 0) {
+						collectChanges(child, parents, changed);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the element to refresh for a change of the children of the given element.
+		 * The children of the translation unit and of namespaces may be shown in groups,
+		 * which are refreshed with the translation unit.
+		 */
+		private Object getRefreshTarget(ICElement parent) {
+			if (parent instanceof ITranslationUnit || (parent instanceof INamespace && areNamespacesGroup())) {
+				return root;
 			}
+			return parent;
 		}
 
 		/**
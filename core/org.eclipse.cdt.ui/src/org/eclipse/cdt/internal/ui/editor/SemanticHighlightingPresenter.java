@@ -43,6 +43,67 @@ import org.eclipse.cdt.internal.ui.text.CPresentationReconciler;
  * @since 4.0
  */
 public class SemanticHighlightingPresenter implements ITextPresentationListener, ITextInputListener, IDocumentListener {
+	/**
+	 * Region of the document modified since the positions were last reconciled.
+	 * <p>
+	 * NOTE: Instances are immutable and are handed to the background thread.
+	 * </p>
+	 */
+	public static final class ModifiedRegion {
+		/** The start offset, or <code>-1</code> if the region is empty */
+		public final int fStart;
+		/** The end offset, exclusive */
+		public final int fEnd;
+		/** <code>true</code> if the modifications may affect positions outside of the region */
+		public final boolean fAffectsAll;
+
+		ModifiedRegion(int start, int end, boolean affectsAll) {
+			fStart= start;
+			fEnd= end;
+			fAffectsAll= affectsAll;
+		}
+
+		public boolean isEmpty() {
+			return fStart < 0 && !fAffectsAll;
+		}
+
+		/**
+		 * Returns the region adjusted to the given document event.
+		 */
+		ModifiedRegion update(DocumentEvent event) {
+			if (fStart < 0)
+				return this;
+			int offset= event.getOffset();
+			int delta= (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+			if (fEnd < offset)
+				return this;
+			if (fStart > offset + event.getLength())
+				return new ModifiedRegion(fStart + delta, fEnd + delta, fAffectsAll);
+			int end= Math.max(fEnd + delta, offset + (event.getText() == null ? 0 : event.getText().length()));
+			return new ModifiedRegion(Math.min(fStart, offset), end, fAffectsAll);
+		}
+
+		/**
+		 * Returns the union of this region and the given one.
+		 */
+		ModifiedRegion union(ModifiedRegion other) {
+			if (other.fStart < 0)
+				return fAffectsAll || !other.fAffectsAll ? this : new ModifiedRegion(fStart, fEnd, true);
+			if (fStart < 0)
+				return new ModifiedRegion(other.fStart, other.fEnd, fAffectsAll || other.fAffectsAll);
+			return new ModifiedRegion(Math.min(fStart, other.fStart), Math.max(fEnd, other.fEnd),
+					fAffectsAll || other.fAffectsAll);
+		}
+	}
+
+	private static final ModifiedRegion NO_MODIFICATION= new ModifiedRegion(-1, -1, false);
+	private static final ModifiedRegion UNKNOWN_MODIFICATION= new ModifiedRegion(-1, -1, true);
+
+	/**
+	 * Edits replacing more characters are assumed to affect all positions.
+	 */
+	private static final int MAX_LOCAL_EDIT_LENGTH= 1000;
+
 	/**
 	 * Semantic highlighting position updater.
 	 */
@@ -239,6 +300,15 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	/** <code>true</code> iff the current reconcile is canceled. */
 	private boolean fIsCanceled= false;
 
+	/** Lock for the modified regions */
+	private final Object fModificationLock= new Object();
+	/** Modifications not yet handed to the background thread */
+	private ModifiedRegion fPendingModification= UNKNOWN_MODIFICATION;
+	/** Modifications handed to the background thread, but not yet reconciled */
+	private ModifiedRegion fReconcilingModification= NO_MODIFICATION;
+	/** Number of document changes, used to detect changes made after an AST has been created */
+	private long fModificationStamp;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -269,6 +339,24 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * Adds the current positions starting within the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param start The start offset of the range
+	 * @param end The end offset of the range, exclusive
+	 */
+	public void addPositions(List<? super HighlightedPosition> list, int start, int end) {
+		synchronized (fPositionLock) {
+			int i= computeIndexAtOffset(fPositions, start);
+			int n= computeIndexAtOffset(fPositions, end);
+			list.addAll(fPositions.subList(i, n));
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
@@ -328,6 +416,24 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 * @return the runnable or <code>null</code>, if reconciliation should be canceled
 	 */
 	public Runnable createUpdateRunnable(final TextPresentation textPresentation, List<HighlightedPosition> addedPositions, List<HighlightedPosition> removedPositions) {
+		return createUpdateRunnable(textPresentation, addedPositions, removedPositions, null);
+	}
+
+	/**
+	 * Create a runnable for updating the presentation, which also marks the given modifications
+	 * as reconciled.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 * @param textPresentation the text presentation
+	 * @param addedPositions the added positions
+	 * @param removedPositions the removed positions
+	 * @param modification the reconciled modifications, may be <code>null</code>
+	 * @return the runnable or <code>null</code>, if reconciliation should be canceled
+	 */
+	public Runnable createUpdateRunnable(final TextPresentation textPresentation,
+			List<HighlightedPosition> addedPositions, List<HighlightedPosition> removedPositions,
+			final ModifiedRegion modification) {
 		if (fSourceViewer == null || textPresentation == null)
 			return null;
 
@@ -341,7 +447,8 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		Runnable runnable= new Runnable() {
 			@Override
 			public void run() {
-				updatePresentation(textPresentation, added, removed);
+				if (updatePresentation(textPresentation, added, removed) && modification != null)
+					modificationsReconciled(modification);
 			}
 		};
 		return runnable;
@@ -358,10 +465,11 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 *     should computed in the UI thread
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @return <code>true</code> if the positions have been updated
 	 */
-	public void updatePresentation(TextPresentation textPresentation, HighlightedPosition[] addedPositions, HighlightedPosition[] removedPositions) {
+	public boolean updatePresentation(TextPresentation textPresentation, HighlightedPosition[] addedPositions, HighlightedPosition[] removedPositions) {
 		if (fSourceViewer == null)
-			return;
+			return false;
 
 //		checkOrdering("added positions: ", Arrays.asList(addedPositions)); //$NON-NLS-1$
 //		checkOrdering("removed positions: ", Arrays.asList(removedPositions)); //$NON-NLS-1$
@@ -370,11 +478,11 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		// TODO: double-check consistency with document.getPositions(...)
 		// TODO: reuse removed positions
 		if (isCanceled())
-			return;
+			return false;
 
 		IDocument document= fSourceViewer.getDocument();
 		if (document == null)
-			return;
+			return false;
 
 		String positionCategory= getPositionCategory();
 
@@ -448,6 +556,7 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 			fSourceViewer.changeTextPresentation(textPresentation, false);
 		else
 			fSourceViewer.invalidateTextPresentation();
+		return true;
 	}
 
 //	private void checkOrdering(String s, List positions) {
@@ -577,10 +686,107 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
 		setCanceled(true);
+		if (!fPendingModification.fAffectsAll && affectsAllPositions(event)) {
+			synchronized (fModificationLock) {
+				fPendingModification= fPendingModification.union(UNKNOWN_MODIFICATION);
+			}
+		}
 	}
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		String text= event.getText();
+		int end= event.getOffset() + (text == null ? 0 : text.length());
+		synchronized (fModificationLock) {
+			fModificationStamp++;
+			fReconcilingModification= fReconcilingModification.update(event);
+			fPendingModification= fPendingModification.update(event).union(
+					new ModifiedRegion(event.getOffset(), end, false));
+		}
+	}
+
+	/**
+	 * Checks whether the given modification may change the structure of the code beyond
+	 * the modified region, e.g. by changing the nesting of braces, the extent of a comment or
+	 * a string, or a preprocessor directive.
+	 */
+	private static boolean affectsAllPositions(DocumentEvent event) {
+		String text= event.getText();
+		if (event.getLength() > MAX_LOCAL_EDIT_LENGTH || (text != null && text.length() > MAX_LOCAL_EDIT_LENGTH))
+			return true;
+		if (text != null && containsStructuralCharacter(text))
+			return true;
+		if (event.getLength() > 0) {
+			try {
+				return containsStructuralCharacter(event.getDocument().get(event.getOffset(), event.getLength()));
+			} catch (BadLocationException e) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsStructuralCharacter(String text) {
+		for (int i= 0; i < text.length(); i++) {
+			switch (text.charAt(i)) {
+			case '{': case '}': case '#': case '/': case '*': case '"': case '\'': case '\\':
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a stamp that changes with every modification of the document.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the modification stamp
+	 */
+	public long getModificationStamp() {
+		synchronized (fModificationLock) {
+			return fModificationStamp;
+		}
+	}
+
+	/**
+	 * Returns the region of the document modified since the positions were last reconciled,
+	 * and marks it as being reconciled.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param modificationStamp the {@linkplain #getModificationStamp() modification stamp} taken
+	 *     before the AST was created, or <code>-1</code> if all positions have to be reconciled
+	 * @return the modified region, in the coordinates of the current document
+	 */
+	public ModifiedRegion beginReconcilingModifications(long modificationStamp) {
+		synchronized (fModificationLock) {
+			fReconcilingModification= fReconcilingModification.union(fPendingModification);
+			fPendingModification= NO_MODIFICATION;
+			// Modifications made after the AST had been created are not reflected by it.
+			if (fSourceViewer == null || modificationStamp != fModificationStamp)
+				fReconcilingModification= fReconcilingModification.union(UNKNOWN_MODIFICATION);
+			return fReconcilingModification;
+		}
+	}
+
+	/**
+	 * Marks the given modifications as reconciled, unless they have been combined with newer
+	 * ones in the meantime. If the reconcile is canceled, the modifications are combined with
+	 * the ones of the next reconcile.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @param modification the region returned by {@link #beginReconcilingModifications(long)}
+	 */
+	public void modificationsReconciled(ModifiedRegion modification) {
+		synchronized (fModificationLock) {
+			if (fReconcilingModification == modification)
+				fReconcilingModification= NO_MODIFICATION;
+		}
 	}
 
 	/**
@@ -727,6 +933,10 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		synchronized (fPositionLock) {
 			fPositions.clear();
 		}
+		synchronized (fModificationLock) {
+			fPendingModification= UNKNOWN_MODIFICATION;
+			fReconcilingModification= NO_MODIFICATION;
+		}
 	}
 
 	/**
@@ -13,6 +13,7 @@
 package org.eclipse.cdt.internal.ui.editor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -29,8 +30,11 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchPartSite;
 
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
 import org.eclipse.cdt.core.dom.ast.IASTMacroExpansionLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -38,11 +42,14 @@ import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.ui.CUIPlugin;
@@ -51,6 +58,7 @@ import org.eclipse.cdt.internal.core.model.ASTCache;
 
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightedPosition;
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightingStyle;
+import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingPresenter.ModifiedRegion;
 import org.eclipse.cdt.internal.ui.text.ICReconcilingListener;
 
 /**
@@ -84,10 +92,21 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 		@Override
 		public int visit(IASTTranslationUnit tu) {
+			visitMacros(tu, 0, Integer.MAX_VALUE);
+
+			// Visit ordinary code.
+			return super.visit(tu);
+		}
+
+		/**
+		 * Visits the macro definitions and expansions of the translation unit file starting
+		 * within the given range.
+		 */
+		public void visitMacros(IASTTranslationUnit tu, int start, int end) {
 			// Visit macro definitions.
 			IASTPreprocessorMacroDefinition[] macroDefs= tu.getMacroDefinitions();
 			for (IASTPreprocessorMacroDefinition macroDef : macroDefs) {
-				if (macroDef.isPartOfTranslationUnitFile()) {
+				if (macroDef.isPartOfTranslationUnitFile() && isInRange(macroDef, start, end)) {
 					visitNode(macroDef.getName());
 				}
 			}
@@ -96,7 +115,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			// Visit macro expansions.
 			IASTPreprocessorMacroExpansion[] macroExps= tu.getMacroExpansions();
 			for (IASTPreprocessorMacroExpansion macroExp : macroExps) {
-				if (macroExp.isPartOfTranslationUnitFile()) {
+				if (macroExp.isPartOfTranslationUnitFile() && isInRange(macroExp, start, end)) {
 					IASTName macroRef= macroExp.getMacroReference();
 					visitNode(macroRef);
 					IASTName[] nestedMacroRefs= macroExp.getNestedMacroReferences();
@@ -106,9 +125,13 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 				}
 			}
 			fMinLocation= -1;
+		}
 
-			// Visit ordinary code.
-			return super.visit(tu);
+		private boolean isInRange(IASTNode node, int start, int end) {
+			if (start == 0 && end == Integer.MAX_VALUE)
+				return true;
+			IASTFileLocation location= node.getFileLocation();
+			return location != null && location.getNodeOffset() >= start && location.getNodeOffset() < end;
 		}
 
 		@Override
@@ -253,8 +276,22 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		 */
 		private void addPosition(int offset, int length, HighlightingStyle highlightingStyle) {
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			int i= 0;
+			int n= fRemovedPositions.size();
+			if (fRemovedOffsets != null) {
+				// The removed positions are sorted by offset, visit only the ones with
+				// the given offset.
+				i= Arrays.binarySearch(fRemovedOffsets, offset);
+				if (i < 0) {
+					i= n;
+				} else {
+					while (i > 0 && fRemovedOffsets[i - 1] == offset)
+						i--;
+				}
+			}
+			for (; i < n; i++) {
+				if (fRemovedOffsets != null && fRemovedOffsets[i] != offset)
+					break;
 				HighlightedPosition position= fRemovedPositions.get(i);
 				if (position == null)
 					continue;
@@ -289,6 +326,11 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	protected List<HighlightedPosition> fRemovedPositions= new ArrayList<HighlightedPosition>();
 	/** Number of removed positions */
 	protected int fNOfRemovedPositions;
+	/**
+	 * Offsets of the removed positions at the start of the reconcile, or <code>null</code> if
+	 * the positions are not sorted by offset.
+	 */
+	private int[] fRemovedOffsets;
 
 	/** Background job */
 	private Job fJob;
@@ -318,9 +360,18 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 */
 	private HighlightingStyle[] fJobHighlightings;
 
+	/**
+	 * Modification stamp of the document when the current reconcile started, or <code>-1</code>
+	 * if it is unknown.
+	 */
+	private volatile long fModificationStamp= -1;
+	/** Time of the last write to the index seen by a reconcile */
+	private long fIndexWriteAccess= -1;
+
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		SemanticHighlightingPresenter presenter= fPresenter;
+		fModificationStamp= presenter != null ? presenter.getModificationStamp() : -1;
 	}
 
 	@Override
@@ -344,19 +395,52 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 			
+			// Without a forced reconcile or a change of the index only the edits of the document
+			// have to be considered, such that the positions of an edited function body can be
+			// reconciled separately.
+			long indexWriteAccess= getLastWriteAccess(ast);
+			boolean indexChanged= indexWriteAccess != fIndexWriteAccess;
+			fIndexWriteAccess= indexWriteAccess;
+			ModifiedRegion modification= fJobPresenter.beginReconcilingModifications(
+					force || indexChanged ? -1 : fModificationStamp);
+			IASTFunctionDefinition scope= null;
+			if (!modification.fAffectsAll) {
+				if (modification.isEmpty()) {
+					fJobPresenter.modificationsReconciled(modification);
+					return;
+				}
+				scope= findEnclosingFunctionDefinition(ast, modification);
+			}
+
 			PositionCollector collector= new PositionCollector(requiresImplicitNames());
 
-			startReconcilingPositions();
+			IASTFileLocation scopeLocation= scope != null ? scope.getFileLocation() : null;
+			if (scopeLocation != null) {
+				startReconcilingPositions(scopeLocation.getNodeOffset(),
+						scopeLocation.getNodeOffset() + scopeLocation.getNodeLength());
+			} else {
+				startReconcilingPositions();
+			}
 			
-			if (!fJobPresenter.isCanceled())
-				reconcilePositions(ast, collector);
+			if (!fJobPresenter.isCanceled()) {
+				if (scopeLocation != null) {
+					reconcilePositions(ast, scope, scopeLocation, collector);
+				} else {
+					reconcilePositions(ast, collector);
+				}
+			}
 			
 			TextPresentation textPresentation= null;
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 			
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+			if (!fJobPresenter.isCanceled()) {
+				if (fAddedPositions.isEmpty() && fRemovedPositions.isEmpty()) {
+					fJobPresenter.modificationsReconciled(modification);
+				} else {
+					updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, modification);
+				}
+			}
 			
 			stopReconcilingPositions();
 		} finally {
@@ -379,12 +463,80 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		return false;
 	}
 
+	private static long getLastWriteAccess(IASTTranslationUnit ast) {
+		IIndex index= ast.getIndex();
+		return index != null ? index.getLastWriteAccess() : 0;
+	}
+
+	/**
+	 * Returns the outermost function definition with a body strictly containing the given region,
+	 * provided that modifications of the body cannot affect the highlighting outside of it.
+	 *
+	 * @param ast the AST
+	 * @param region the modified region
+	 * @return the function definition or <code>null</code>
+	 */
+	private static IASTFunctionDefinition findEnclosingFunctionDefinition(IASTTranslationUnit ast, ModifiedRegion region) {
+		IASTNode node= ast.getNodeSelector(null).findEnclosingNode(region.fStart, region.fEnd - region.fStart);
+		IASTFunctionDefinition result= null;
+		for (; node != null; node= node.getParent()) {
+			if (node instanceof IASTFunctionDefinition) {
+				IASTStatement body= ((IASTFunctionDefinition) node).getBody();
+				IASTFileLocation location= body != null ? body.getFileLocation() : null;
+				if (location != null && location.getNodeOffset() < region.fStart
+						&& region.fEnd < location.getNodeOffset() + location.getNodeLength()) {
+					result= (IASTFunctionDefinition) node;
+				}
+			}
+		}
+		if (result == null || !result.isPartOfTranslationUnitFile())
+			return null;
+
+		// The body of a constexpr function or of a function with a deduced return type
+		// contributes to its declaration.
+		IASTDeclSpecifier declSpec= result.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return null;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type= ((IASTSimpleDeclSpecifier) declSpec).getType();
+			if (type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype
+					|| type == IASTSimpleDeclSpecifier.t_typeof) {
+				return null;
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Starts reconciling positions.
 	 */
 	protected void startReconcilingPositions() {
 		fJobPresenter.addAllPositions(fRemovedPositions);
-		fNOfRemovedPositions= fRemovedPositions.size();
+		initRemovedPositions();
+	}
+
+	/**
+	 * Starts reconciling the positions within the given range.
+	 *
+	 * @param start the start offset of the range
+	 * @param end the end offset of the range, exclusive
+	 */
+	private void startReconcilingPositions(int start, int end) {
+		fJobPresenter.addPositions(fRemovedPositions, start, end);
+		initRemovedPositions();
+	}
+
+	private void initRemovedPositions() {
+		int n= fRemovedPositions.size();
+		fNOfRemovedPositions= n;
+		fRemovedOffsets= new int[n];
+		for (int i= 0; i < n; i++) {
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
+			if (i > 0 && fRemovedOffsets[i] < fRemovedOffsets[i - 1]) {
+				fRemovedOffsets= null;
+				break;
+			}
+		}
 	}
 
 	/**
@@ -395,6 +547,25 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 */
 	private void reconcilePositions(IASTTranslationUnit ast, PositionCollector visitor) {
 		ast.accept(visitor);
+		collectRemovedPositions();
+	}
+
+	/**
+	 * Reconciles the positions of a function definition based on the AST.
+	 *
+	 * @param ast the AST
+	 * @param definition the function definition
+	 * @param location the file location of the function definition
+	 * @param visitor the AST visitor
+	 */
+	private void reconcilePositions(IASTTranslationUnit ast, IASTFunctionDefinition definition,
+			IASTFileLocation location, PositionCollector visitor) {
+		visitor.visitMacros(ast, location.getNodeOffset(), location.getNodeOffset() + location.getNodeLength());
+		definition.accept(visitor);
+		collectRemovedPositions();
+	}
+
+	private void collectRemovedPositions() {
 		List<HighlightedPosition> oldPositions= fRemovedPositions;
 		List<HighlightedPosition> newPositions= new ArrayList<HighlightedPosition>(fNOfRemovedPositions);
 		for (int i= 0, n= oldPositions.size(); i < n; i ++) {
@@ -420,7 +591,20 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * @param removedPositions the removed positions
 	 */
 	protected void updatePresentation(TextPresentation textPresentation, List<HighlightedPosition> addedPositions, List<HighlightedPosition> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+		updatePresentation(textPresentation, addedPositions, removedPositions, null);
+	}
+
+	/**
+	 * Updates the presentation and marks the given modifications as reconciled.
+	 *
+	 * @param textPresentation the text presentation
+	 * @param addedPositions the added positions
+	 * @param removedPositions the removed positions
+	 * @param modification the reconciled modifications, may be <code>null</code>
+	 */
+	private void updatePresentation(TextPresentation textPresentation, List<HighlightedPosition> addedPositions,
+			List<HighlightedPosition> removedPositions, ModifiedRegion modification) {
+		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions, modification);
 		if (runnable == null)
 			return;
 
@@ -449,6 +633,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	protected void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fRemovedOffsets= null;
 		fAddedPositions.clear();
 	}
 
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -70,6 +71,7 @@ import org.eclipse.cdt.ui.extensions.IExternalSearchProvider;
 import org.eclipse.cdt.internal.core.browser.ASTTypeInfo;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
+import org.eclipse.cdt.internal.core.util.ParallelQueryExecutor;
 
 import org.eclipse.cdt.internal.ui.search.LineSearchElement.Match;
 import org.eclipse.cdt.internal.ui.util.Messages;
@@ -94,6 +96,8 @@ public abstract class CSearchQuery implements ISearchQuery {
 	protected ICElement[] scope;
 	protected ICProject[] projects;
 	private Set<String> fullPathFilter;
+	/** The monitor of the running search, used for canceling the creation of matches. */
+	private volatile IProgressMonitor fMonitor;
 
 	protected CSearchQuery(ICElement[] scope, int flags) {
 		result = new CSearchResult(this);
@@ -303,43 +307,69 @@ public abstract class CSearchQuery implements ISearchQuery {
 				}
 			}
 		}
-		// for each file with matches create line elements with matches
+		// For each file with matches create line elements with matches. The files are read
+		// in parallel, the matches of a file are reported as soon as it has been read.
+		List<Callable<Object>> fileQueries = new ArrayList<>(fileMatches.size());
 		for (Entry<IIndexFile, Set<Match>> entry : fileMatches.entrySet()) {
 			IIndexFile file = entry.getKey();
 			Set<Match> matches = entry.getValue();
-			LineSearchElement[] lineElements = {};
 			// check if there is dirty text editor corresponding to file and convert matches
-			IPath absolutePath = IndexLocationFactory.getAbsolutePath(file.getLocation());
-			if (pathsDirtyEditors.containsKey(absolutePath)) {
+			final IIndexFileLocation location = file.getLocation();
+			IPath absolutePath = IndexLocationFactory.getAbsolutePath(location);
+			final ITextEditor textEditor = pathsDirtyEditors.get(absolutePath);
+			if (textEditor != null) {
 				matches = convertMatchesPositions(file, matches);
-				// scan dirty editor and group matches by line elements
-				ITextEditor textEditor = pathsDirtyEditors.get(absolutePath);
-				IEditorInput input = textEditor.getEditorInput();
-				IDocument document = textEditor.getDocumentProvider().getDocument(input);
-				Match[] matchesArray = matches.toArray(new Match[matches.size()]);
-				lineElements = LineSearchElement.createElements(file.getLocation(), matchesArray, document);
-			} else {
-				// scan file and group matches by line elements
-				Match[] matchesArray = matches.toArray(new Match[matches.size()]);
-				lineElements = LineSearchElement.createElements(file.getLocation(), matchesArray);
 			}
-			// create real PDOMSearchMatch with corresponding line elements
-			for (LineSearchElement searchElement : lineElements) {
-				for (Match lineMatch : searchElement.getMatches()) {
-					int offset = lineMatch.getOffset();
-					int length = lineMatch.getLength();
-					CSearchMatch match = new CSearchMatch(searchElement, offset, length);
-					if (lineMatch.isPolymorphicCall())
-						match.setIsPolymorphicCall();
-					if (lineMatch.isWriteAccess()) {
-						match.setIsWriteAccess();
+			final Match[] matchesArray = matches.toArray(new Match[matches.size()]);
+			fileQueries.add(new Callable<Object>() {
+				@Override
+				public Object call() {
+					checkCanceled();
+					LineSearchElement[] lineElements;
+					if (textEditor != null) {
+						// scan dirty editor and group matches by line elements
+						IEditorInput input = textEditor.getEditorInput();
+						IDocument document = textEditor.getDocumentProvider().getDocument(input);
+						lineElements = LineSearchElement.createElements(location, matchesArray, document);
+					} else {
+						// scan file and group matches by line elements
+						lineElements = LineSearchElement.createElements(location, matchesArray);
 					}
-					result.addMatch(match);
+					addMatches(lineElements);
+					return null;
 				}
+			});
+		}
+		ParallelQueryExecutor.invokeAllFileReads(fileQueries);
+		checkCanceled();
+	}
+
+	/**
+	 * Creates the search matches for the given line elements and adds them to the result.
+	 */
+	private void addMatches(LineSearchElement[] lineElements) {
+		// create real PDOMSearchMatch with corresponding line elements
+		for (LineSearchElement searchElement : lineElements) {
+			for (Match lineMatch : searchElement.getMatches()) {
+				int offset = lineMatch.getOffset();
+				int length = lineMatch.getLength();
+				CSearchMatch match = new CSearchMatch(searchElement, offset, length);
+				if (lineMatch.isPolymorphicCall())
+					match.setIsPolymorphicCall();
+				if (lineMatch.isWriteAccess()) {
+					match.setIsWriteAccess();
+				}
+				result.addMatch(match);
 			}
 		}
 	}
 
+	private void checkCanceled() {
+		IProgressMonitor monitor = fMonitor;
+		if (monitor != null && monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
 	protected void createMatches(IIndex index, IBinding binding, IASTNode point) throws CoreException {
 		createMatches(index, new IBinding[] { binding }, point);
 	}
@@ -353,6 +383,7 @@ public abstract class CSearchQuery implements ISearchQuery {
 
 		for (IBinding binding : bindings) {
 			if (binding != null && handled.add(binding)) {
+				checkCanceled();
 				createMatches1(index, binding, names);
 			}
 		}
@@ -524,8 +555,10 @@ public abstract class CSearchQuery implements ISearchQuery {
 				return Status.CANCEL_STATUS;
 			}
 			try {
+				fMonitor = monitor;
 				return runWithIndex(index, monitor);
 			} finally {
+				fMonitor = null;
 				index.releaseReadLock();
 			}
 		} catch (CoreException e) {
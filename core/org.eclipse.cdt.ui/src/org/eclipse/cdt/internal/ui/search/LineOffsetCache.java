@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.search;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+
+/**
+ * Cache of the offsets of the lines of files with search matches, shared by all searches.
+ * With the offsets of the lines known, the line elements for the matches of a file are
+ * created by reading just the lines containing matches rather than the entire file.
+ * The entries are validated with the time stamp and the size of the file.
+ */
+final class LineOffsetCache {
+	private static final int MAX_ENTRIES = 1000;
+
+	static final LineOffsetCache INSTANCE = new LineOffsetCache();
+
+	private static final class LineOffsets {
+		final long fTimestamp;
+		final long fFileSize;
+		final int[] fLineOffsets;
+
+		LineOffsets(long timestamp, long fileSize, int[] lineOffsets) {
+			fTimestamp = timestamp;
+			fFileSize = fileSize;
+			fLineOffsets = lineOffsets;
+		}
+	}
+
+	private final Map<IIndexFileLocation, LineOffsets> fEntries =
+			new LinkedHashMap<IIndexFileLocation, LineOffsets>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IIndexFileLocation, LineOffsets> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private LineOffsetCache() {
+	}
+
+	/**
+	 * Returns the offsets of the starts of the lines of the given file content.
+	 *
+	 * @param location the location of the file
+	 * @param timestamp the time stamp of the file the content has been read from, or
+	 *     <code>0</code> if unknown
+	 * @param fileSize the size of the file the content has been read from
+	 * @param buf the content of the file
+	 */
+	int[] getLineOffsets(IIndexFileLocation location, long timestamp, long fileSize,
+			AbstractCharArray buf) {
+		if (timestamp != 0) {
+			synchronized (fEntries) {
+				LineOffsets entry = fEntries.get(location);
+				if (entry != null && entry.fTimestamp == timestamp && entry.fFileSize == fileSize)
+					return entry.fLineOffsets;
+			}
+		}
+		int[] lineOffsets = computeLineOffsets(buf);
+		if (timestamp != 0) {
+			synchronized (fEntries) {
+				fEntries.put(location, new LineOffsets(timestamp, fileSize, lineOffsets));
+			}
+		}
+		return lineOffsets;
+	}
+
+	/**
+	 * Computes the offsets of the starts of the lines, lines are terminated by '\n', '\r'
+	 * or "\r\n".
+	 */
+	static int[] computeLineOffsets(AbstractCharArray buf) {
+		int[] result = new int[256];
+		int count = 0;
+		result[count++] = 0;
+		for (int pos = 0; buf.isValidOffset(pos); pos++) {
+			char c = buf.get(pos);
+			if (c == '\r' && buf.isValidOffset(pos + 1) && buf.get(pos + 1) == '\n')
+				pos++;
+			if (c == '\n' || c == '\r') {
+				if (count == result.length)
+					result = Arrays.copyOf(result, 2 * count);
+				result[count++] = pos + 1;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+}
@@ -160,9 +160,13 @@ public class LineSearchElement extends CSearchElement {
 		// read the content of file
 		FileContent content = FileContent.create(fileLocation);
 		if (content != null) {
-			AbstractCharArray buf = ((InternalFileContent) content).getSource();
-			if (buf != null)
-				result = collectLineElements(buf, matches, fileLocation);
+			InternalFileContent fileContent = (InternalFileContent) content;
+			AbstractCharArray buf = fileContent.getSource();
+			if (buf != null) {
+				int[] lineOffsets = LineOffsetCache.INSTANCE.getLineOffsets(fileLocation,
+						fileContent.getTimestamp(), fileContent.getFileSize(), buf);
+				result = collectLineElements(buf, lineOffsets, matches, fileLocation);
+			}
 		}
 		return result;
 	}
@@ -220,76 +224,55 @@ public class LineSearchElement extends CSearchElement {
 		return result.toArray(new LineSearchElement[result.size()]);
 	}
 
-	private static LineSearchElement[] collectLineElements(AbstractCharArray buf, Match[] matches,
-			IIndexFileLocation fileLocation) {
+	private static LineSearchElement[] collectLineElements(AbstractCharArray buf, int[] lineOffsets,
+			Match[] matches, IIndexFileLocation fileLocation) {
 		List<LineSearchElement> result = new ArrayList<LineSearchElement>();
 		List<Match> matchCollector= new ArrayList<Match>();
 
-		boolean skipLF = false;
-		int lineNumber = 1;
-		int lineOffset = 0;
-		int i = 0;
-		Match match= matches[i];
-		int matchOffset = match.getOffset();
-		for (int pos = 0; buf.isValidOffset(pos); pos++) {
-			if (matchOffset <= pos && match != null) {
-				// We are on the line of the match, store it.
-				matchCollector.add(match);
-				final int minOffset= matchOffset + match.getLength();
-				match= null;
-				matchOffset= Integer.MAX_VALUE;
-				for(i= i + 1; i < matches.length; i++) {
-					// Advance to next match that is not overlapped
-					final Match nextMatch= matches[i];
-					final int nextOffset= nextMatch.getOffset();
-					if (nextOffset >= minOffset) {
-						match= nextMatch;
-						matchOffset= nextOffset;
-						break;
-					}
-				}
-			}
-				
-			char c = buf.get(pos);
-			// consider '\n' and '\r'
-			if (skipLF) {
-				skipLF = false;
-				if (c == '\n') {
-					lineOffset = pos + 1;
-					continue;
-				}
-			}
-			if (c == '\n' || c == '\r') {
-				// Create new LineElement for collected matches on this line
-				if (!matchCollector.isEmpty()) {
-					int lineLength = pos - lineOffset;
-					Match[] lineMatches= matchCollector.toArray(new Match[matchCollector.size()]);
-					char[] lineChars= new char[lineLength];
-					buf.arraycopy(lineOffset, lineChars, 0, lineLength);
-					String lineContent = new String(lineChars);
-					result.add(new LineSearchElement(fileLocation, lineMatches, lineNumber, lineContent,
-							lineOffset));
-					matchCollector.clear();
-					if (match == null)
-						break;
-				}
-				lineNumber++;
-				lineOffset = pos + 1;
-				if (c == '\r')
-					skipLF = true;
-				continue;
+		int line = -1;
+		int minOffset = 0;
+		for (Match match : matches) {
+			final int offset = match.getOffset();
+			if (offset < minOffset)
+				continue; // Overlapped by the previous match.
+			if (!buf.isValidOffset(offset))
+				break;
+			minOffset = offset + match.getLength();
+			int matchLine = findLine(lineOffsets, offset);
+			if (matchLine != line && !matchCollector.isEmpty()) {
+				result.add(createLineElement(buf, lineOffsets, line, matchCollector, fileLocation));
+				matchCollector.clear();
 			}
+			line = matchLine;
+			matchCollector.add(match);
 		}
-		// Create new LineElement for  matches on the last line
 		if (!matchCollector.isEmpty()) {
-			int lineLength = buf.getLength() - lineOffset;
-			Match[] lineMatches= matchCollector.toArray(new Match[matchCollector.size()]);
-			char[] lineChars= new char[lineLength];
-			buf.arraycopy(lineOffset, lineChars, 0, lineLength);
-			String lineContent = new String(lineChars);
-			result.add(new LineSearchElement(fileLocation, lineMatches, lineNumber, lineContent,
-					lineOffset));
+			result.add(createLineElement(buf, lineOffsets, line, matchCollector, fileLocation));
 		}
 		return result.toArray(new LineSearchElement[result.size()]);
 	}
+
+	/**
+	 * Returns the index of the line containing the given offset.
+	 */
+	private static int findLine(int[] lineOffsets, int offset) {
+		int i = Arrays.binarySearch(lineOffsets, offset);
+		return i >= 0 ? i : -i - 2;
+	}
+
+	private static LineSearchElement createLineElement(AbstractCharArray buf, int[] lineOffsets,
+			int line, List<Match> matches, IIndexFileLocation fileLocation) {
+		int lineOffset = lineOffsets[line];
+		int lineEnd = lineOffset;
+		while (buf.isValidOffset(lineEnd)) {
+			char c = buf.get(lineEnd);
+			if (c == '\n' || c == '\r')
+				break;
+			lineEnd++;
+		}
+		char[] lineChars = new char[lineEnd - lineOffset];
+		buf.arraycopy(lineOffset, lineChars, 0, lineChars.length);
+		Match[] lineMatches = matches.toArray(new Match[matches.size()]);
+		return new LineSearchElement(fileLocation, lineMatches, line + 1, new String(lineChars), lineOffset);
+	}
 }
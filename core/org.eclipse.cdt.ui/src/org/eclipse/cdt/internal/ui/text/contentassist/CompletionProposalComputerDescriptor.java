@@ -71,6 +71,8 @@ final class CompletionProposalComputerDescriptor {
 	 * core's {@link PerformanceStats} service.
 	 */
 	private static final boolean MEASURE_PERFORMANCE= PerformanceStats.isEnabled(PERFORMANCE_EVENT);
+	/** If <code>true</code>, the latencies of the extensions are printed at the end of a session. */
+	private static final boolean DEBUG= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.cdt.ui/debug/contentassist"));  //$NON-NLS-1$//$NON-NLS-2$
 	
 	/* log constants */
 	private static final String COMPUTE_COMPLETION_PROPOSALS= "computeCompletionProposals()"; //$NON-NLS-1$
@@ -114,6 +116,8 @@ final class CompletionProposalComputerDescriptor {
 	private boolean fIsReportingDelay= false;
 	/** The start of the last operation. */
 	private long fStart;
+	/** The durations of the computations of completion proposals. */
+	private final LatencyHistogram fLatency= new LatencyHistogram();
 
 	/**
 	 * Creates a new descriptor.
@@ -291,7 +295,9 @@ final class CompletionProposalComputerDescriptor {
 			
 			try {
 				PerformanceStats stats= startMeter(context, computer);
+				long start= System.nanoTime();
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
+				fLatency.record((System.nanoTime() - start) / 1000000);
 				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS);
 				
 				if (proposals != null) {
@@ -416,6 +422,9 @@ final class CompletionProposalComputerDescriptor {
 			PerformanceStats stats= startMeter(SESSION_ENDED, computer);
 			computer.sessionEnded();
 			stopMeter(stats, SESSION_ENDED);
+			if (DEBUG && fLatency.getCount() > 0) {
+				System.out.println("Code Assist Latency (" + fName + "):\t" + fLatency); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 
 			return;
 		} catch (InvalidRegistryObjectException x) {
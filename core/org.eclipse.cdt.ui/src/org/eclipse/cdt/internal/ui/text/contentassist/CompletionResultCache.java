@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.text.contentassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITextInputListener;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
+import org.eclipse.cdt.ui.CUIPlugin;
+
+import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
+
+/**
+ * Keeps the proposals computed for the last completion context, such that content assist
+ * invoked again after the user has continued typing the identifier is answered by filtering
+ * the previous proposals rather than by looking up the bindings again. Proposals for
+ * members computed on auto-activation after '.', '->' or '::' serve as the base for all
+ * completions of the member name that follow.
+ * <p>
+ * The entry is valid as long as the document is modified only within the identifier being
+ * completed and the index is not modified. It is discarded when the viewer is disposed or
+ * shows a different document.
+ */
+final class CompletionResultCache {
+	/**
+	 * A proposal together with the name it has been computed for.
+	 */
+	private static final class Entry {
+		final CCompletionProposal fProposal;
+		final String fName;
+		int fReplacementLength;
+
+		Entry(CCompletionProposal proposal, String name) {
+			fProposal= proposal;
+			fName= name;
+			fReplacementLength= proposal.getReplacementLength();
+		}
+	}
+
+	private final IDocumentListener fDocumentListener= new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			onDocumentChanged(event);
+		}
+	};
+
+	private final ITextInputListener fInputListener= new ITextInputListener() {
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			// Called when the viewer is disposed, too.
+			clear();
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+		}
+	};
+
+	private final ParsingBasedProposalComputer fComputer;
+	private ITextViewer fViewer;
+	private IDocument fDocument;
+	private ICProject fProject;
+	private long fIndexTimestamp;
+	private int fPrefixStart;
+	private int fPrefixEnd;
+	private String fPrefix;
+	private List<Entry> fEntries;
+
+	CompletionResultCache(ParsingBasedProposalComputer computer) {
+		fComputer= computer;
+	}
+
+	/**
+	 * Stores the proposals computed for the given context.
+	 *
+	 * @param prefix the prefix the proposals have been computed for
+	 * @param proposals the proposals
+	 * @param names for each proposal the name that has been matched against the prefix, or
+	 *     <code>null</code> if the proposal cannot be reused
+	 */
+	synchronized void put(CContentAssistInvocationContext context, String prefix,
+			List<ICompletionProposal> proposals, List<String> names) {
+		clear();
+		ICProject project= context.getProject();
+		ITextViewer viewer= context.getViewer();
+		IDocument document= context.getDocument();
+		if (project == null || viewer == null || document == null || context.isContextInformationStyle())
+			return;
+		try {
+			if (!prefix.equals(context.computeIdentifierPrefix().toString()))
+				return;
+		} catch (BadLocationException e) {
+			return;
+		}
+		List<Entry> entries= new ArrayList<Entry>(proposals.size());
+		for (int i= 0; i < proposals.size(); i++) {
+			ICompletionProposal proposal= proposals.get(i);
+			String name= names.get(i);
+			if (!(proposal instanceof CCompletionProposal) || name == null)
+				return;
+			entries.add(new Entry((CCompletionProposal) proposal, name));
+		}
+		fViewer= viewer;
+		fDocument= document;
+		fProject= project;
+		fIndexTimestamp= getIndexTimestamp(project);
+		fPrefixEnd= context.getInvocationOffset();
+		fPrefixStart= fPrefixEnd - prefix.length();
+		fPrefix= prefix;
+		fEntries= entries;
+		fDocument.addDocumentListener(fDocumentListener);
+		fViewer.addTextInputListener(fInputListener);
+	}
+
+	/**
+	 * Returns the proposals for the given context computed from the cached ones, or
+	 * <code>null</code> if the cached proposals cannot be used for the context.
+	 */
+	synchronized List<ICompletionProposal> get(CContentAssistInvocationContext context) {
+		if (fEntries == null || context.getViewer() != fViewer || context.getDocument() != fDocument
+				|| context.getInvocationOffset() != fPrefixEnd || context.isContextInformationStyle()) {
+			return null;
+		}
+		String prefix;
+		try {
+			prefix= context.computeIdentifierPrefix().toString();
+		} catch (BadLocationException e) {
+			return null;
+		}
+		if (fPrefixEnd - prefix.length() != fPrefixStart || !prefix.startsWith(fPrefix)
+				|| !fProject.equals(context.getProject()) || getIndexTimestamp(fProject) != fIndexTimestamp) {
+			clear();
+			return null;
+		}
+
+		final int delta= prefix.length() - fPrefix.length();
+		IContentAssistMatcher matcher= ContentAssistMatcherFactory.getInstance().createMatcher(prefix);
+		List<Entry> entries= new ArrayList<Entry>(fEntries.size());
+		List<ICompletionProposal> result= new ArrayList<ICompletionProposal>(fEntries.size());
+		for (Entry entry : fEntries) {
+			if (delta == 0 || matcher.match(entry.fName.toCharArray())) {
+				CCompletionProposal proposal= entry.fProposal;
+				// The proposals may have been adapted to the typing while they were shown.
+				entry.fReplacementLength+= delta;
+				proposal.setReplacementLength(entry.fReplacementLength);
+				proposal.setRelevance(proposal.getRelevance() - fComputer.computeBaseRelevance(fPrefix, entry.fName)
+						+ fComputer.computeBaseRelevance(prefix, entry.fName));
+				entries.add(entry);
+				result.add(proposal);
+			}
+		}
+		fEntries= entries;
+		fPrefix= prefix;
+		return result;
+	}
+
+	private void onDocumentChanged(DocumentEvent event) {
+		synchronized (this) {
+			int offset= event.getOffset();
+			if (offset >= fPrefixStart && offset + event.getLength() <= fPrefixEnd) {
+				String text= event.getText();
+				fPrefixEnd+= (text == null ? 0 : text.length()) - event.getLength();
+				return;
+			}
+			clear();
+		}
+	}
+
+	private static long getIndexTimestamp(ICProject project) {
+		try {
+			return CCorePlugin.getIndexManager().getIndex(project,
+					IIndexManager.ADD_DEPENDENCIES | IIndexManager.ADD_EXTENSION_FRAGMENTS_CONTENT_ASSIST).getLastWriteAccess();
+		} catch (CoreException e) {
+			CUIPlugin.log(e);
+			return -1;
+		}
+	}
+
+	/**
+	 * Discards the cached proposals and releases the viewer and the document.
+	 */
+	synchronized void clear() {
+		if (fDocument != null) {
+			fDocument.removeDocumentListener(fDocumentListener);
+		}
+		if (fViewer != null) {
+			fViewer.removeTextInputListener(fInputListener);
+		}
+		fViewer= null;
+		fDocument= null;
+		fProject= null;
+		fPrefix= null;
+		fEntries= null;
+	}
+}
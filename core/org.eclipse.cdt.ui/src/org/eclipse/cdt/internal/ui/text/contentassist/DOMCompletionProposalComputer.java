@@ -20,6 +20,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.text.BadLocationException;
@@ -80,6 +81,7 @@ import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.cdt.ui.text.ICPartitions;
+import org.eclipse.cdt.ui.text.contentassist.ContentAssistInvocationContext;
 
 import org.eclipse.cdt.internal.core.dom.parser.c.CBuiltinParameter;
 import org.eclipse.cdt.internal.core.dom.parser.c.CBuiltinVariable;
@@ -108,12 +110,26 @@ public class DOMCompletionProposalComputer extends ParsingBasedProposalComputer
 	private static final String TYPENAME = "typename"; //$NON-NLS-1$;
 	private static final String ELLIPSIS = "..."; //$NON-NLS-1$;
 
+	private final CompletionResultCache fResultCache = new CompletionResultCache(this);
+
 	/**
 	 * Default constructor is required (executable extension).
 	 */
 	public DOMCompletionProposalComputer() {
 	}
 
+	@Override
+	public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context,
+			IProgressMonitor monitor) {
+		if (context instanceof CContentAssistInvocationContext) {
+			// Proposals for a prefix of the identifier can be filtered without parsing again.
+			List<ICompletionProposal> proposals = fResultCache.get((CContentAssistInvocationContext) context);
+			if (proposals != null)
+				return proposals;
+		}
+		return super.computeCompletionProposals(context, monitor);
+	}
+
 	@Override
 	protected List<ICompletionProposal> computeCompletionProposals(
 			CContentAssistInvocationContext context,
@@ -121,6 +137,7 @@ public class DOMCompletionProposalComputer extends ParsingBasedProposalComputer
 		List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
 
 		if (inPreprocessorDirective(context)) {
+			fResultCache.clear();
 			if (!inPreprocessorKeyword(context)) {
 				// add only macros
 				if (prefix.length() == 0) {
@@ -134,6 +151,9 @@ public class DOMCompletionProposalComputer extends ParsingBasedProposalComputer
 			}
 		} else {
 			boolean handleMacros= false;
+			boolean macroContext= false;
+			// The names the proposals have been matched for.
+			List<String> matchedNames = new ArrayList<String>();
 			IASTName[] names = completionNode.getNames();
 
 			for (IASTName name : names) {
@@ -148,6 +168,7 @@ public class DOMCompletionProposalComputer extends ParsingBasedProposalComputer
 						|| astContext instanceof IASTNamedTypeSpecifier) {
 					// handle macros only if there is a prefix
 					handleMacros = prefix.length() > 0;
+					macroContext = true;
 				}
 
 				IBinding[] bindings = astContext.findBindings(name, !context.isContextInformationStyle());
@@ -155,14 +176,31 @@ public class DOMCompletionProposalComputer extends ParsingBasedProposalComputer
 				if (bindings != null) {
 					AccessContext accessibilityContext = new AccessContext(name);
 					for (IBinding binding : bindings) {
-						if (accessibilityContext.isAccessible(binding))
+						if (accessibilityContext.isAccessible(binding)) {
 							handleBinding(binding, context, prefix, astContext, proposals);
+							while (matchedNames.size() < proposals.size()) {
+								matchedNames.add(binding.getName());
+							}
+						}
 					}
 				}
 			}
 
-			if (handleMacros)
+			if (handleMacros) {
 				addMacroProposals(context, prefix, proposals);
+				while (matchedNames.size() < proposals.size()) {
+					String displayString = proposals.get(matchedNames.size()).getDisplayString();
+					int paren = displayString.indexOf('(');
+					matchedNames.add(paren < 0 ? displayString : displayString.substring(0, paren));
+				}
+			}
+
+			if (macroContext && prefix.length() == 0) {
+				// Macros are not proposed without a prefix, the proposals cannot be refined.
+				fResultCache.clear();
+			} else {
+				fResultCache.put(context, prefix, proposals, matchedNames);
+			}
 		}
 
 		return proposals;
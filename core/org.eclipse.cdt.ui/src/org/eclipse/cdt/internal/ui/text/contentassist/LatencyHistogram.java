@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Eclipse CDT contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse CDT contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.text.contentassist;
+
+/**
+ * Histogram of the durations of an operation, with buckets growing by powers of two from
+ * one millisecond up to about four seconds.
+ */
+final class LatencyHistogram {
+	private static final int BUCKETS = 13;
+
+	private final long[] fCounts = new long[BUCKETS];
+	private long fCount;
+	private long fTotalMillis;
+	private long fMaxMillis;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param millis the duration in milliseconds
+	 */
+	synchronized void record(long millis) {
+		int bucket = 0;
+		while (bucket < BUCKETS - 1 && millis >= 1L << bucket) {
+			bucket++;
+		}
+		fCounts[bucket]++;
+		fCount++;
+		fTotalMillis += millis;
+		fMaxMillis = Math.max(fMaxMillis, millis);
+	}
+
+	/**
+	 * Returns the number of recorded durations.
+	 */
+	synchronized long getCount() {
+		return fCount;
+	}
+
+	/**
+	 * Returns an upper bound in milliseconds for the given percentile of the recorded durations,
+	 * or <code>0</code> if there are none.
+	 *
+	 * @param percent the percentile between 0 and 100
+	 */
+	synchronized long getPercentile(int percent) {
+		long threshold = (fCount * percent + 99) / 100;
+		long sum = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			sum += fCounts[bucket];
+			if (sum >= threshold && sum > 0)
+				return bucket < BUCKETS - 1 ? 1L << bucket : fMaxMillis + 1;
+		}
+		return 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		if (fCount == 0)
+			return "no samples"; //$NON-NLS-1$
+		StringBuilder buf = new StringBuilder();
+		buf.append(fCount).append(" samples, mean ").append(fTotalMillis / fCount); //$NON-NLS-1$
+		buf.append(" ms, p50 < ").append(getPercentile(50)); //$NON-NLS-1$
+		buf.append(" ms, p90 < ").append(getPercentile(90)); //$NON-NLS-1$
+		buf.append(" ms, p99 < ").append(getPercentile(99)); //$NON-NLS-1$
+		buf.append(" ms, max ").append(fMaxMillis).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
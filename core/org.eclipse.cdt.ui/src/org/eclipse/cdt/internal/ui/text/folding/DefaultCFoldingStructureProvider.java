@@ -20,10 +20,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 
 import org.eclipse.core.runtime.Assert;
@@ -82,7 +84,11 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTWhileStatement;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTRangeBasedForStatement;
 import org.eclipse.cdt.core.model.CModelException;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ElementChangedEvent;
 import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICElementDelta;
+import org.eclipse.cdt.core.model.IElementChangedListener;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.IParent;
 import org.eclipse.cdt.core.model.ISourceRange;
@@ -97,6 +103,7 @@ import org.eclipse.cdt.ui.text.folding.ICFoldingStructureProvider;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 import org.eclipse.cdt.internal.core.model.ASTCache;
+import org.eclipse.cdt.internal.core.model.CShiftData;
 
 import org.eclipse.cdt.internal.ui.editor.ASTProvider;
 import org.eclipse.cdt.internal.ui.editor.CEditor;
@@ -358,6 +365,113 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 
 	}
 
+	/**
+	 * The changes of the C elements of the input since the folding structure was last computed.
+	 */
+	private static final class ElementChanges {
+		final Set<ICElement> fAdded= new HashSet<ICElement>();
+		final Set<ICElement> fRemoved= new HashSet<ICElement>();
+		final Set<ICElement> fChanged= new HashSet<ICElement>();
+		CShiftData fShift;
+		boolean fReconciled;
+	}
+
+	/**
+	 * Collects the changes of the C elements of the input reported by reconciles. The positions
+	 * of the folding regions of unchanged elements are updated by the document, such that only
+	 * the folding structure of the changed elements and of the elements containing the edit needs
+	 * to be recomputed.
+	 */
+	private final class ElementChangeCollector implements IElementChangedListener {
+		// null if the folding structure of all elements needs to be recomputed
+		private ElementChanges fChanges;
+
+		/*
+		 * @see org.eclipse.cdt.core.model.IElementChangedListener#elementChanged(org.eclipse.cdt.core.model.ElementChangedEvent)
+		 */
+		@Override
+		public synchronized void elementChanged(ElementChangedEvent event) {
+			final ICElement input= fInput;
+			ICElementDelta delta= event.getDelta();
+			if (fChanges == null || input == null || delta == null) {
+				return;
+			}
+			if (event.getType() == ElementChangedEvent.POST_SHIFT) {
+				if (delta instanceof CShiftData && input.equals(delta.getElement())) {
+					if (fChanges.fShift == null) {
+						fChanges.fShift= (CShiftData) delta;
+					} else {
+						// offsets of different reconciles cannot be combined
+						fChanges= null;
+					}
+				}
+				return;
+			}
+			delta= findDelta(delta, input);
+			if (delta == null) {
+				return;
+			}
+			// the shift is reported ahead of the reconcile delta
+			if (event.getType() != ElementChangedEvent.POST_RECONCILE || fChanges.fShift == null
+					|| fChanges.fReconciled || delta.getKind() != ICElementDelta.CHANGED
+					|| (delta.getFlags() & ICElementDelta.F_FINE_GRAINED) == 0) {
+				fChanges= null;
+				return;
+			}
+			fChanges.fReconciled= true;
+			collectChanges(delta);
+		}
+
+		private ICElementDelta findDelta(ICElementDelta delta, ICElement input) {
+			final ICElement element= delta.getElement();
+			if (input.equals(element)) {
+				return delta;
+			}
+			if (element.getElementType() >= ICElement.C_UNIT) {
+				return null;
+			}
+			for (ICElementDelta child : delta.getAffectedChildren()) {
+				final ICElementDelta found= findDelta(child, input);
+				if (found != null) {
+					return found;
+				}
+			}
+			return null;
+		}
+
+		private void collectChanges(ICElementDelta delta) {
+			for (ICElementDelta child : delta.getAffectedChildren()) {
+				switch (child.getKind()) {
+				case ICElementDelta.ADDED:
+					fChanges.fAdded.add(child.getElement());
+					break;
+				case ICElementDelta.REMOVED:
+					fChanges.fRemoved.add(child.getElement());
+					break;
+				default:
+					final int flags= child.getFlags();
+					if ((flags & (ICElementDelta.F_CONTENT | ICElementDelta.F_MODIFIERS | ICElementDelta.F_REORDER)) != 0) {
+						fChanges.fChanged.add(child.getElement());
+					}
+					if ((flags & ICElementDelta.F_CHILDREN) != 0) {
+						collectChanges(child);
+					}
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Returns the changes collected since the last call, or <code>null</code> if the folding
+		 * structure of all elements needs to be recomputed.
+		 */
+		synchronized ElementChanges takeChanges() {
+			final ElementChanges changes= fChanges;
+			fChanges= new ElementChanges();
+			return changes;
+		}
+	}
+
 
 	/**
 	 * A context that contains the information needed to compute the folding structure of an
@@ -373,6 +487,12 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 		private boolean fHasHeaderComment;
 		private LinkedHashMap<CProjectionAnnotation,Position> fMap= new LinkedHashMap<CProjectionAnnotation,Position>();
 		private IASTTranslationUnit fAST;
+		/*
+		 * The elements whose folding structure has been recomputed, and the elements whose
+		 * descendants have been added or removed, or null if all elements have been computed.
+		 */
+		private Set<ICElement> fUpdatedElements;
+		private Set<ICElement> fUpdatedSubtrees;
 
 		FoldingStructureComputationContext(IDocument document, ProjectionAnnotationModel model, boolean allowCollapsing) {
 			Assert.isNotNull(document);
@@ -879,6 +999,7 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 	private boolean fCommentFoldingEnabled= true;
 
 	private ICReconcilingListener fReconilingListener;
+	private ElementChangeCollector fElementChangeCollector;
 	private volatile boolean fInitialReconcilePending= true;
 
 	private int fCursorPosition;
@@ -960,6 +1081,8 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 		handleProjectionDisabled();
 
 		if (fEditor instanceof CEditor) {
+			fElementChangeCollector= new ElementChangeCollector();
+			CoreModel.getDefault().addElementChangedListener(fElementChangeCollector);
 			initialize();
 			fReconilingListener= new FoldingStructureReconciler();
 			((CEditor)fEditor).addReconcileListener(fReconilingListener);
@@ -983,6 +1106,10 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 			((CEditor)fEditor).removeReconcileListener(fReconilingListener);
 			fReconilingListener= null;
 		}
+		if (fElementChangeCollector != null) {
+			CoreModel.getDefault().removeElementChangedListener(fElementChangeCollector);
+			fElementChangeCollector= null;
+		}
 		if (fSelectionListener != null) {
 			fEditor.getSelectionProvider().removeSelectionChangedListener(fSelectionListener);
 			fSelectionListener= null;
@@ -1247,7 +1374,7 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 					include= includeStmts;
 					break;
 				case CProjectionAnnotation.CMODEL:
-					include= includeCModel;
+					include= includeCModel && isUpdated(cAnnotation.getElement(), ctx);
 					break;
 				default:
 					include= true;
@@ -1317,12 +1444,93 @@ public class DefaultCFoldingStructureProvider implements ICFoldingStructureProvi
 			fInitialReconcilePending= false;
 			IParent parent= (IParent) fInput;
 			try {
-				computeFoldingStructure(parent.getChildren(), ctx);
+				final ElementChanges changes= fElementChangeCollector != null ? fElementChangeCollector.takeChanges() : null;
+				if (changes == null || ctx.allowCollapsing() || !computeFoldingStructure(changes, ctx)) {
+					ctx.fUpdatedElements= null;
+					ctx.fUpdatedSubtrees= null;
+					computeFoldingStructure(parent.getChildren(), ctx);
+				}
 			} catch (CModelException x) {
 			}
 		}
 	}
 
+	/**
+	 * Computes the folding structure of the elements affected by the given changes: the added
+	 * and changed elements and the elements on the lines of the edit.
+	 * 
+	 * @return <code>false</code> if the affected elements cannot be determined
+	 */
+	private boolean computeFoldingStructure(ElementChanges changes, FoldingStructureComputationContext ctx) throws CModelException {
+		Set<ICElement> updated= new HashSet<ICElement>(changes.fChanged);
+		for (ICElement element : changes.fAdded) {
+			addWithDescendants(element, updated);
+		}
+		if (changes.fShift != null) {
+			try {
+				// the edit lies between these offsets of the current document
+				IDocument document= ctx.getDocument();
+				int start= Math.min(changes.fShift.getOffset(), document.getLength());
+				int end= Math.min(changes.fShift.getNewLastOffset(), document.getLength());
+				IRegion firstLine= document.getLineInformationOfOffset(start);
+				IRegion lastLine= document.getLineInformationOfOffset(end);
+				addElementsInRange(((IParent) fInput).getChildren(), firstLine.getOffset(),
+						lastLine.getOffset() + lastLine.getLength(), updated);
+			} catch (BadLocationException e) {
+				return false;
+			}
+		}
+		Set<ICElement> subtrees= new HashSet<ICElement>(changes.fAdded);
+		subtrees.addAll(changes.fRemoved);
+		ctx.fUpdatedElements= updated;
+		ctx.fUpdatedSubtrees= subtrees;
+		if (DEBUG) System.out.println("DefaultCFoldingStructureProvider.computeFoldingStructure() " + updated.size() + " elements"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (ICElement element : updated) {
+			computeFoldingStructure(element, ctx);
+		}
+		return true;
+	}
+
+	private static void addWithDescendants(ICElement element, Set<ICElement> result) throws CModelException {
+		result.add(element);
+		if (element instanceof IParent) {
+			for (ICElement child : ((IParent) element).getChildren()) {
+				addWithDescendants(child, result);
+			}
+		}
+	}
+
+	private static void addElementsInRange(ICElement[] elements, int start, int end, Set<ICElement> result) throws CModelException {
+		for (ICElement element : elements) {
+			if (element instanceof ISourceReference) {
+				ISourceRange range= ((ISourceReference) element).getSourceRange();
+				if (range.getStartPos() <= end && range.getStartPos() + range.getLength() >= start) {
+					result.add(element);
+					if (element instanceof IParent) {
+						addElementsInRange(((IParent) element).getChildren(), start, end, result);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the folding structure of the given element has been recomputed.
+	 */
+	private static boolean isUpdated(Object element, FoldingStructureComputationContext ctx) {
+		if (ctx.fUpdatedElements == null || ctx.fUpdatedElements.contains(element)) {
+			return true;
+		}
+		if (element instanceof ICElement) {
+			for (ICElement e= (ICElement) element; e != null; e= e.getParent()) {
+				if (ctx.fUpdatedSubtrees.contains(e)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	static boolean isConsistent(ICElement element) {
 		if (element instanceof ITranslationUnit) {
 			try {
@@ -28,11 +28,11 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
-import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.ui.CUIPlugin;
 
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
 
 import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
@@ -217,27 +217,21 @@ class THGraph {
 			THGraphNode graphNode= addNode(elem);
 			try {
 				IBinding binding = IndexUI.elementToBinding(index, elem);
-				if (binding != null) {
+				if (binding != null && index instanceof CIndex) {
 					// TODO(nathanridge): Also find subclasses referenced via decltype-specifiers rather than names.
-					IIndexName[] names= index.findNames(binding, IIndex.FIND_REFERENCES | IIndex.FIND_DEFINITIONS);
-					for (IIndexName indexName : names) {
+					IIndexBinding[] subClasses= ((CIndex) index).findSubtypes(binding);
+					for (IIndexBinding subClass : subClasses) {
 						if (monitor.isCanceled()) {
 							return;
 						}
-						if (indexName.isBaseSpecifier()) {
-							IIndexName subClassDef= indexName.getEnclosingDefinition();
-							if (subClassDef != null) {
-								IBinding subClass= index.findBinding(subClassDef);
-								ICElementHandle[] subClassElems= IndexUI.findRepresentative(index, subClass);
-								if (subClassElems.length > 0) {
-									ICElementHandle subClassElem= subClassElems[0];
-									THGraphNode subGraphNode= addNode(subClassElem);
-									addMembers(index, subGraphNode, subClass);							
-									addEdge(subGraphNode, graphNode);
-									if (handled.add(subClassElem)) {
-										stack.add(subClassElem);
-									}
-								}
+						ICElementHandle[] subClassElems= IndexUI.findRepresentative(index, subClass);
+						if (subClassElems.length > 0) {
+							ICElementHandle subClassElem= subClassElems[0];
+							THGraphNode subGraphNode= addNode(subClassElem);
+							addMembers(index, subGraphNode, subClass);
+							addEdge(subGraphNode, graphNode);
+							if (handled.add(subClassElem)) {
+								stack.add(subClassElem);
 							}
 						}
 					}
@@ -53,6 +53,7 @@ public abstract class AbstractIndexerPage extends AbstractCOptionPage {
 	private Button fIncludeHeuristics;
 	private IntegerFieldEditor fFileSizeLimit;
 	private IntegerFieldEditor fIncludedFileSizeLimit;
+	private IntegerFieldEditor fFunctionBodiesSizeLimit;
 	private Button fSkipReferences;
 	private Button fSkipImplicitReferences;
 	private Button fSkipMacroAndTypeReferences;
@@ -137,6 +138,8 @@ public abstract class AbstractIndexerPage extends AbstractCOptionPage {
 				DialogsMessages.AbstractIndexerPage_fileSizeLimit);
 		fIncludedFileSizeLimit= createFileSizeLimit(group, IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB,
 				DialogsMessages.AbstractIndexerPage_includedFileSizeLimit);
+		fFunctionBodiesSizeLimit= createFileSizeLimit(group, IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB,
+				DialogsMessages.AbstractIndexerPage_functionBodiesSizeLimit);
 		group.setLayout(gl= new GridLayout(3, false));
 		gl.marginHeight = 0;
 		gl.marginWidth= 0;
@@ -217,6 +220,20 @@ public abstract class AbstractIndexerPage extends AbstractCOptionPage {
 			}
 			fIncludedFileSizeLimit.setStringValue(String.valueOf(size));
 		}
+		if (fFunctionBodiesSizeLimit != null) {
+			Object prop= properties.get(IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB);
+			int size= 0;
+			if (prop != null) {
+				try {
+					size= Integer.parseInt(prop.toString());
+				} catch (NumberFormatException e) {
+				}
+			}
+			if (size <= 0) {
+				size= IndexerPreferences.DEFAULT_FUNCTION_BODIES_SIZE_LIMIT_MB;
+			}
+			fFunctionBodiesSizeLimit.setStringValue(String.valueOf(size));
+		}
 		if (fSkipReferences != null) {
 			boolean skipReferences= TRUE.equals(properties.get(IndexerPreferences.KEY_SKIP_ALL_REFERENCES));
 			fSkipReferences.setSelection(skipReferences);
@@ -268,6 +285,9 @@ public abstract class AbstractIndexerPage extends AbstractCOptionPage {
 		if (fIncludedFileSizeLimit != null) {
 			props.put(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, String.valueOf(fIncludedFileSizeLimit.getIntValue()));
 		}
+		if (fFunctionBodiesSizeLimit != null) {
+			props.put(IndexerPreferences.KEY_SKIP_FUNCTION_BODIES_OF_FILES_LARGER_THAN_MB, String.valueOf(fFunctionBodiesSizeLimit.getIntValue()));
+		}
 		if (fSkipReferences != null) {
 			props.put(IndexerPreferences.KEY_SKIP_ALL_REFERENCES, String.valueOf(fSkipReferences.getSelection()));
 		}
@@ -340,6 +360,9 @@ public abstract class AbstractIndexerPage extends AbstractCOptionPage {
     	} else if (!fIncludedFileSizeLimit.isValid()) {
         	setErrorMessage(fIncludedFileSizeLimit.getErrorMessage());
         	setValid(false);
+    	} else if (!fFunctionBodiesSizeLimit.isValid()) {
+        	setErrorMessage(fFunctionBodiesSizeLimit.getErrorMessage());
+        	setValid(false);
 		} else {
     		setValid(true);
     	}
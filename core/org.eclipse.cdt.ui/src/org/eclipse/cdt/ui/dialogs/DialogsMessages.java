@@ -19,6 +19,7 @@ import org.eclipse.osgi.util.NLS;
 class DialogsMessages extends NLS {
 	public static String AbstractIndexerPage_fileSizeLimit;
 	public static String AbstractIndexerPage_includedFileSizeLimit;
+	public static String AbstractIndexerPage_functionBodiesSizeLimit;
 	public static String AbstractIndexerPage_heuristicIncludes;
 	public static String AbstractIndexerPage_indexAllFiles;
 	public static String AbstractIndexerPage_indexAllHeaders;